@@ -3,12 +3,14 @@ package com.ndifreke.core_banking_api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The type Core banking be system application.
  */
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class CoreBankingBeSystemApplication {
 
     /**
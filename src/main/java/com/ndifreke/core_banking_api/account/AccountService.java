@@ -2,20 +2,27 @@ package com.ndifreke.core_banking_api.account;
 import com.ndifreke.core_banking_api.entity.Account;
 import com.ndifreke.core_banking_api.exception.AccessDeniedException;
 import com.ndifreke.core_banking_api.exception.AccountAlreadyExistsException;
+import com.ndifreke.core_banking_api.exception.InsufficientFundsException;
 import com.ndifreke.core_banking_api.exception.NotFoundException;
 import com.ndifreke.core_banking_api.repository.AccountRepository;
 import com.ndifreke.core_banking_api.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,16 +34,41 @@ import java.util.UUID;
 public class AccountService {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    /**
+     * The order in which account rows are locked. It compares the UUID bytes as unsigned values, which is
+     * how the database orders the binary account_id key, so locks taken one row at a time and locks taken
+     * by an ordered range scan are always acquired in the same sequence.
+     */
+    public static final Comparator<UUID> LOCK_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
     @Autowired
     private final AccountRepository accountRepository;
 
+    private final AccountVersionService accountVersionService;
+
+    private final Timer lockWaitTimer;
+
+    private final Timer transferUpdateTimer;
+
     /**
      * Instantiates a new Account service.
      *
-     * @param accountRepository the account repository
+     * @param accountRepository     the account repository
+     * @param accountVersionService the account version service
+     * @param meterRegistry         the meter registry
      */
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, AccountVersionService accountVersionService,
+                          MeterRegistry meterRegistry) {
         this.accountRepository = accountRepository;
+        this.accountVersionService = accountVersionService;
+        this.lockWaitTimer = Timer.builder("banking.account.lock.wait")
+                .description("Time spent in conditional balance UPDATEs, which wait for the account row lock")
+                .register(meterRegistry);
+        this.transferUpdateTimer = Timer.builder("banking.account.transfer.update")
+                .description("Time spent updating both account rows of a transfer, including row lock waits")
+                .register(meterRegistry);
     }
 
     /**
@@ -90,20 +122,6 @@ public class AccountService {
         return account;
     }
 
-    /**
-     * Gets account by id.
-     *
-     * @param accountId           the account id
-     * @return the account by id
-     */
-    @Cacheable(value = "accounts", key = "'accounts:' + #userId")
-    public Account getToAccountById(UUID accountId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new NotFoundException("Account not found with ID: " + accountId));
-
-        return account;
-    }
-
     /**
      * Gets accounts by user id.
      *
@@ -134,32 +152,28 @@ public class AccountService {
     }
 
     /**
-     * Update account account.
+     * Update account account. Only the account type can be changed here; balances move through
+     * {@link #depositToAccount} and {@link #withdrawFromAccount}.
      *
-     * @param updatedAccount the updated account
+     * @param updatedAccount      the updated account
+     * @param authenticatedUserId the authenticated user id
      * @return the account
      */
+    @CacheEvict(value = "accounts", key = "'account:' + #updatedAccount.accountId")
     public Account updateAccount(Account updatedAccount, UUID authenticatedUserId) {
-        // Check existence and ownership
-        Account existingAccount = getAccountById(updatedAccount.getAccountId(), authenticatedUserId);
-
-        // Update fields
-        existingAccount.setAccountType(updatedAccount.getAccountType());
-        return accountRepository.save(updatedAccount);
-    }
-
-    /**
-     * Update account account.
-     *
-     * @param updatedAccount the updated account
-     */
-    public void updateToAccount(Account updatedAccount) {
-        // Check existence and ownership
-        Account existingAccount = getToAccountById(updatedAccount.getAccountId());
-
-        // Update fields
-        existingAccount.setAccountType(updatedAccount.getAccountType());
-        accountRepository.save(updatedAccount);
+        UUID accountId = updatedAccount.getAccountId();
+        int updated = accountRepository.updateAccountType(accountId, authenticatedUserId, updatedAccount.getAccountType());
+        if (updated == 0) {
+            // Ownership is part of the UPDATE predicate; only look the row up to report why it missed
+            if (!accountRepository.existsById(accountId)) {
+                throw new NotFoundException("Account not found with ID: " + accountId);
+            }
+            logger.warn("Access denied for account ID: {} by user ID: {}", accountId, authenticatedUserId);
+            throw new AccessDeniedException("Access denied");
+        }
+        accountVersionService.changed(accountId);
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new NotFoundException("Account not found with ID: " + accountId));
     }
 
     /**
@@ -172,6 +186,7 @@ public class AccountService {
     public void deleteAccount(UUID accountId, UUID authenticatedUserId) {
         Account account = getAccountById(accountId, authenticatedUserId);
         accountRepository.delete(account);
+        accountVersionService.changed(accountId);
     }
 
     /**
@@ -205,20 +220,71 @@ public class AccountService {
                 .orElse(null);
     }
 
+    /**
+     * Credits an account with a single {@code UPDATE ... SET balance = balance + ?} statement. The statement
+     * takes the row lock itself; its time is recorded as {@code banking.account.lock.wait}.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @throws NotFoundException if the account does not exist
+     */
+    @CacheEvict(value = "accounts", key = "'account:' + #accountId")
     public void depositToAccount(UUID accountId, BigDecimal amount) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalStateException("Account not found"));
-        account.setBalance(account.getBalance().add(amount));
-        accountRepository.save(account);
+        Integer updated = lockWaitTimer.record(() -> accountRepository.creditBalance(accountId, amount));
+        if (updated == null || updated == 0) {
+            throw new NotFoundException("Account not found with ID: " + accountId);
+        }
+        accountVersionService.changed(accountId);
     }
 
+    /**
+     * Debits an account with a single conditional {@code UPDATE ... WHERE balance >= ?} statement,
+     * so concurrent debits can never take the balance below zero. The statement takes the row lock itself;
+     * its time is recorded as {@code banking.account.lock.wait}.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @throws NotFoundException          if the account does not exist
+     * @throws InsufficientFundsException if the balance is below the amount
+     */
+    @CacheEvict(value = "accounts", key = "'account:' + #accountId")
     public void withdrawFromAccount(UUID accountId, BigDecimal amount) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalStateException("Account not found"));
-        if (account.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient balance");
+        Integer updated = lockWaitTimer.record(() -> accountRepository.debitBalance(accountId, amount));
+        if (updated == null || updated == 0) {
+            if (!accountRepository.existsById(accountId)) {
+                throw new NotFoundException("Account not found with ID: " + accountId);
+            }
+            throw new InsufficientFundsException("Insufficient balance");
         }
-        account.setBalance(account.getBalance().subtract(amount));
-        accountRepository.save(account);
+        accountVersionService.changed(accountId);
+    }
+
+    /**
+     * Moves funds between two accounts in one transaction, joining the caller's if there is one.
+     * The debit and credit statements are issued in {@link #LOCK_ORDER}, so two opposite
+     * transfers take the row locks in the same order and cannot deadlock. Each statement's lock wait is
+     * recorded as {@code banking.account.lock.wait}, the whole update as {@code banking.account.transfer.update}.
+     * Inside an existing transaction it runs under a savepoint, so a failed transfer is undone on its own
+     * without marking the caller's transaction (for example a group commit) rollback-only.
+     *
+     * @param fromAccountId the from account id
+     * @param toAccountId   the to account id
+     * @param amount        the amount
+     */
+    @Caching(evict = {
+            @CacheEvict(value = "accounts", key = "'account:' + #fromAccountId"),
+            @CacheEvict(value = "accounts", key = "'account:' + #toAccountId")
+    })
+    @Transactional(propagation = Propagation.NESTED)
+    public void transferBetweenAccounts(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        transferUpdateTimer.record(() -> {
+            if (LOCK_ORDER.compare(fromAccountId, toAccountId) < 0) {
+                withdrawFromAccount(fromAccountId, amount);
+                depositToAccount(toAccountId, amount);
+            } else {
+                depositToAccount(toAccountId, amount);
+                withdrawFromAccount(fromAccountId, amount);
+            }
+        });
     }
 }
\ No newline at end of file
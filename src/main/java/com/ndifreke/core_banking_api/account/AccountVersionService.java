@@ -0,0 +1,152 @@
+package com.ndifreke.core_banking_api.account;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.ETag;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Per-account change versions, used as entity tags for conditional reads of an account, its balance and its
+ * transaction history.
+ * <p>
+ * The version is a random token kept in Redis under {@code account-version:{accountId}}. A read that finds no
+ * token creates one; every change to the account deletes it once the changing transaction commits, so the
+ * next read creates a new token. Deleting after commit means a read that loads the old data while a change
+ * is in flight is tagged with a token the commit then removes. Tokens expire after
+ * {@code banking.etag.ttl-hours}, which costs one full response per account when they do.
+ * <p>
+ * If Redis cannot be reached no version is returned and responses are sent without an entity tag.
+ */
+@Service
+public class AccountVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountVersionService.class);
+
+    private static final String KEY_PREFIX = "account-version:";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${banking.etag.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.etag.ttl-hours:24}")
+    private long ttlHours;
+
+    /**
+     * Gets the entity tag of one representation of an account at its current version. The representation
+     * parts, such as the resource name, the caller and any paging parameters, are hashed into the tag so
+     * different representations of the same version never share a tag.
+     *
+     * @param accountId      the account id
+     * @param representation the parts that identify the representation
+     * @return the quoted entity tag, or null if no version is available
+     */
+    public String etag(UUID accountId, Object... representation) {
+        String version = currentVersion(accountId);
+        if (version == null) {
+            return null;
+        }
+        return "\"" + version + "-" + Integer.toHexString(Objects.hash(representation)) + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches an entity tag, using the weak comparison that
+     * conditional GET requests use. The {@code *} wildcard is not honoured: a tag is only issued to the
+     * caller who was allowed to read the representation, so matching one stands in for the access check.
+     *
+     * @param ifNoneMatch the If-None-Match header value, may be null
+     * @param etag        the current entity tag, may be null
+     * @return true if the client's copy is current
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (!candidate.isWildcard() && candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records that accounts changed. Inside a transaction their versions are dropped after it commits;
+     * otherwise right away.
+     *
+     * @param accountIds the changed account ids
+     */
+    public void changed(Collection<UUID> accountIds) {
+        if (!enabled || accountIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = accountIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(id -> KEY_PREFIX + id)
+                .toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            delete(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delete(keys);
+            }
+        });
+    }
+
+    /**
+     * Records that an account changed.
+     *
+     * @param accountId the changed account id
+     */
+    public void changed(UUID accountId) {
+        changed(List.of(accountId));
+    }
+
+    private String currentVersion(UUID accountId) {
+        if (!enabled) {
+            return null;
+        }
+        String key = KEY_PREFIX + accountId;
+        try {
+            String version = redisTemplate.opsForValue().get(key);
+            if (version != null) {
+                return version;
+            }
+            String created = UUID.randomUUID().toString().replace("-", "");
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, created, Duration.ofHours(ttlHours)))) {
+                return created;
+            }
+            return redisTemplate.opsForValue().get(key);
+        } catch (DataAccessException e) {
+            logger.warn("Account version unavailable for {}: {}", accountId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void delete(List<String> keys) {
+        try {
+            redisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            // The token outlives the change until it expires; clients may see the old data until then
+            logger.error("Could not drop account versions {}: {}", keys, e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.ndifreke.core_banking_api.config;
 
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 
@@ -14,6 +16,17 @@ public class CacheConfig {
 
     private CacheManager cacheManager;
 
+    /**
+     * Makes the Redis caches transaction aware: evictions and puts made inside a transaction are applied
+     * once it commits. An account evicted before its balance update commits could otherwise be cached
+     * again, with the old balance, by a read in between.
+     *
+     * @return the cache manager customizer
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer transactionAwareCaches() {
+        return builder -> builder.transactionAware();
+    }
 
     /**
      * Print cache contents.
@@ -0,0 +1,15 @@
+package com.ndifreke.core_banking_api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+
+/**
+ * The type Fraud streams config. Starts Kafka Streams, configured from {@code spring.kafka.streams.*},
+ * when the windowed account activity check is enabled.
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "banking.fraud.streams.enabled", havingValue = "true")
+public class FraudStreamsConfig {
+}
@@ -2,6 +2,7 @@ package com.ndifreke.core_banking_api.config;
 
 import com.ndifreke.core_banking_api.user.CustomUserDetailsService;
 import com.ndifreke.core_banking_api.util.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +18,9 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 
 /**
  * The type Security config.
@@ -57,6 +60,10 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Updated CSRF config
                 .authorizeHttpRequests(auth -> auth // Updated authorizeRequests
+                        // A streamed export finishes on an async dispatch of a request that was already authorized
+                        .requestMatchers(new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                                new AntPathRequestMatcher("/api/transactions/history/*/export", HttpMethod.GET.name())))
+                        .permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/auth/login", HttpMethod.POST.name())).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/auth/register", HttpMethod.POST.name())).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
@@ -3,22 +3,30 @@ package com.ndifreke.core_banking_api.controller;
 import com.ndifreke.core_banking_api.dto.account.AccountRequest;
 import com.ndifreke.core_banking_api.entity.Account;
 import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.account.AccountVersionService;
 import com.ndifreke.core_banking_api.config.CacheConfig;
 import com.ndifreke.core_banking_api.exception.NotFoundException;
+import com.ndifreke.core_banking_api.service.transaction.BalanceCheckpointService;
 import com.ndifreke.core_banking_api.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,6 +47,12 @@ public class AccountController {
     @Autowired
     private CacheConfig cacheConfig;
 
+    @Autowired
+    private AccountVersionService accountVersionService;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
     /**
      * Create account response entity.
      *
@@ -69,7 +83,8 @@ public class AccountController {
     }
 
     /**
-     * Gets account by id.
+     * Gets account by id. Answers 304 without reading the account when {@code If-None-Match} carries the
+     * account's current entity tag.
      *
      * @param accountId the account id
      * @param request   the request
@@ -78,6 +93,7 @@ public class AccountController {
     @Operation(summary = "Get account details by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Account details retrieved successfully", content = @Content),
+            @ApiResponse(responseCode = "304", description = "Account unchanged since the given entity tag", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
             @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
@@ -85,12 +101,16 @@ public class AccountController {
     @GetMapping("/{accountId}")
     public ResponseEntity<Account> getAccountById(@PathVariable UUID accountId, HttpServletRequest request) {
         UUID authenticatedUserId = jwtUtil.extractUserId(jwtUtil.getTokenFromRequest(request));
+        String etag = accountVersionService.etag(accountId, "account", authenticatedUserId);
+        if (AccountVersionService.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Account account = accountService.getAccountById(accountId, authenticatedUserId);
 
         if (account == null) {
             throw new NotFoundException("Account not found with ID: " + accountId);
         }
-        return ResponseEntity.ok(account);
+        return ok(etag).body(account);
     }
 
     /**
@@ -120,9 +140,11 @@ public class AccountController {
     }
 
     /**
-     * Gets account balance.
+     * Gets account balance. Answers 304 without reading the account when {@code If-None-Match} carries the
+     * balance's current entity tag. With {@code asOf}, returns the balance at that time instead.
      *
      * @param accountId the account id
+     * @param asOf      the point in time, or null for the current balance
      * @param request   the request
      * @return the account balance
      */
@@ -134,11 +156,27 @@ public class AccountController {
             @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
     })
     @GetMapping("/{accountId}/balance")
-    public ResponseEntity<BigDecimal> getAccountBalance(@PathVariable UUID accountId, HttpServletRequest request) {
+    public ResponseEntity<BigDecimal> getAccountBalance(
+            @PathVariable UUID accountId,
+            @Parameter(description = "ISO-8601 date-time; omit for the current balance")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime asOf,
+            HttpServletRequest request) {
         UUID authenticatedUserId = jwtUtil.extractUserId(jwtUtil.getTokenFromRequest(request));
+        if (asOf != null) {
+            try {
+                return ResponseEntity.ok(balanceCheckpointService.getBalanceAsOf(accountId,
+                        Date.from(asOf.toInstant()), authenticatedUserId));
+            } catch (ResponseStatusException e) {
+                return ResponseEntity.status(e.getStatusCode()).body(null);
+            }
+        }
+        String etag = accountVersionService.etag(accountId, "balance", authenticatedUserId);
+        if (AccountVersionService.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         try {
             BigDecimal balance = accountService.getAccountBalance(accountId, authenticatedUserId);
-            return ResponseEntity.ok(balance);
+            return ok(etag).body(balance);
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode()).body(null);
         }
@@ -194,4 +232,13 @@ public class AccountController {
         cacheConfig.printCacheContents("accounts");
     }
 
+    /**
+     * Starts a 200 response that clients must revalidate before reusing, tagged with the entity tag if
+     * there is one.
+     */
+    private static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        return etag != null ? builder.eTag(etag) : builder;
+    }
+
 }
\ No newline at end of file
@@ -1,14 +1,26 @@
 package com.ndifreke.core_banking_api.controller;
 
+import com.ndifreke.core_banking_api.account.AccountVersionService;
+import com.ndifreke.core_banking_api.service.transaction.BatchTransferService;
+import com.ndifreke.core_banking_api.service.transaction.TransactionExportService;
 import com.ndifreke.core_banking_api.service.transaction.TransactionService;
+import com.ndifreke.core_banking_api.service.transaction.idempotency.IdempotencyService;
+import com.ndifreke.core_banking_api.dto.transaction.ActivitySummaryResponse;
 import com.ndifreke.core_banking_api.dto.transaction.AmountRequest;
+import com.ndifreke.core_banking_api.dto.transaction.BatchTransferRequest;
+import com.ndifreke.core_banking_api.dto.transaction.BatchTransferResponse;
 import com.ndifreke.core_banking_api.dto.transaction.TransferRequest;
 import com.ndifreke.core_banking_api.dto.transaction.DepositResponse;
+import com.ndifreke.core_banking_api.dto.transaction.PostingStatusResponse;
 import com.ndifreke.core_banking_api.dto.transaction.TransactionHistoryResponse;
 import com.ndifreke.core_banking_api.dto.transaction.TransferResponse;
 import com.ndifreke.core_banking_api.dto.transaction.WithdrawalResponse;
+import com.ndifreke.core_banking_api.exception.PostingRejections;
 import com.ndifreke.core_banking_api.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,16 +29,28 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * The type Transaction controller.
@@ -37,12 +61,31 @@ import java.util.UUID;
 @Validated
 public class TransactionController {
 
+    private static final String PREFER_HEADER = "Prefer";
+
+    private static final String RESPOND_ASYNC = "respond-async";
+
     @Autowired
     private TransactionService transactionService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountVersionService accountVersionService;
+
     // Helper method to create error response
     private ResponseEntity<Map<String, String>> createErrorResponse(HttpStatus status, String message) {
         Map<String, String> errorResponse = new HashMap<>();
@@ -51,6 +94,50 @@ public class TransactionController {
         return ResponseEntity.status(status).body(errorResponse);
     }
 
+    // Returns a rejected posting as an error response, so an Idempotency-Key replays the rejection
+    private ResponseEntity<?> rejectedPosting(RuntimeException e) {
+        ResponseStatusException status = PostingRejections.toStatus(e);
+        if (status == null) {
+            throw e;
+        }
+        return createErrorResponse((HttpStatus) status.getStatusCode(), status.getReason());
+    }
+
+    // Runs the posting once per Idempotency-Key; requests without the header are posted as before
+    private ResponseEntity<?> postIdempotently(HttpServletRequest request, UUID userId, String fingerprint,
+                                               Supplier<ResponseEntity<?>> posting) {
+        String idempotencyKey = request.getHeader(IdempotencyService.IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey == null) {
+            return posting.get();
+        }
+        try {
+            return idempotencyService.execute(userId, idempotencyKey, fingerprint, posting);
+        } catch (ResponseStatusException e) {
+            return createErrorResponse((HttpStatus) e.getStatusCode(), e.getReason());
+        }
+    }
+
+    // RFC 7240: "Prefer: respond-async" asks for the posting to be queued; ignored unless async posting is enabled
+    private boolean prefersAsync(HttpServletRequest request) {
+        if (!transactionService.isAsyncPostingEnabled()) {
+            return false;
+        }
+        String prefer = request.getHeader(PREFER_HEADER);
+        if (prefer == null) {
+            return false;
+        }
+        return Arrays.stream(prefer.split(","))
+                .map(String::trim)
+                .anyMatch(RESPOND_ASYNC::equalsIgnoreCase);
+    }
+
+    private ResponseEntity<PostingStatusResponse> accepted(PostingStatusResponse posting) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/status/" + posting.getPostingId()))
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(posting);
+    }
+
     /**
      * Transfer funds between accounts.
      */
@@ -58,6 +145,8 @@ public class TransactionController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Funds transferred successfully",
                     content = @Content(schema = @Schema(implementation = TransferResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Posting queued (Prefer: respond-async); poll the Location for its state",
+                    content = @Content(schema = @Schema(implementation = PostingStatusResponse.class))),
             @ApiResponse(responseCode = "400", description = "Bad request (e.g., invalid amount or account IDs)",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
@@ -65,8 +154,16 @@ public class TransactionController {
             @ApiResponse(responseCode = "403", description = "Forbidden (e.g., insufficient funds or unauthorized access)",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request",
                     content = @Content(schema = @Schema(implementation = Map.class)))
     })
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false,
+            description = "Client generated key; retries with the same key return the original response without posting again")
+    @Parameter(in = ParameterIn.HEADER, name = PREFER_HEADER, required = false,
+            description = "respond-async to queue the posting and get 202 Accepted instead of waiting for it to be posted")
     @PostMapping("/transfer")
     public ResponseEntity<?> transferFunds(
             @Valid @RequestBody TransferRequest transferRequest,
@@ -81,17 +178,78 @@ public class TransactionController {
             return createErrorResponse(HttpStatus.BAD_REQUEST, "Source and destination accounts must be different");
         }
 
-        try {
-            TransferResponse transferResponse = transactionService.transferFunds(
-                    transferRequest.getFromAccountId(),
-                    transferRequest.getToAccountId(),
-                    transferRequest.getAmount(),
-                    transferRequest.getDescription(),
-                    authenticatedUserId);
-            return ResponseEntity.ok(transferResponse);
-        } catch (ResponseStatusException e) {
-            return createErrorResponse((HttpStatus) e.getStatusCode(), e.getReason());
+        boolean async = prefersAsync(request);
+        String fingerprint = IdempotencyService.fingerprint("transfer", transferRequest.getFromAccountId(),
+                transferRequest.getToAccountId(), transferRequest.getAmount(), transferRequest.getDescription(), async);
+        return postIdempotently(request, authenticatedUserId, fingerprint, () -> {
+            try {
+                if (async) {
+                    return accepted(transactionService.transferFundsAsync(
+                            transferRequest.getFromAccountId(),
+                            transferRequest.getToAccountId(),
+                            transferRequest.getAmount(),
+                            transferRequest.getDescription(),
+                            authenticatedUserId));
+                }
+                TransferResponse transferResponse = transactionService.transferFunds(
+                        transferRequest.getFromAccountId(),
+                        transferRequest.getToAccountId(),
+                        transferRequest.getAmount(),
+                        transferRequest.getDescription(),
+                        authenticatedUserId);
+                return ResponseEntity.ok(transferResponse);
+            } catch (RuntimeException e) {
+                return rejectedPosting(e);
+            }
+        });
+    }
+
+    /**
+     * Transfer funds in batch.
+     */
+    @Operation(summary = "Post a batch of transfers",
+            description = "Validates all items up front and posts the valid ones in chunked database transactions. "
+                    + "Returns one result per item in request order; a rejected item does not fail the batch.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results",
+                    content = @Content(schema = @Schema(implementation = BatchTransferResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request (e.g., empty or oversized batch)",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request",
+                    content = @Content(schema = @Schema(implementation = Map.class)))
+    })
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false,
+            description = "Client generated key; retries with the same key return the original response without posting again")
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<?> transferFundsBatch(
+            @Valid @RequestBody BatchTransferRequest batchTransferRequest,
+            HttpServletRequest request) {
+        UUID authenticatedUserId = jwtUtil.extractUserId(jwtUtil.getTokenFromRequest(request));
+
+        List<Object> fingerprintParts = new ArrayList<>();
+        fingerprintParts.add("transfer-batch");
+        for (TransferRequest transfer : batchTransferRequest.getTransfers()) {
+            if (transfer != null) {
+                fingerprintParts.add(transfer.getFromAccountId());
+                fingerprintParts.add(transfer.getToAccountId());
+                fingerprintParts.add(transfer.getAmount());
+                fingerprintParts.add(transfer.getDescription());
+            }
         }
+        String fingerprint = IdempotencyService.fingerprint(fingerprintParts.toArray());
+        return postIdempotently(request, authenticatedUserId, fingerprint, () -> {
+            try {
+                BatchTransferResponse batchTransferResponse = batchTransferService.transferFundsBatch(
+                        batchTransferRequest.getTransfers(), authenticatedUserId);
+                return ResponseEntity.ok(batchTransferResponse);
+            } catch (RuntimeException e) {
+                return rejectedPosting(e);
+            }
+        });
     }
 
     /**
@@ -101,13 +259,23 @@ public class TransactionController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Funds deposited successfully",
                     content = @Content(schema = @Schema(implementation = DepositResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Posting queued (Prefer: respond-async); poll the Location for its state",
+                    content = @Content(schema = @Schema(implementation = PostingStatusResponse.class))),
             @ApiResponse(responseCode = "400", description = "Bad request (e.g., invalid amount)",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request",
                     content = @Content(schema = @Schema(implementation = Map.class)))
     })
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false,
+            description = "Client generated key; retries with the same key return the original response without posting again")
+    @Parameter(in = ParameterIn.HEADER, name = PREFER_HEADER, required = false,
+            description = "respond-async to queue the posting and get 202 Accepted instead of waiting for it to be posted")
     @PostMapping("/deposit/{accountId}")
     public ResponseEntity<?> depositFunds(
             @PathVariable UUID accountId,
@@ -120,15 +288,22 @@ public class TransactionController {
             return createErrorResponse(HttpStatus.BAD_REQUEST, "Amount must be positive");
         }
 
-        try {
-            DepositResponse depositResponse = transactionService.depositFunds(
-                    accountId,
-                    amountRequest.getAmount(),
-                    authenticatedUserId);
-            return ResponseEntity.ok(depositResponse);
-        } catch (ResponseStatusException e) {
-            return createErrorResponse((HttpStatus) e.getStatusCode(), e.getReason());
-        }
+        boolean async = prefersAsync(request);
+        String fingerprint = IdempotencyService.fingerprint("deposit", accountId, amountRequest.getAmount(), async);
+        return postIdempotently(request, authenticatedUserId, fingerprint, () -> {
+            try {
+                if (async) {
+                    return accepted(transactionService.depositFundsAsync(accountId, amountRequest.getAmount(), authenticatedUserId));
+                }
+                DepositResponse depositResponse = transactionService.depositFunds(
+                        accountId,
+                        amountRequest.getAmount(),
+                        authenticatedUserId);
+                return ResponseEntity.ok(depositResponse);
+            } catch (RuntimeException e) {
+                return rejectedPosting(e);
+            }
+        });
     }
 
     /**
@@ -138,6 +313,8 @@ public class TransactionController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Funds withdrawn successfully",
                     content = @Content(schema = @Schema(implementation = WithdrawalResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Posting queued (Prefer: respond-async); poll the Location for its state",
+                    content = @Content(schema = @Schema(implementation = PostingStatusResponse.class))),
             @ApiResponse(responseCode = "400", description = "Bad request (e.g., invalid amount, insufficient funds)",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
@@ -145,8 +322,16 @@ public class TransactionController {
             @ApiResponse(responseCode = "403", description = "Forbidden (e.g., unauthorized access)",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request",
                     content = @Content(schema = @Schema(implementation = Map.class)))
     })
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false,
+            description = "Client generated key; retries with the same key return the original response without posting again")
+    @Parameter(in = ParameterIn.HEADER, name = PREFER_HEADER, required = false,
+            description = "respond-async to queue the posting and get 202 Accepted instead of waiting for it to be posted")
     @PostMapping("/withdraw/{accountId}")
     public ResponseEntity<?> withdrawFunds(
             @PathVariable UUID accountId,
@@ -159,24 +344,64 @@ public class TransactionController {
             return createErrorResponse(HttpStatus.BAD_REQUEST, "Amount must be positive");
         }
 
+        boolean async = prefersAsync(request);
+        String fingerprint = IdempotencyService.fingerprint("withdrawal", accountId, amountRequest.getAmount(), async);
+        return postIdempotently(request, authenticatedUserId, fingerprint, () -> {
+            try {
+                if (async) {
+                    return accepted(transactionService.withdrawFundsAsync(accountId, amountRequest.getAmount(), authenticatedUserId));
+                }
+                WithdrawalResponse withdrawalResponse = transactionService.withdrawFunds(
+                        accountId,
+                        amountRequest.getAmount(),
+                        authenticatedUserId);
+                return ResponseEntity.ok(withdrawalResponse);
+            } catch (RuntimeException e) {
+                return rejectedPosting(e);
+            }
+        });
+    }
+
+    /**
+     * Get the state of a posting accepted asynchronously.
+     */
+    @Operation(summary = "Get the state of an asynchronously accepted posting")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posting state retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PostingStatusResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "404", description = "Posting not found",
+                    content = @Content(schema = @Schema(implementation = Map.class)))
+    })
+    @GetMapping("/status/{postingId}")
+    public ResponseEntity<?> getPostingStatus(
+            @PathVariable UUID postingId,
+            HttpServletRequest request) {
+        UUID authenticatedUserId = jwtUtil.extractUserId(jwtUtil.getTokenFromRequest(request));
+
         try {
-            WithdrawalResponse withdrawalResponse = transactionService.withdrawFunds(
-                    accountId,
-                    amountRequest.getAmount(),
-                    authenticatedUserId);
-            return ResponseEntity.ok(withdrawalResponse);
+            PostingStatusResponse postingStatusResponse = transactionService.getPostingStatus(postingId, authenticatedUserId);
+            return ResponseEntity.ok(postingStatusResponse);
         } catch (ResponseStatusException e) {
             return createErrorResponse((HttpStatus) e.getStatusCode(), e.getReason());
         }
     }
 
     /**
-     * Get transaction history for an account.
+     * Get transaction history for an account. Answers 304 without reading the journal when
+     * {@code If-None-Match} carries the page's current entity tag.
      */
-    @Operation(summary = "Get transaction history for an account")
+    @Operation(summary = "Get transaction history for an account",
+            description = "Returns one page of transactions, newest first. Follow nextCursor for older pages. "
+                    + "Send the page's ETag back in If-None-Match to get 304 while the account is unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transaction history retrieved successfully",
                     content = @Content(schema = @Schema(implementation = TransactionHistoryResponse.class))),
+            @ApiResponse(responseCode = "304", description = "History unchanged since the given entity tag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Bad request (e.g., invalid cursor or limit)",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden (e.g., unauthorized access)",
@@ -187,15 +412,109 @@ public class TransactionController {
     @GetMapping("/history/{accountId}")
     public ResponseEntity<?> getTransactionHistory(
             @PathVariable UUID accountId,
+            @Parameter(description = "nextCursor from the previous page; omit for the newest transactions")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 50 by default")
+            @RequestParam(required = false) Integer limit,
             HttpServletRequest request) {
         UUID authenticatedUserId = jwtUtil.extractUserId(jwtUtil.getTokenFromRequest(request));
+        String etag = accountVersionService.etag(accountId, "history", authenticatedUserId, cursor, limit);
+        if (AccountVersionService.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
 
         try {
             TransactionHistoryResponse transactionHistoryResponse = transactionService.getTransactionHistory(
-                    accountId, authenticatedUserId);
-            return ResponseEntity.ok(transactionHistoryResponse);
+                    accountId, cursor, limit, authenticatedUserId);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+            return (etag != null ? builder.eTag(etag) : builder).body(transactionHistoryResponse);
         } catch (ResponseStatusException e) {
             return createErrorResponse((HttpStatus) e.getStatusCode(), e.getReason());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Get activity totals per period for an account.
+     */
+    @Operation(summary = "Get activity totals per day, week or month for an account",
+            description = "Totals credits, debits and their counts per period in the database; periods without "
+                    + "activity are omitted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Activity summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ActivitySummaryResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request (e.g., unknown period or invalid range)",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (e.g., unauthorized access)",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(schema = @Schema(implementation = Map.class)))
+    })
+    @GetMapping("/summary/{accountId}")
+    public ResponseEntity<?> getActivitySummary(
+            @PathVariable UUID accountId,
+            @Parameter(description = "day (default), week or month")
+            @RequestParam(defaultValue = "day") String period,
+            @Parameter(description = "First day of the range, yyyy-MM-dd")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range, inclusive, yyyy-MM-dd")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request) {
+        UUID authenticatedUserId = jwtUtil.extractUserId(jwtUtil.getTokenFromRequest(request));
+
+        try {
+            ActivitySummaryResponse activitySummaryResponse = transactionService.getActivitySummary(
+                    accountId, period, from, to, authenticatedUserId);
+            return ResponseEntity.ok(activitySummaryResponse);
+        } catch (ResponseStatusException e) {
+            return createErrorResponse((HttpStatus) e.getStatusCode(), e.getReason());
+        }
+    }
+
+    /**
+     * Export the full transaction history of an account.
+     */
+    @Operation(summary = "Export the full transaction history of an account",
+            description = "Streams every transaction, oldest first, as NDJSON or CSV. Memory use on the server "
+                    + "does not depend on the size of the history.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History streamed",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Bad request (e.g., unknown format)",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (e.g., unauthorized access)",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(schema = @Schema(implementation = Map.class)))
+    })
+    @GetMapping("/history/{accountId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(
+            @PathVariable UUID accountId,
+            @Parameter(description = "ndjson (default) or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) {
+        UUID authenticatedUserId = jwtUtil.extractUserId(jwtUtil.getTokenFromRequest(request));
+
+        TransactionExportService.Format exportFormat;
+        try {
+            exportFormat = TransactionExportService.Format.from(format);
+            transactionExportService.checkAccess(accountId, authenticatedUserId);
+        } catch (ResponseStatusException e) {
+            // A streaming endpoint cannot return the usual error map, so the map is streamed instead
+            ResponseEntity<Map<String, String>> error = createErrorResponse((HttpStatus) e.getStatusCode(), e.getReason());
+            return ResponseEntity.status(error.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error.getBody()));
+        }
+
+        String filename = "transactions-" + accountId + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> transactionExportService.export(accountId, exportFormat, out));
+    }
+}
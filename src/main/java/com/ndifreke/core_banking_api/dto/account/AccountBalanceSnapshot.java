@@ -0,0 +1,14 @@
+package com.ndifreke.core_banking_api.dto.account;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A {@link BalanceSnapshot} together with the account it belongs to.
+ *
+ * @param accountId       the account id
+ * @param balance         the balance
+ * @param postingSequence the posting sequence
+ */
+public record AccountBalanceSnapshot(UUID accountId, BigDecimal balance, long postingSequence) {
+}
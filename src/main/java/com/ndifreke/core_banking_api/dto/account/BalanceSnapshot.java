@@ -0,0 +1,12 @@
+package com.ndifreke.core_banking_api.dto.account;
+
+import java.math.BigDecimal;
+
+/**
+ * The balance of an account and its posting sequence right after a balance change.
+ *
+ * @param balance         the balance
+ * @param postingSequence the posting sequence
+ */
+public record BalanceSnapshot(BigDecimal balance, long postingSequence) {
+}
@@ -0,0 +1,61 @@
+package com.ndifreke.core_banking_api.dto.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The type Activity summary response.
+ */
+@Schema(description = "Account activity totals per day, week or month")
+@Getter
+@Setter
+public class ActivitySummaryResponse {
+
+    /**
+     * The enum Summary period.
+     */
+    public enum Period {
+        /**
+         * Calendar days.
+         */
+        DAY,
+        /**
+         * Weeks starting on Monday.
+         */
+        WEEK,
+        /**
+         * Calendar months.
+         */
+        MONTH
+    }
+
+    private UUID accountId;
+    private Period period;
+    private LocalDate from;
+    private LocalDate to;
+    @Schema(description = "One entry per period with activity, oldest first")
+    private List<PeriodSummary> periods;
+
+    /**
+     * The type Period summary.
+     */
+    @Getter
+    @Setter
+    public static class PeriodSummary {
+
+        @Schema(description = "First day of the period")
+        private LocalDate periodStart;
+        private BigDecimal totalCredits;
+        private BigDecimal totalDebits;
+        private long creditCount;
+        private long debitCount;
+        @Schema(description = "Total credits minus total debits")
+        private BigDecimal netFlow;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ndifreke.core_banking_api.dto.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * The type Batch transfer request.
+ * <p>
+ * Items are deliberately not cascaded into bean validation: an invalid item is reported in its own
+ * result instead of failing the whole batch.
+ */
+@Schema(description = "Batch transfer request object")
+@Getter
+@Setter
+public class BatchTransferRequest {
+
+    @NotEmpty(message = "Transfers cannot be empty")
+    private List<TransferRequest> transfers;
+}
@@ -0,0 +1,22 @@
+package com.ndifreke.core_banking_api.dto.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * The type Batch transfer response.
+ */
+@Schema(description = "Batch transfer response object, one result per requested transfer in request order")
+@Getter
+@Setter
+public class BatchTransferResponse {
+
+    private int total;
+    private int posted;
+    private int rejected;
+    private int failed;
+    private List<BatchTransferResult> results;
+}
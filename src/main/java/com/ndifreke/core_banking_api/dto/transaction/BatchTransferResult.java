@@ -0,0 +1,68 @@
+package com.ndifreke.core_banking_api.dto.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The type Batch transfer result.
+ */
+@Schema(description = "Outcome of a single item in a batch transfer")
+@Getter
+@Setter
+public class BatchTransferResult {
+
+    /**
+     * The enum Batch transfer item status.
+     */
+    public enum Status {
+        /**
+         * The transfer was posted.
+         */
+        POSTED,
+        /**
+         * The transfer failed validation, ownership, fraud or funds checks and was not posted.
+         */
+        REJECTED,
+        /**
+         * The chunk holding the transfer could not be committed; the transfer was not posted.
+         */
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private TransferResponse transfer;
+    private String message;
+
+    /**
+     * Posted batch transfer result.
+     *
+     * @param index    the index of the item in the request
+     * @param transfer the posted transfer
+     * @return the batch transfer result
+     */
+    public static BatchTransferResult posted(int index, TransferResponse transfer) {
+        BatchTransferResult result = new BatchTransferResult();
+        result.setIndex(index);
+        result.setStatus(Status.POSTED);
+        result.setTransfer(transfer);
+        return result;
+    }
+
+    /**
+     * Unposted batch transfer result.
+     *
+     * @param index   the index of the item in the request
+     * @param status  the status
+     * @param message the reason the item was not posted
+     * @return the batch transfer result
+     */
+    public static BatchTransferResult notPosted(int index, Status status, String message) {
+        BatchTransferResult result = new BatchTransferResult();
+        result.setIndex(index);
+        result.setStatus(status);
+        result.setMessage(message);
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ndifreke.core_banking_api.dto.transaction;
+
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * One account's side of a posting, with only the columns a history page needs. Selected straight from
+ * JPQL, so history reads do not load managed journal entries.
+ *
+ * @param entryId               the entry id
+ * @param postingId             the posting id
+ * @param accountId             the account id
+ * @param counterpartyAccountId the counterparty account id
+ * @param entrySide             the entry side
+ * @param amount                the amount
+ * @param transactionType       the transaction type
+ * @param description           the description
+ * @param postedAt              the posted at
+ */
+public record HistoryEntry(UUID entryId, UUID postingId, UUID accountId, UUID counterpartyAccountId,
+                           EntrySide entrySide, BigDecimal amount, TransactionType transactionType,
+                           String description, Date postedAt) {
+
+    /**
+     * Copies the history columns of a journal entry.
+     *
+     * @param entry the journal entry
+     * @return the history entry
+     */
+    public static HistoryEntry of(JournalEntry entry) {
+        return new HistoryEntry(entry.getEntryId(), entry.getPostingId(), entry.getAccountId(),
+                entry.getCounterpartyAccountId(), entry.getEntrySide(), entry.getAmount(),
+                entry.getTransactionType(), entry.getDescription(), entry.getPostedAt());
+    }
+}
@@ -0,0 +1,29 @@
+package com.ndifreke.core_banking_api.dto.transaction;
+
+import com.ndifreke.core_banking_api.entity.enums.PostingState;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The type Posting status response.
+ */
+@Schema(description = "State of a posting accepted in asynchronous mode")
+@Getter
+@Setter
+public class PostingStatusResponse {
+
+    private UUID postingId;
+    private TransactionType transactionType;
+    private PostingState state;
+    @Schema(description = "Id of the resulting transfer, deposit or withdrawal once the posting is POSTED")
+    private UUID transactionId;
+    @Schema(description = "Why the posting was REJECTED")
+    private String reason;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -11,6 +11,8 @@ import java.util.List;
 public class TransactionHistoryResponse {
 
     private List<TransactionResponseInterface> transactions;
+    @Schema(description = "Pass as cursor to get the next page; null on the last page")
+    private String nextCursor;
 
     // Getters and setters...
 
@@ -31,4 +33,22 @@ public class TransactionHistoryResponse {
     public void setTransactions(List<TransactionResponseInterface> transactions) {
         this.transactions = transactions;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets next cursor.
+     *
+     * @return the next cursor
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets next cursor.
+     *
+     * @param nextCursor the next cursor
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -38,5 +38,17 @@ public class Account implements Serializable {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Incremented by every balance change. Every change is journaled in its own transaction with the
+     * value it left here, so the account's journal entries since the journal began are numbered gap-free
+     * in the order they were applied; backfilled legacy entries carry no number.
+     */
+    @Column(name = "posting_sequence", nullable = false)
+    private long postingSequence;
+
     // Getters, setters, etc.
 }
\ No newline at end of file
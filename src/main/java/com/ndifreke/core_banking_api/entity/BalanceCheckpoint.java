@@ -0,0 +1,50 @@
+package com.ndifreke.core_banking_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The type Balance checkpoint.
+ * <p>
+ * An account's balance at the end of a day, copied from the {@code balance_after} of the account's last
+ * journal entry posted that day. Only days on which the account had postings get a row, so the newest row
+ * before a date also holds the balance at the end of every day up to that date that has no row.
+ */
+@Entity
+@Table(name = "balance_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_checkpoint_account_date",
+                columnNames = {"account_id", "checkpoint_date"}),
+        indexes = @Index(name = "idx_checkpoint_date", columnList = "checkpoint_date"))
+@Getter
+@Setter
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "checkpoint_id")
+    private UUID checkpointId;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "checkpoint_date", nullable = false)
+    private LocalDate checkpointDate;
+
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance;
+
+    /**
+     * The account's posting sequence at the checkpoint. Postings with a higher sequence are not included.
+     */
+    @Column(name = "posting_sequence", nullable = false)
+    private long postingSequence;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
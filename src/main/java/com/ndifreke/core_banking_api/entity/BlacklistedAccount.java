@@ -0,0 +1,44 @@
+package com.ndifreke.core_banking_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * The type Blacklisted account.
+ * <p>
+ * An account number transfers may not be sent from or to. Removing an account from the blacklist clears
+ * {@code active} instead of deleting the row, so nodes refreshing their in-memory copy by {@code updated_at}
+ * see the removal. Both timestamps are taken from the database clock when the row is written, so every node
+ * compares them against the same clock.
+ */
+@Entity
+@Table(name = "blacklisted_accounts",
+        indexes = @Index(name = "idx_blacklist_updated_at", columnList = "updated_at"))
+@Getter
+@Setter
+public class BlacklistedAccount {
+
+    @Id
+    @Column(name = "account_number", length = 64)
+    private String accountNumber;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
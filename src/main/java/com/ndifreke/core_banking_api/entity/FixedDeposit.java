@@ -39,5 +39,9 @@ public class FixedDeposit {
     @Enumerated(EnumType.STRING)
     private FixedDepositStatus status; // Enum: ACTIVE, MATURED, CLOSED
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Constructors, Getters, Setters
 }
@@ -53,5 +53,9 @@ public class SavingsPlan {
     @Enumerated(EnumType.STRING)
     private SavingsPlanStatus status; // Enum: ACTIVE, COMPLETED, CLOSED
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Constructors, Getters, Setters
 }
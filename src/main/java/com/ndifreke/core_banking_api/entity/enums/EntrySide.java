@@ -0,0 +1,15 @@
+package com.ndifreke.core_banking_api.entity.enums;
+
+/**
+ * The enum Entry side.
+ */
+public enum EntrySide {
+    /**
+     * Debit entry side; funds leave the account.
+     */
+    DEBIT,
+    /**
+     * Credit entry side; funds enter the account.
+     */
+    CREDIT
+}
@@ -0,0 +1,15 @@
+package com.ndifreke.core_banking_api.entity.enums;
+
+/**
+ * The enum Idempotency status.
+ */
+public enum IdempotencyStatus {
+    /**
+     * The request holding the key is still being processed.
+     */
+    IN_PROGRESS,
+    /**
+     * The request holding the key finished and its response is stored.
+     */
+    COMPLETED
+}
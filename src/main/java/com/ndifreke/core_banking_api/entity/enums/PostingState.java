@@ -0,0 +1,19 @@
+package com.ndifreke.core_banking_api.entity.enums;
+
+/**
+ * The enum Posting state.
+ */
+public enum PostingState {
+    /**
+     * The posting was accepted and published, and is waiting for a consumer to apply it.
+     */
+    PENDING,
+    /**
+     * The posting was applied to the account balances.
+     */
+    POSTED,
+    /**
+     * The posting was not applied, for example because of insufficient funds.
+     */
+    REJECTED
+}
@@ -0,0 +1,59 @@
+package com.ndifreke.core_banking_api.entity.transaction;
+
+import com.ndifreke.core_banking_api.entity.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The type Idempotency key.
+ * <p>
+ * One row per (user, Idempotency-Key) pair. The unique constraint is what guarantees a key is
+ * only ever claimed once, even when Redis is unavailable or has evicted the key.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_user_key",
+                columnNames = {"user_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+@Getter
+@Setter
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "request_fingerprint", nullable = false, length = 64)
+    private String requestFingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private IdempotencyStatus status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Set in the transaction that posted the request, so a key whose posting committed is never taken over.
+     */
+    @Column(name = "posted_at")
+    private LocalDateTime postedAt;
+}
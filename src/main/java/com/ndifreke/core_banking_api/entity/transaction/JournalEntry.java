@@ -0,0 +1,97 @@
+package com.ndifreke.core_banking_api.entity.transaction;
+
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The type Journal entry.
+ * <p>
+ * Append-only double-entry ledger: every posting writes exactly one DEBIT row and one CREDIT row with
+ * the same posting id. Deposits and withdrawals are booked against {@link #EXTERNAL_ACCOUNT_ID}, which
+ * stands for cash entering or leaving the bank. Moves into and out of savings plans and fixed deposits
+ * are transfers booked against {@link #SAVINGS_PRODUCTS_ACCOUNT_ID}.
+ * <p>
+ * Rows on customer accounts also carry the balance the posting left the account with and the account's
+ * posting sequence at that point, both written in the transaction that changed the balance. Rows on the
+ * external account, and rows backfilled from the legacy tables, leave them empty.
+ */
+@Entity
+@Immutable
+@Table(name = "journal_entries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_journal_posting_side", columnNames = {"posting_id", "entry_side"}),
+                @UniqueConstraint(name = "uk_journal_account_sequence", columnNames = {"account_id", "account_sequence"})
+        },
+        indexes = {
+                @Index(name = "idx_journal_account_posted", columnList = "account_id, posted_at, entry_id"),
+                @Index(name = "idx_journal_posted", columnList = "posted_at")
+        })
+@Getter
+@Setter
+public class JournalEntry {
+
+    /**
+     * The account id used for the outside-the-bank side of deposits and withdrawals.
+     */
+    public static final UUID EXTERNAL_ACCOUNT_ID = new UUID(0L, 0L);
+
+    /**
+     * The account id used for the savings plan and fixed deposit side of moves from and to a customer account.
+     */
+    public static final UUID SAVINGS_PRODUCTS_ACCOUNT_ID = new UUID(0L, 1L);
+
+    /**
+     * Whether the account id stands for the bank's side of a posting rather than a customer account.
+     *
+     * @param accountId the account id
+     * @return true for {@link #EXTERNAL_ACCOUNT_ID} and {@link #SAVINGS_PRODUCTS_ACCOUNT_ID}
+     */
+    public static boolean isBankAccount(UUID accountId) {
+        return EXTERNAL_ACCOUNT_ID.equals(accountId) || SAVINGS_PRODUCTS_ACCOUNT_ID.equals(accountId);
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "entry_id")
+    private UUID entryId;
+
+    @Column(name = "posting_id", nullable = false)
+    private UUID postingId;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "counterparty_account_id", nullable = false)
+    private UUID counterpartyAccountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_side", nullable = false, length = 6)
+    private EntrySide entrySide;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "posted_at", nullable = false)
+    private Date postedAt;
+
+    @Column(name = "balance_after")
+    private BigDecimal balanceAfter;
+
+    @Column(name = "account_sequence")
+    private Long accountSequence;
+}
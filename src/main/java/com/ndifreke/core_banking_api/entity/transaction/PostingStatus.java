@@ -0,0 +1,52 @@
+package com.ndifreke.core_banking_api.entity.transaction;
+
+import com.ndifreke.core_banking_api.entity.enums.PostingState;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The type Posting status.
+ * <p>
+ * One row per posting accepted in asynchronous mode. The posting id is assigned when the request is
+ * accepted and travels in the Kafka event; the consumer moves the row out of {@code PENDING} with a
+ * conditional update, so a redelivered event is never applied twice.
+ */
+@Entity
+@Table(name = "posting_status",
+        indexes = @Index(name = "idx_posting_status_user", columnList = "user_id, created_at"))
+@Getter
+@Setter
+public class PostingStatus {
+
+    @Id
+    @Column(name = "posting_id")
+    private UUID postingId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false)
+    private PostingState state;
+
+    @Column(name = "transaction_id")
+    private UUID transactionId;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
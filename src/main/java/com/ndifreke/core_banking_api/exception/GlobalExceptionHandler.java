@@ -3,6 +3,7 @@ package com.ndifreke.core_banking_api.exception;
 import com.ndifreke.core_banking_api.exception.dto.ErrorMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -61,6 +62,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorMessage, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorMessage> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        logger.warn("Concurrent update rejected: {}", ex.getMessage());
+        ErrorMessage errorMessage = new ErrorMessage(HttpStatus.CONFLICT.value(), "The resource was updated concurrently, please reload and retry.");
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<com.ndifreke.core_banking_api.exception.dto.ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         List<String> errors = ex.getBindingResult()
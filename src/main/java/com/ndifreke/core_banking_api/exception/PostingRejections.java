@@ -0,0 +1,37 @@
+package com.ndifreke.core_banking_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Maps the exceptions a posting is refused with onto the status a client sees, the way
+ * {@link GlobalExceptionHandler} answers them. For callers that record a refusal instead of letting it
+ * reach the handler: idempotent postings, queued postings and batch chunks.
+ */
+public final class PostingRejections {
+
+    private PostingRejections() {
+    }
+
+    /**
+     * Gets the status a posting failure is reported with.
+     *
+     * @param e the failure
+     * @return the status, or null if the failure is not a refusal of the posting
+     */
+    public static ResponseStatusException toStatus(RuntimeException e) {
+        if (e instanceof ResponseStatusException status) {
+            return status;
+        }
+        if (e instanceof InsufficientFundsException || e instanceof InvalidAmountException) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (e instanceof NotFoundException) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        }
+        if (e instanceof AccessDeniedException) {
+            return new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage(), e);
+        }
+        return null;
+    }
+}
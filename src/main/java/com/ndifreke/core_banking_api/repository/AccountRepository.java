@@ -1,7 +1,17 @@
 package com.ndifreke.core_banking_api.repository;
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
 import com.ndifreke.core_banking_api.entity.Account;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,4 +36,79 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
      * @return the list
      */
     List<Account> findByUserId(UUID userId);
+
+    /**
+     * Adds the amount to the balance in a single statement.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return the number of rows updated, 0 if the account does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.version = a.version + 1, "
+            + "a.postingSequence = a.postingSequence + 1 WHERE a.accountId = :accountId")
+    int creditBalance(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Subtracts the amount from the balance in a single statement, only if the balance covers it.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return the number of rows updated, 0 if the account does not exist or has insufficient funds
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.version = a.version + 1, "
+            + "a.postingSequence = a.postingSequence + 1 WHERE a.accountId = :accountId AND a.balance >= :amount")
+    int debitBalance(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Reads the balance and posting sequence straight from the database. Called in the same transaction
+     * as a balance update, it returns the values that update produced, because the updated row stays
+     * locked until commit.
+     *
+     * @param accountId the account id
+     * @return the balance snapshot
+     */
+    @Query("SELECT new com.ndifreke.core_banking_api.dto.account.BalanceSnapshot(a.balance, a.postingSequence) "
+            + "FROM Account a WHERE a.accountId = :accountId")
+    Optional<BalanceSnapshot> findBalanceSnapshot(@Param("accountId") UUID accountId);
+
+    /**
+     * Updates the account type of an account owned by the given user in a single statement.
+     *
+     * @param accountId   the account id
+     * @param userId      the owning user id
+     * @param accountType the account type
+     * @return the number of rows updated, 0 if the account does not exist or is owned by another user
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.accountType = :accountType, a.version = a.version + 1 "
+            + "WHERE a.accountId = :accountId AND a.userId = :userId")
+    int updateAccountType(@Param("accountId") UUID accountId, @Param("userId") UUID userId,
+                          @Param("accountType") String accountType);
+
+    /**
+     * Loads and row-locks the given accounts with {@code SELECT ... FOR UPDATE}. Rows are requested in
+     * ascending accountId order, the same order single transfers lock in, so a batch and a concurrent
+     * transfer cannot deadlock on each other.
+     *
+     * @param accountIds the account ids
+     * @return the locked accounts
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId IN :accountIds ORDER BY a.accountId")
+    List<Account> lockAllById(@Param("accountIds") Collection<UUID> accountIds);
+
+    /**
+     * Finds the account ids that follow the given id in primary key order, one page at a time.
+     *
+     * @param after    the last id already read; {@code new UUID(0, 0)} to start
+     * @param pageable the page size; only the first page is read
+     * @return the ids
+     */
+    @Query("SELECT a.accountId FROM Account a WHERE a.accountId > :after ORDER BY a.accountId")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
 }
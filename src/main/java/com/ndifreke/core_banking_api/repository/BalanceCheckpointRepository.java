@@ -0,0 +1,45 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.entity.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The interface Balance checkpoint repository.
+ */
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, UUID> {
+
+    /**
+     * Finds the account's newest checkpoint from before the given date.
+     *
+     * @param accountId the account id
+     * @param date      the date, exclusive
+     * @return the optional
+     */
+    Optional<BalanceCheckpoint> findFirstByAccountIdAndCheckpointDateLessThanOrderByCheckpointDateDesc(
+            UUID accountId, LocalDate date);
+
+    /**
+     * Finds the newest checkpoint date of any account.
+     *
+     * @return the date, or null if there are no checkpoints
+     */
+    @Query("SELECT MAX(c.checkpointDate) FROM BalanceCheckpoint c")
+    LocalDate findLatestCheckpointDate();
+
+    /**
+     * Deletes every checkpoint of a day.
+     *
+     * @param date the date
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM BalanceCheckpoint c WHERE c.checkpointDate = :date")
+    int deleteByCheckpointDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,37 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.entity.BlacklistedAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The interface Blacklisted account repository.
+ */
+public interface BlacklistedAccountRepository extends JpaRepository<BlacklistedAccount, String> {
+
+    /**
+     * Finds every account currently on the blacklist.
+     *
+     * @return the blacklisted accounts
+     */
+    List<BlacklistedAccount> findByActiveTrue();
+
+    /**
+     * Finds the entries added, changed or removed since a time.
+     *
+     * @param since the time, inclusive
+     * @return the entries
+     */
+    List<BlacklistedAccount> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    /**
+     * Reads the database clock, the clock {@code updated_at} is written with.
+     *
+     * @return the database's current time
+     */
+    @Query(value = "SELECT LOCALTIMESTAMP(6)", nativeQuery = true)
+    LocalDateTime currentTime();
+}
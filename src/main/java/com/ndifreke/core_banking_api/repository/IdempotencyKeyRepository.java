@@ -0,0 +1,95 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.entity.enums.IdempotencyStatus;
+import com.ndifreke.core_banking_api.entity.transaction.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The interface Idempotency key repository.
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, UUID> {
+
+    /**
+     * Find by user id and idempotency key optional.
+     *
+     * @param userId         the user id
+     * @param idempotencyKey the idempotency key
+     * @return the optional
+     */
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * Marks a claimed key as posted. Called inside the posting transaction, so the mark commits or rolls
+     * back with the posting.
+     *
+     * @param id       the id of the claimed key
+     * @param postedAt the posting time
+     * @return the number of rows updated, 0 if the claim was taken over
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE IdempotencyKey k SET k.postedAt = :postedAt WHERE k.id = :id")
+    int markPosted(@Param("id") UUID id, @Param("postedAt") LocalDateTime postedAt);
+
+    /**
+     * Stores the response of a claimed key.
+     *
+     * @param id             the id of the claimed key
+     * @param status         the status
+     * @param responseStatus the response status
+     * @param responseBody   the response body
+     * @return the number of rows updated, 0 if the claim was taken over
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.status = :status, k.responseStatus = :responseStatus, "
+            + "k.responseBody = :responseBody WHERE k.id = :id")
+    int complete(@Param("id") UUID id, @Param("status") IdempotencyStatus status,
+                 @Param("responseStatus") int responseStatus, @Param("responseBody") String responseBody);
+
+    /**
+     * Deletes a claimed key unless its posting committed.
+     *
+     * @param id the id of the claimed key
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.postedAt IS NULL")
+    int deleteUnposted(@Param("id") UUID id);
+
+    /**
+     * Deletes an in-progress key that was claimed before the cutoff and never posted. The conditions are
+     * re-checked by the delete itself, so a posting that commits while the delete waits for its row lock
+     * keeps the key.
+     *
+     * @param id     the id of the claimed key
+     * @param cutoff the cutoff
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.status = :status "
+            + "AND k.postedAt IS NULL AND k.createdAt < :cutoff")
+    int deleteAbandoned(@Param("id") UUID id, @Param("status") IdempotencyStatus status,
+                        @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Delete keys created before the cutoff.
+     *
+     * @param cutoff the cutoff
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,213 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.dto.account.AccountBalanceSnapshot;
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
+import com.ndifreke.core_banking_api.dto.transaction.HistoryEntry;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * The interface Journal entry repository.
+ */
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, UUID> {
+    /**
+     * Rows per round trip when streaming entries, on drivers that honour the fetch size.
+     */
+    int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * The fetch size that makes MySQL Connector/J stream a result row by row instead of buffering it.
+     * The connection can run no other statement until the stream is closed.
+     */
+    int ROW_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /**
+     * Finds the account's newest entries as history projections, newest first.
+     *
+     * @param accountId the account id
+     * @param pageable  the page size; only the first page is read
+     * @return the list
+     */
+    @Query("SELECT new com.ndifreke.core_banking_api.dto.transaction.HistoryEntry(j.entryId, j.postingId, "
+            + "j.accountId, j.counterpartyAccountId, j.entrySide, j.amount, j.transactionType, j.description, "
+            + "j.postedAt) FROM JournalEntry j WHERE j.accountId = :accountId ORDER BY j.postedAt DESC, j.entryId DESC")
+    List<HistoryEntry> findHistory(@Param("accountId") UUID accountId, Pageable pageable);
+
+    /**
+     * Finds the account's entries that come after the given position in newest-first order, as history
+     * projections. Seeks straight into the {@code (account_id, posted_at, entry_id)} index, so the cost of a
+     * page does not grow with how deep into the history it is.
+     *
+     * @param accountId the account id
+     * @param postedAt  the posted at of the last entry already returned
+     * @param entryId   the entry id of the last entry already returned
+     * @param pageable  the page size; only the first page is read
+     * @return the list
+     */
+    @Query("SELECT new com.ndifreke.core_banking_api.dto.transaction.HistoryEntry(j.entryId, j.postingId, "
+            + "j.accountId, j.counterpartyAccountId, j.entrySide, j.amount, j.transactionType, j.description, "
+            + "j.postedAt) FROM JournalEntry j WHERE j.accountId = :accountId "
+            + "AND (j.postedAt < :postedAt OR (j.postedAt = :postedAt AND j.entryId < :entryId)) "
+            + "ORDER BY j.postedAt DESC, j.entryId DESC")
+    List<HistoryEntry> findHistoryAfter(@Param("accountId") UUID accountId, @Param("postedAt") Date postedAt,
+                                        @Param("entryId") UUID entryId, Pageable pageable);
+
+    /**
+     * Streams all of the account's entries, oldest first. Rows are streamed from the server one at a time
+     * and loaded read-only; the caller must consume the stream inside a transaction without running other
+     * queries, close it, and detach each entry once written.
+     *
+     * @param accountId the account id
+     * @return the stream
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ROW_STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM JournalEntry j WHERE j.accountId = :accountId ORDER BY j.postedAt ASC, j.entryId ASC")
+    Stream<JournalEntry> streamByAccountId(@Param("accountId") UUID accountId);
+
+    /**
+     * Streams the account's entries posted in {@code [from, to)}, oldest first, {@value #STREAM_FETCH_SIZE}
+     * rows per round trip and read-only. The range is read from the
+     * {@code (account_id, posted_at, entry_id)} index.
+     *
+     * @param accountId the account id
+     * @param from      the start of the range, inclusive
+     * @param to        the end of the range, exclusive
+     * @return the stream
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM JournalEntry j WHERE j.accountId = :accountId "
+            + "AND j.postedAt >= :from AND j.postedAt < :to ORDER BY j.postedAt ASC, j.entryId ASC")
+    Stream<JournalEntry> streamByAccountIdAndPeriod(@Param("accountId") UUID accountId, @Param("from") Date from,
+                                                    @Param("to") Date to);
+
+    /**
+     * Streams every entry posted before the cutoff, grouped by account in ascending account id order and
+     * oldest first within each account, {@value #STREAM_FETCH_SIZE} rows per round trip and read-only.
+     *
+     * @param cutoff the cutoff, exclusive
+     * @return the stream
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM JournalEntry j WHERE j.postedAt < :cutoff ORDER BY j.accountId, j.postedAt, j.entryId")
+    Stream<JournalEntry> streamPostedBefore(@Param("cutoff") Date cutoff);
+
+    /**
+     * Streams the balance and posting sequence of every customer-account entry posted in {@code [from, to)},
+     * grouped by account and in posting sequence order within each account, {@value #STREAM_FETCH_SIZE} rows
+     * per round trip. The last snapshot of each account is its balance at {@code to}.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the stream
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ndifreke.core_banking_api.dto.account.AccountBalanceSnapshot(j.accountId, "
+            + "j.balanceAfter, j.accountSequence) FROM JournalEntry j "
+            + "WHERE j.postedAt >= :from AND j.postedAt < :to AND j.accountSequence IS NOT NULL "
+            + "ORDER BY j.accountId, j.accountSequence")
+    Stream<AccountBalanceSnapshot> streamBalancesPostedBetween(@Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * Finds the balance the account's newest entry posted at or before the given time left it with.
+     * Entries without a recorded balance are skipped.
+     *
+     * @param accountId the account id
+     * @param asOf      the time, inclusive
+     * @param pageable  the page size; only the first page is read
+     * @return the list
+     */
+    @Query("SELECT new com.ndifreke.core_banking_api.dto.account.BalanceSnapshot(j.balanceAfter, j.accountSequence) "
+            + "FROM JournalEntry j WHERE j.accountId = :accountId AND j.postedAt <= :asOf "
+            + "AND j.accountSequence IS NOT NULL ORDER BY j.postedAt DESC, j.entryId DESC")
+    List<BalanceSnapshot> findBalanceAt(@Param("accountId") UUID accountId, @Param("asOf") Date asOf,
+                                        Pageable pageable);
+
+    /**
+     * Totals the account's credits and debits per period over {@code [from, to)} in the database, one row
+     * per period with activity, oldest first. The range is read from the
+     * {@code (account_id, posted_at, entry_id)} index.
+     *
+     * @param accountId the account id
+     * @param period    DAY, WEEK (starting Monday) or MONTH
+     * @param from      the start of the range, inclusive
+     * @param to        the end of the range, exclusive
+     * @return the per period totals
+     */
+    @Query(value = "SELECT CASE :period "
+            + "WHEN 'WEEK' THEN DATE_SUB(DATE(j.posted_at), INTERVAL WEEKDAY(j.posted_at) DAY) "
+            + "WHEN 'MONTH' THEN DATE_SUB(DATE(j.posted_at), INTERVAL DAYOFMONTH(j.posted_at) - 1 DAY) "
+            + "ELSE DATE(j.posted_at) END AS periodStart, "
+            + "COALESCE(SUM(CASE WHEN j.entry_side = 'CREDIT' THEN j.amount END), 0) AS totalCredits, "
+            + "COALESCE(SUM(CASE WHEN j.entry_side = 'DEBIT' THEN j.amount END), 0) AS totalDebits, "
+            + "SUM(CASE WHEN j.entry_side = 'CREDIT' THEN 1 ELSE 0 END) AS creditCount, "
+            + "SUM(CASE WHEN j.entry_side = 'DEBIT' THEN 1 ELSE 0 END) AS debitCount "
+            + "FROM journal_entries j "
+            + "WHERE j.account_id = :accountId AND j.posted_at >= :from AND j.posted_at < :to "
+            + "GROUP BY periodStart ORDER BY periodStart", nativeQuery = true)
+    List<PeriodTotals> sumByPeriod(@Param("accountId") UUID accountId, @Param("period") String period,
+                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Credit and debit totals of one period.
+     */
+    interface PeriodTotals {
+
+        /**
+         * Gets period start.
+         *
+         * @return the first day of the period
+         */
+        LocalDate getPeriodStart();
+
+        /**
+         * Gets total credits.
+         *
+         * @return the total credits
+         */
+        BigDecimal getTotalCredits();
+
+        /**
+         * Gets total debits.
+         *
+         * @return the total debits
+         */
+        BigDecimal getTotalDebits();
+
+        /**
+         * Gets credit count.
+         *
+         * @return the credit count
+         */
+        long getCreditCount();
+
+        /**
+         * Gets debit count.
+         *
+         * @return the debit count
+         */
+        long getDebitCount();
+    }
+}
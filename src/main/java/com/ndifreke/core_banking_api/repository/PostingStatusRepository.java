@@ -0,0 +1,60 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.entity.transaction.PostingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The interface Posting status repository.
+ */
+public interface PostingStatusRepository extends JpaRepository<PostingStatus, UUID> {
+
+    /**
+     * Claims a pending posting for the caller's transaction by moving it to {@code POSTED}.
+     * The row stays locked until that transaction ends, and the claim is undone if it rolls back.
+     *
+     * @param postingId the posting id
+     * @param now       the update time
+     * @return 1 if the posting was pending, 0 if it was already applied or rejected
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostingStatus p SET p.state = com.ndifreke.core_banking_api.entity.enums.PostingState.POSTED, "
+            + "p.updatedAt = :now WHERE p.postingId = :postingId "
+            + "AND p.state = com.ndifreke.core_banking_api.entity.enums.PostingState.PENDING")
+    int claimPending(@Param("postingId") UUID postingId, @Param("now") LocalDateTime now);
+
+    /**
+     * Records the id of the transaction a claimed posting produced.
+     *
+     * @param postingId     the posting id
+     * @param transactionId the transaction id
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostingStatus p SET p.transactionId = :transactionId WHERE p.postingId = :postingId")
+    int setTransactionId(@Param("postingId") UUID postingId, @Param("transactionId") UUID transactionId);
+
+    /**
+     * Rejects a pending posting.
+     *
+     * @param postingId the posting id
+     * @param reason    the rejection reason
+     * @param now       the update time
+     * @return 1 if the posting was pending, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostingStatus p SET p.state = com.ndifreke.core_banking_api.entity.enums.PostingState.REJECTED, "
+            + "p.reason = :reason, p.updatedAt = :now WHERE p.postingId = :postingId "
+            + "AND p.state = com.ndifreke.core_banking_api.entity.enums.PostingState.PENDING")
+    int rejectPending(@Param("postingId") UUID postingId, @Param("reason") String reason,
+                      @Param("now") LocalDateTime now);
+}
@@ -3,12 +3,26 @@ package com.ndifreke.core_banking_api.security.controller;
 import com.ndifreke.core_banking_api.dto.user.UserDto;
 import com.ndifreke.core_banking_api.entity.User;
 import com.ndifreke.core_banking_api.repository.UserRepository;
+import com.ndifreke.core_banking_api.security.fraud_detection.AccountBlacklist;
+import com.ndifreke.core_banking_api.security.fraud_detection.FraudThresholds;
+import com.ndifreke.core_banking_api.service.transaction.StatementService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -18,13 +32,26 @@ import java.util.stream.Collectors;
 public class AdminController {
     private final UserRepository userRepository;
 
+    private final StatementService statementService;
+
+    private final FraudThresholds fraudThresholds;
+
+    private final AccountBlacklist accountBlacklist;
+
     /**
      * Instantiates a new Admin controller.
      *
-     * @param userRepository the user repository
+     * @param userRepository   the user repository
+     * @param statementService the statement service
+     * @param fraudThresholds  the fraud thresholds
+     * @param accountBlacklist the account blacklist
      */
-    public AdminController(UserRepository userRepository) {
+    public AdminController(UserRepository userRepository, StatementService statementService,
+                           FraudThresholds fraudThresholds, AccountBlacklist accountBlacklist) {
         this.userRepository = userRepository;
+        this.statementService = statementService;
+        this.fraudThresholds = fraudThresholds;
+        this.accountBlacklist = accountBlacklist;
     }
 
     /**
@@ -53,6 +80,84 @@ public class AdminController {
         return "Teller data";
     }
 
+    /**
+     * Starts writing the monthly statements of every account. Statements already written for the month are
+     * kept, so a failed or interrupted run can be started again.
+     *
+     * @param month the statement month, as yyyy-MM
+     * @return 202 once the run has started
+     */
+    @PostMapping("/admin/statements/{month}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> generateStatements(@PathVariable String month) {
+        YearMonth statementMonth;
+        try {
+            statementMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Bad Request", "message", "Month must be yyyy-MM"));
+        }
+        try {
+            statementService.generateAsync(statementMonth);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(Map.of("error", HttpStatus.valueOf(e.getStatusCode().value()).getReasonPhrase(),
+                            "message", e.getReason()));
+        }
+        return ResponseEntity.accepted().body(Map.of("month", statementMonth.toString(), "status", "STARTED"));
+    }
+
+    /**
+     * Gets the fraud thresholds in force.
+     *
+     * @return the fraud thresholds
+     */
+    @GetMapping("/admin/fraud/thresholds")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FraudThresholds.Values> getFraudThresholds() {
+        return ResponseEntity.ok(fraudThresholds.current());
+    }
+
+    /**
+     * Changes fraud thresholds on every node without a restart. Fields left out keep their value.
+     *
+     * @param update the thresholds to change
+     * @return the fraud thresholds in force afterwards
+     */
+    @PutMapping("/admin/fraud/thresholds")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FraudThresholds.Values> updateFraudThresholds(@RequestBody FraudThresholds.Values update) {
+        return ResponseEntity.ok(fraudThresholds.update(update));
+    }
+
+    /**
+     * Blacklists an account number. Transfers from or to it are blocked on this node at once and on the
+     * others within one blacklist refresh interval.
+     *
+     * @param accountNumber the account number
+     * @param reason        the reason
+     * @return the blacklisted account number
+     */
+    @PutMapping("/admin/fraud/blacklist/{accountNumber}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> blacklistAccount(@PathVariable String accountNumber,
+                                                                @RequestParam(required = false) String reason) {
+        accountBlacklist.add(accountNumber, reason);
+        return ResponseEntity.ok(Map.of("accountNumber", accountNumber, "status", "BLACKLISTED"));
+    }
+
+    /**
+     * Removes an account number from the blacklist.
+     *
+     * @param accountNumber the account number
+     * @return 204 once removed
+     */
+    @DeleteMapping("/admin/fraud/blacklist/{accountNumber}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> removeBlacklistedAccount(@PathVariable String accountNumber) {
+        accountBlacklist.remove(accountNumber);
+        return ResponseEntity.noContent().build();
+    }
+
     private UserDto convertToDto(User user) {
         UserDto dto = new UserDto();
         dto.setUserId(user.getUserId().toString()); // Assuming userId is UUID
@@ -0,0 +1,37 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import java.math.BigDecimal;
+
+/**
+ * The outgoing postings of one account within one window of {@link AccountActivityStreams}.
+ *
+ * @param count  the number of postings
+ * @param amount the total amount
+ */
+public record AccountActivity(long count, BigDecimal amount) {
+
+    /**
+     * No postings.
+     */
+    public static final AccountActivity NONE = new AccountActivity(0, BigDecimal.ZERO);
+
+    /**
+     * One posting of an amount.
+     *
+     * @param amount the amount
+     * @return the activity
+     */
+    public static AccountActivity of(BigDecimal amount) {
+        return new AccountActivity(1, amount);
+    }
+
+    /**
+     * Adds up two activities.
+     *
+     * @param other the other activity
+     * @return the sum
+     */
+    public AccountActivity plus(AccountActivity other) {
+        return new AccountActivity(count + other.count, amount.add(other.amount));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import com.ndifreke.core_banking_api.transaction.events.FundsTransferEvent;
+import com.ndifreke.core_banking_api.transaction.events.WithdrawalEvent;
+import com.ndifreke.core_banking_api.transaction.events.service.TransactionEventService;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Keeps each account's outgoing postings per hopping window in a local state store, and answers queries
+ * on it in-process.
+ * <p>
+ * The topology reads the transfer and withdrawal topics, which are keyed by the debited account, so the
+ * postings are counted and summed per account without repartitioning. Windows are
+ * {@code banking.fraud.streams.window-minutes} long and start every {@code advance-minutes}. The store is
+ * RocksDB backed by a changelog topic, so it survives restarts without replaying the topics.
+ * <p>
+ * Only postings queued in asynchronous mode go through these topics. The store is updated after the
+ * broker delivers an event, not when the transfer is checked, so it complements the exact limit of
+ * {@link HighFrequencyRule} rather than replacing it. Each instance holds the windows of the partitions
+ * assigned to it; an account whose partition is on another instance reads as no activity.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.fraud.streams.enabled", havingValue = "true")
+public class AccountActivityStreams {
+
+    /**
+     * The name of the windowed state store.
+     */
+    public static final String STORE = "account-activity";
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountActivityStreams.class);
+
+    private final JsonSerde<AccountActivity> activitySerde =
+            new JsonSerde<>(AccountActivity.class).noTypeInfo().ignoreTypeHeaders();
+
+    @Autowired
+    private StreamsBuilderFactoryBean streamsBuilderFactoryBean;
+
+    @Value("${banking.fraud.streams.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${banking.fraud.streams.advance-minutes:5}")
+    private long advanceMinutes;
+
+    @Value("${banking.fraud.streams.grace-minutes:1}")
+    private long graceMinutes;
+
+    /**
+     * Builds the topology.
+     *
+     * @param builder the streams builder
+     */
+    @Autowired
+    public void buildPipeline(StreamsBuilder builder) {
+        KStream<String, AccountActivity> transfers = builder
+                .stream(TransactionEventService.FUNDS_TRANSFER_TOPIC, Consumed.with(Serdes.String(),
+                        new JsonSerde<>(FundsTransferEvent.class).ignoreTypeHeaders()))
+                .mapValues(event -> AccountActivity.of(event.getAmount()));
+        KStream<String, AccountActivity> withdrawals = builder
+                .stream(TransactionEventService.WITHDRAWAL_TOPIC, Consumed.with(Serdes.String(),
+                        new JsonSerde<>(WithdrawalEvent.class).ignoreTypeHeaders()))
+                .mapValues(event -> AccountActivity.of(event.getAmount()));
+
+        Duration window = Duration.ofMinutes(windowMinutes);
+        Duration grace = Duration.ofMinutes(graceMinutes);
+        transfers.merge(withdrawals)
+                .groupByKey(Grouped.with(Serdes.String(), activitySerde))
+                .windowedBy(TimeWindows.ofSizeAndGrace(window, grace).advanceBy(Duration.ofMinutes(advanceMinutes)))
+                .reduce(AccountActivity::plus,
+                        Materialized.<String, AccountActivity, WindowStore<Bytes, byte[]>>as(STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(activitySerde)
+                                .withRetention(window.plus(grace)));
+    }
+
+    /**
+     * Gets an account's outgoing postings in the oldest window that is still open, which covers between
+     * {@code window-minutes - advance-minutes} and {@code window-minutes} up to now.
+     *
+     * @param accountId the account id
+     * @return the activity, empty if there is none, or null if the store cannot be queried
+     */
+    public AccountActivity recentActivity(UUID accountId) {
+        KafkaStreams streams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING) {
+            return null;
+        }
+        Instant now = Instant.now();
+        try {
+            ReadOnlyWindowStore<String, AccountActivity> store = streams.store(
+                    StoreQueryParameters.fromNameAndType(STORE, QueryableStoreTypes.windowStore()));
+            try (WindowStoreIterator<AccountActivity> windows = store.fetch(accountId.toString(),
+                    now.minus(Duration.ofMinutes(windowMinutes)).plusMillis(1), now)) {
+                return windows.hasNext() ? windows.next().value : AccountActivity.NONE;
+            }
+        } catch (InvalidStateStoreException e) {
+            logger.debug("Account activity store not queryable: {}", e.getMessage());
+            return null;
+        }
+    }
+}
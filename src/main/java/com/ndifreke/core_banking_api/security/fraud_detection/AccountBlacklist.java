@@ -0,0 +1,151 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import com.ndifreke.core_banking_api.entity.BlacklistedAccount;
+import com.ndifreke.core_banking_api.repository.BlacklistedAccountRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The blacklisted account numbers, held in memory so screening a transfer costs no database round trip.
+ * <p>
+ * A lookup first asks a {@link BloomFilter}, which answers most account numbers that are not blacklisted
+ * without touching the exact set behind it; only the filter's hits, real or false, are confirmed in the
+ * set. Both are loaded from {@code blacklisted_accounts} at startup and kept current by reading only the
+ * rows updated since the last refresh, every {@code banking.fraud.blacklist.refresh-interval-ms} and right
+ * after an admin change on this node. Rows are stamped and refreshes started by the database clock, so
+ * the nodes' own clocks play no part. A removal cannot be taken out of the filter, so the filter is rebuilt
+ * from the set after refreshes that removed accounts, and when the set outgrows what it was sized for.
+ */
+@Component
+public class AccountBlacklist {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBlacklist.class);
+
+    /**
+     * How far before the last refresh the next one starts reading, so rows committed late with an earlier
+     * {@code updated_at} are not missed. Reading a row twice is harmless.
+     */
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private BlacklistedAccountRepository blacklistedAccountRepository;
+
+    @Value("${banking.fraud.blacklist.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Set<String> accounts = ConcurrentHashMap.newKeySet();
+
+    private volatile BloomFilter filter = new BloomFilter(1, 0.01);
+
+    private LocalDateTime refreshedFrom;
+
+    /**
+     * Loads the whole blacklist.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        LocalDateTime started = blacklistedAccountRepository.currentTime();
+        List<BlacklistedAccount> active = blacklistedAccountRepository.findByActiveTrue();
+        accounts.clear();
+        active.forEach(entry -> accounts.add(entry.getAccountNumber()));
+        rebuildFilter();
+        refreshedFrom = started.minusSeconds(REFRESH_OVERLAP_SECONDS);
+        logger.info("Account blacklist loaded: {} accounts", accounts.size());
+    }
+
+    /**
+     * Applies the entries changed since the last refresh, on the schedule in
+     * {@code banking.fraud.blacklist.refresh-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${banking.fraud.blacklist.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        LocalDateTime started;
+        List<BlacklistedAccount> changed;
+        try {
+            started = blacklistedAccountRepository.currentTime();
+            changed = blacklistedAccountRepository.findByUpdatedAtGreaterThanEqual(refreshedFrom);
+        } catch (DataAccessException e) {
+            logger.warn("Account blacklist not refreshed: {}", e.getMessage());
+            return;
+        }
+        boolean removed = false;
+        for (BlacklistedAccount entry : changed) {
+            if (entry.isActive()) {
+                if (accounts.add(entry.getAccountNumber())) {
+                    filter.put(entry.getAccountNumber());
+                }
+            } else {
+                removed |= accounts.remove(entry.getAccountNumber());
+            }
+        }
+        if (removed || accounts.size() > filter.getExpectedInsertions()) {
+            rebuildFilter();
+        }
+        refreshedFrom = started.minusSeconds(REFRESH_OVERLAP_SECONDS);
+    }
+
+    /**
+     * Checks whether an account number is blacklisted.
+     *
+     * @param accountNumber the account number
+     * @return true if it is blacklisted
+     */
+    public boolean contains(String accountNumber) {
+        return accountNumber != null && filter.mightContain(accountNumber) && accounts.contains(accountNumber);
+    }
+
+    /**
+     * Adds an account number to the blacklist, or updates its reason.
+     *
+     * @param accountNumber the account number
+     * @param reason        the reason
+     */
+    public void add(String accountNumber, String reason) {
+        BlacklistedAccount entry = blacklistedAccountRepository.findById(accountNumber).orElseGet(() -> {
+            BlacklistedAccount created = new BlacklistedAccount();
+            created.setAccountNumber(accountNumber);
+            return created;
+        });
+        entry.setReason(reason);
+        entry.setActive(true);
+        blacklistedAccountRepository.save(entry);
+        refresh();
+    }
+
+    /**
+     * Removes an account number from the blacklist.
+     *
+     * @param accountNumber the account number
+     */
+    public void remove(String accountNumber) {
+        BlacklistedAccount entry = blacklistedAccountRepository.findById(accountNumber)
+                .filter(BlacklistedAccount::isActive)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account is not blacklisted"));
+        entry.setActive(false);
+        blacklistedAccountRepository.save(entry);
+        refresh();
+    }
+
+    /**
+     * Builds a filter from the set, with room to grow, and swaps it in. Readers keep using the old filter
+     * until the swap.
+     */
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(1024, accounts.size() * 2), falsePositiveRate);
+        accounts.forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Blocks transfers from or to a blacklisted account.
+ */
+@Component
+public class BlacklistedAccountRule implements FraudRule {
+
+    /**
+     * The reason reported for a blocked transfer.
+     */
+    public static final String REASON = "Blacklisted account";
+
+    @Autowired
+    private AccountBlacklist accountBlacklist;
+
+    @Override
+    public String getName() {
+        return "blacklisted-account";
+    }
+
+    @Override
+    public int getCost() {
+        return 0;
+    }
+
+    @Override
+    public String evaluate(FraudCheck check) {
+        return accountBlacklist.contains(check.getFromAccount().getAccountNumber())
+                || accountBlacklist.contains(check.getToAccount().getAccountNumber()) ? REASON : null;
+    }
+}
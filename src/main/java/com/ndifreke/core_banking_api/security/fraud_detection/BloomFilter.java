@@ -0,0 +1,106 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size Bloom filter of strings. {@link #mightContain} never misses a string that was put, and
+ * wrongly reports one that was not at about the false-positive rate it was sized for, until more strings
+ * than expected are put. Strings cannot be removed.
+ * <p>
+ * Bits are set atomically, so strings can be put while other threads read.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final int expectedInsertions;
+
+    /**
+     * Instantiates a new Bloom filter.
+     *
+     * @param expectedInsertions how many strings it is sized for
+     * @param falsePositiveRate  the false-positive rate at that many strings
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(expectedInsertions, 1);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) ((Math.max(bits, Long.SIZE) + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.expectedInsertions = n;
+    }
+
+    /**
+     * Gets how many strings the filter was sized for.
+     *
+     * @return the expected insertions
+     */
+    int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Puts a string.
+     *
+     * @param value the string
+     */
+    void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Checks whether a string may have been put.
+     *
+     * @param value the string
+     * @return false only if the string was never put
+     */
+    boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with {@link #mix} to spread short account numbers.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import com.ndifreke.core_banking_api.entity.Account;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * A transfer going through the fraud rules, and what the rules recorded about it.
+ */
+@Getter
+public class FraudCheck {
+
+    private final Account fromAccount;
+
+    private final Account toAccount;
+
+    private final BigDecimal amount;
+
+    /**
+     * The slot the velocity rule recorded the transfer in.
+     */
+    @Setter
+    private long velocitySlot = VelocityTracker.REJECTED;
+
+    /**
+     * Instantiates a new Fraud check.
+     *
+     * @param fromAccount the from account
+     * @param toAccount   the to account
+     * @param amount      the amount
+     */
+    public FraudCheck(Account fromAccount, Account toAccount, BigDecimal amount) {
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+/**
+ * One check in the {@link FraudRuleEngine} chain. Rules are Spring beans; adding one adds it to the chain.
+ */
+public interface FraudRule {
+
+    /**
+     * The cost of a rule that makes one network round trip.
+     */
+    int REMOTE_COST = 100;
+
+    /**
+     * Gets the name, used in logs and as the {@code rule} tag of the rule's metrics.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Gets the relative cost of evaluating the rule. Cheaper rules run first, so a transfer blocked by a
+     * cheap rule never pays for the expensive ones: in-memory checks should stay below
+     * {@link #REMOTE_COST}, and checks that need a network round trip at or above it.
+     *
+     * @return the cost
+     */
+    int getCost();
+
+    /**
+     * Evaluates the rule.
+     *
+     * @param check the transfer being checked
+     * @return the reason the transfer is blocked, or null if it passes
+     */
+    String evaluate(FraudCheck check);
+
+    /**
+     * Undoes what a passed evaluation recorded, when the transfer is blocked by a later rule or is not
+     * posted after all.
+     *
+     * @param check the transfer that was checked
+     */
+    default void release(FraudCheck check) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link FraudRule} beans over a transfer, cheapest first, and stops at the first rule that blocks
+ * it.
+ * <p>
+ * Each rule records its latency in {@code banking.fraud.rule.duration} and its blocks in
+ * {@code banking.fraud.rule.hits}, both tagged with the rule name; the whole chain records
+ * {@code banking.fraud.evaluation} tagged with the result. The meters are registered once, so evaluating
+ * a transfer does not look them up.
+ */
+@Service
+public class FraudRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudRuleEngine.class);
+
+    private final List<MeteredRule> rules;
+
+    private final Timer passedTimer;
+
+    private final Timer blockedTimer;
+
+    private record MeteredRule(FraudRule rule, Timer duration, Counter hits) {
+    }
+
+    /**
+     * Instantiates a new Fraud rule engine.
+     *
+     * @param rules         the rules
+     * @param meterRegistry the meter registry
+     */
+    public FraudRuleEngine(List<FraudRule> rules, MeterRegistry meterRegistry) {
+        this.rules = rules.stream()
+                .sorted(Comparator.comparingInt(FraudRule::getCost).thenComparing(FraudRule::getName))
+                .map(rule -> new MeteredRule(rule,
+                        Timer.builder("banking.fraud.rule.duration")
+                                .description("Time spent evaluating one fraud rule")
+                                .tag("rule", rule.getName())
+                                .register(meterRegistry),
+                        Counter.builder("banking.fraud.rule.hits")
+                                .description("Transfers blocked by one fraud rule")
+                                .tag("rule", rule.getName())
+                                .register(meterRegistry)))
+                .toList();
+        this.passedTimer = evaluationTimer(meterRegistry, "passed");
+        this.blockedTimer = evaluationTimer(meterRegistry, "blocked");
+        logger.info("Fraud rules in evaluation order: {}",
+                this.rules.stream().map(metered -> metered.rule().getName()).toList());
+    }
+
+    /**
+     * Evaluates the rules in cost order until one blocks the transfer. When one does, the rules that passed
+     * before it are released.
+     *
+     * @param check the transfer
+     * @return the reason the transfer is blocked, or null if every rule passed
+     */
+    public String evaluate(FraudCheck check) {
+        long started = System.nanoTime();
+        for (int i = 0; i < rules.size(); i++) {
+            MeteredRule metered = rules.get(i);
+            long ruleStarted = System.nanoTime();
+            String reason = metered.rule().evaluate(check);
+            metered.duration().record(System.nanoTime() - ruleStarted, TimeUnit.NANOSECONDS);
+            if (reason != null) {
+                metered.hits().increment();
+                logger.warn("Potential fraud: {} on account {} (rule {})", reason,
+                        check.getFromAccount().getAccountNumber(), metered.rule().getName());
+                release(check, i);
+                blockedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return reason;
+            }
+        }
+        passedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return null;
+    }
+
+    /**
+     * Releases what the rules recorded for a transfer that passed but was not posted.
+     *
+     * @param check the transfer
+     */
+    public void release(FraudCheck check) {
+        release(check, rules.size());
+    }
+
+    private void release(FraudCheck check, int passed) {
+        for (int i = 0; i < passed; i++) {
+            rules.get(i).rule().release(check);
+        }
+    }
+
+    private static Timer evaluationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("banking.fraud.evaluation")
+                .description("Time spent evaluating every fraud rule of a transfer")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
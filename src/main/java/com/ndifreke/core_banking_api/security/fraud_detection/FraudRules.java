@@ -3,7 +3,8 @@ package com.ndifreke.core_banking_api.security.fraud_detection;
 import java.math.BigDecimal;
 
 /**
- * The type Fraud rules.
+ * The type Fraud rules. These are the default thresholds; the values in force come from
+ * {@link FraudThresholds}, which can change them at runtime, and are applied by the {@link FraudRule} beans.
  */
 public class FraudRules {
     /**
@@ -19,10 +20,6 @@ public class FraudRules {
      */
     public static final int HIGH_FREQUENCY_TIMEFRAME_MINUTES = 10;
 //    /**
-//     * The constant BLACKLISTED_ACCOUNTS.
-//     */
-//    public static final String[] BLACKLISTED_ACCOUNTS = {"ACC-12345", "ACC-67890"};
-//    /**
 //     * The constant HIGH_VELOCITY_BALANCE_CHANGE.
 //     */
 //    public static final BigDecimal HIGH_VELOCITY_BALANCE_CHANGE = new BigDecimal("0.8");
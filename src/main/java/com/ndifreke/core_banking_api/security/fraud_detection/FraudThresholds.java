@@ -0,0 +1,175 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The fraud thresholds in force, changeable without a restart.
+ * <p>
+ * The values start from {@code banking.fraud.rules.*}, which default to the {@link FraudRules} constants.
+ * Overrides are kept in the Redis hash {@code fraud:thresholds}, which every node reads again every
+ * {@code banking.fraud.rules.refresh-interval-ms}, so an update reaches the whole cluster within one interval.
+ * While Redis cannot be reached the last values read stay in force.
+ */
+@Component
+public class FraudThresholds {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudThresholds.class);
+
+    private static final String KEY = "fraud:thresholds";
+
+    private static final String LARGE_TRANSFER_THRESHOLD = "largeTransferThreshold";
+
+    private static final String HIGH_FREQUENCY_TRANSACTION_LIMIT = "highFrequencyTransactionLimit";
+
+    private static final String HIGH_FREQUENCY_TIMEFRAME_MINUTES = "highFrequencyTimeframeMinutes";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${banking.fraud.rules.large-transfer-threshold:500000.00}")
+    private BigDecimal defaultLargeTransferThreshold;
+
+    @Value("${banking.fraud.rules.high-frequency-transaction-limit:5}")
+    private int defaultHighFrequencyTransactionLimit;
+
+    @Value("${banking.fraud.rules.high-frequency-timeframe-minutes:10}")
+    private int defaultHighFrequencyTimeframeMinutes;
+
+    private volatile Values current;
+
+    /**
+     * A set of thresholds. In an update, null fields keep their current value.
+     *
+     * @param largeTransferThreshold        transfers above this amount are blocked
+     * @param highFrequencyTransactionLimit transfers allowed per account within the timeframe
+     * @param highFrequencyTimeframeMinutes the timeframe of the high-frequency check
+     */
+    public record Values(BigDecimal largeTransferThreshold, Integer highFrequencyTransactionLimit,
+                         Integer highFrequencyTimeframeMinutes) {
+    }
+
+    /**
+     * Loads the configured thresholds and any overrides.
+     */
+    @PostConstruct
+    public void init() {
+        current = defaults();
+        refresh();
+    }
+
+    /**
+     * Gets the thresholds in force.
+     *
+     * @return the values
+     */
+    public Values current() {
+        return current;
+    }
+
+    /**
+     * Re-reads the overrides on the schedule in {@code banking.fraud.rules.refresh-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${banking.fraud.rules.refresh-interval-ms:10000}")
+    public void refresh() {
+        Map<Object, Object> overrides;
+        try {
+            overrides = redisTemplate.opsForHash().entries(KEY);
+        } catch (DataAccessException e) {
+            logger.warn("Fraud thresholds not refreshed, Redis unavailable: {}", e.getMessage());
+            return;
+        }
+        Values defaults = defaults();
+        Values refreshed;
+        try {
+            refreshed = new Values(
+                    overrides.containsKey(LARGE_TRANSFER_THRESHOLD)
+                            ? new BigDecimal((String) overrides.get(LARGE_TRANSFER_THRESHOLD))
+                            : defaults.largeTransferThreshold(),
+                    overrides.containsKey(HIGH_FREQUENCY_TRANSACTION_LIMIT)
+                            ? Integer.valueOf((String) overrides.get(HIGH_FREQUENCY_TRANSACTION_LIMIT))
+                            : defaults.highFrequencyTransactionLimit(),
+                    overrides.containsKey(HIGH_FREQUENCY_TIMEFRAME_MINUTES)
+                            ? Integer.valueOf((String) overrides.get(HIGH_FREQUENCY_TIMEFRAME_MINUTES))
+                            : defaults.highFrequencyTimeframeMinutes());
+            validate(refreshed);
+        } catch (RuntimeException e) {
+            logger.error("Ignoring invalid fraud threshold overrides {}: {}", overrides, e.getMessage());
+            return;
+        }
+        if (!refreshed.equals(current)) {
+            logger.info("Fraud thresholds changed: {} -> {}", current, refreshed);
+            current = refreshed;
+        }
+    }
+
+    /**
+     * Stores overrides for every node and applies them here at once. Only the fields given are written, so
+     * concurrent updates of different fields on other nodes are kept.
+     *
+     * @param update the thresholds to change; null fields are left as they are
+     * @return the thresholds in force afterwards
+     */
+    public Values update(Values update) {
+        try {
+            validate(update);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Map<String, String> fields = new HashMap<>();
+        if (update.largeTransferThreshold() != null) {
+            fields.put(LARGE_TRANSFER_THRESHOLD, update.largeTransferThreshold().toPlainString());
+        }
+        if (update.highFrequencyTransactionLimit() != null) {
+            fields.put(HIGH_FREQUENCY_TRANSACTION_LIMIT, update.highFrequencyTransactionLimit().toString());
+        }
+        if (update.highFrequencyTimeframeMinutes() != null) {
+            fields.put(HIGH_FREQUENCY_TIMEFRAME_MINUTES, update.highFrequencyTimeframeMinutes().toString());
+        }
+        if (fields.isEmpty()) {
+            return current;
+        }
+        try {
+            redisTemplate.opsForHash().putAll(KEY, fields);
+        } catch (DataAccessException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Fraud thresholds could not be stored");
+        }
+        logger.info("Fraud thresholds overridden: {}", fields);
+        // Read the whole hash back rather than merging into values other nodes may have changed since
+        refresh();
+        return current;
+    }
+
+    private Values defaults() {
+        return new Values(defaultLargeTransferThreshold, defaultHighFrequencyTransactionLimit,
+                defaultHighFrequencyTimeframeMinutes);
+    }
+
+    /**
+     * Checks the fields that are set.
+     */
+    private static void validate(Values values) {
+        if (values.largeTransferThreshold() != null && values.largeTransferThreshold().signum() <= 0) {
+            throw new IllegalArgumentException("largeTransferThreshold must be positive");
+        }
+        if (values.highFrequencyTransactionLimit() != null && values.highFrequencyTransactionLimit() < 1) {
+            throw new IllegalArgumentException("highFrequencyTransactionLimit must be at least 1");
+        }
+        if (values.highFrequencyTimeframeMinutes() != null && values.highFrequencyTimeframeMinutes() < 1) {
+            throw new IllegalArgumentException("highFrequencyTimeframeMinutes must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Blocks a transfer once its source account has reached the high-frequency limit, and otherwise records
+ * it in the account's velocity window.
+ */
+@Component
+public class HighFrequencyRule implements FraudRule {
+
+    /**
+     * The reason reported for a blocked transfer.
+     */
+    public static final String REASON = "High frequency transaction";
+
+    @Autowired
+    private VelocityTracker velocityTracker;
+
+    @Override
+    public String getName() {
+        return "high-frequency";
+    }
+
+    /**
+     * Costs a round trip when the cluster-wide tracker is in use. It runs last among the built-in rules
+     * either way, so transfers other rules block are not counted.
+     */
+    @Override
+    public int getCost() {
+        return REMOTE_COST;
+    }
+
+    @Override
+    public String evaluate(FraudCheck check) {
+        long slot = velocityTracker.tryRecord(check.getFromAccount().getAccountNumber());
+        check.setVelocitySlot(slot);
+        return slot == VelocityTracker.REJECTED ? REASON : null;
+    }
+
+    @Override
+    public void release(FraudCheck check) {
+        velocityTracker.release(check.getFromAccount().getAccountNumber(), check.getVelocitySlot());
+        check.setVelocitySlot(VelocityTracker.REJECTED);
+    }
+}
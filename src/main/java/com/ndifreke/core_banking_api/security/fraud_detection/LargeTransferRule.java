@@ -0,0 +1,34 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Blocks transfers above the large transfer threshold.
+ */
+@Component
+public class LargeTransferRule implements FraudRule {
+
+    /**
+     * The reason reported for a blocked transfer.
+     */
+    public static final String REASON = "Large transfer amount";
+
+    @Autowired
+    private FraudThresholds fraudThresholds;
+
+    @Override
+    public String getName() {
+        return "large-transfer";
+    }
+
+    @Override
+    public int getCost() {
+        return 1;
+    }
+
+    @Override
+    public String evaluate(FraudCheck check) {
+        return check.getAmount().compareTo(fraudThresholds.current().largeTransferThreshold()) > 0 ? REASON : null;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts each account's recent transfers for the high-frequency fraud check, in memory on this node.
+ * It is the default {@link VelocityTracker}, and the fallback of {@link RedisVelocityTracker} while Redis
+ * cannot be reached.
+ * <p>
+ * Every account has a fixed ring of as many epoch-millis timestamps as the high-frequency limit in
+ * {@link FraudThresholds}; a ring is resized on its next use after the limit changes. Checking and
+ * recording happen in one step under the ring's lock, so concurrent transfers on one account cannot all
+ * pass a check that only one of them should. Counting the window walks the array
+ * and allocates nothing. Only the newest {@code limit} timestamps are needed: if all of them fall inside the
+ * window the limit is reached, and otherwise the oldest one can be overwritten.
+ * <p>
+ * Rings whose timestamps have all left the window are dropped by a periodic sweep.
+ */
+@Component
+public class LocalVelocityTracker implements VelocityTracker {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Map<String, TimestampRing> rings = new ConcurrentHashMap<>();
+
+    private final FraudThresholds fraudThresholds;
+
+    /**
+     * Instantiates a new Local velocity tracker.
+     *
+     * @param fraudThresholds the fraud thresholds
+     */
+    public LocalVelocityTracker(FraudThresholds fraudThresholds) {
+        this.fraudThresholds = fraudThresholds;
+    }
+
+    /**
+     * {@inheritDoc} The slot is the recorded timestamp.
+     */
+    @Override
+    public long tryRecord(String accountNumber) {
+        FraudThresholds.Values thresholds = fraudThresholds.current();
+        int limit = thresholds.highFrequencyTransactionLimit();
+        while (true) {
+            TimestampRing ring = rings.get(accountNumber);
+            if (ring == null) {
+                ring = rings.computeIfAbsent(accountNumber, key -> new TimestampRing(limit));
+            }
+            synchronized (ring) {
+                if (!ring.removed) {
+                    long now = System.currentTimeMillis();
+                    ring.resize(limit);
+                    return ring.tryAdd(now, windowStart(now, thresholds)) ? now : REJECTED;
+                }
+            }
+            // The sweep dropped this ring between the lookup and the lock; use the new one
+        }
+    }
+
+    @Override
+    public void release(String accountNumber, long slot) {
+        TimestampRing ring = rings.get(accountNumber);
+        if (ring == null || slot == REJECTED) {
+            return;
+        }
+        synchronized (ring) {
+            ring.remove(slot);
+        }
+    }
+
+    /**
+     * Drops the rings of accounts with no transfers left in the window.
+     */
+    @Scheduled(fixedDelayString = "${banking.fraud.velocity.sweep-interval-ms:60000}")
+    public void sweep() {
+        long windowStart = windowStart(System.currentTimeMillis(), fraudThresholds.current());
+        rings.forEach((accountNumber, ring) -> {
+            synchronized (ring) {
+                if (ring.isIdle(windowStart)) {
+                    ring.removed = true;
+                    rings.remove(accountNumber, ring);
+                }
+            }
+        });
+    }
+
+    private static long windowStart(long now, FraudThresholds.Values thresholds) {
+        return now - TimeUnit.MINUTES.toMillis(thresholds.highFrequencyTimeframeMinutes());
+    }
+
+    /**
+     * One account's newest transfer timestamps. Guarded by its own monitor.
+     */
+    static final class TimestampRing {
+
+        private long[] timestamps;
+
+        private boolean removed;
+
+        TimestampRing(int capacity) {
+            timestamps = new long[capacity];
+            Arrays.fill(timestamps, EMPTY);
+        }
+
+        /**
+         * Changes the capacity to a new limit, keeping the newest timestamps.
+         */
+        void resize(int capacity) {
+            if (timestamps.length == capacity) {
+                return;
+            }
+            long[] newest = timestamps.clone();
+            Arrays.sort(newest);
+            long[] resized = new long[capacity];
+            Arrays.fill(resized, EMPTY);
+            int kept = Math.min(capacity, newest.length);
+            System.arraycopy(newest, newest.length - kept, resized, 0, kept);
+            timestamps = resized;
+        }
+
+        /**
+         * Adds the timestamp in place of the oldest one unless every slot is inside the window.
+         *
+         * @return false if the limit is reached
+         */
+        boolean tryAdd(long now, long windowStart) {
+            int oldest = 0;
+            for (int i = 1; i < timestamps.length; i++) {
+                if (timestamps[i] < timestamps[oldest]) {
+                    oldest = i;
+                }
+            }
+            if (timestamps[oldest] > windowStart) {
+                return false;
+            }
+            timestamps[oldest] = now;
+            return true;
+        }
+
+        void remove(long timestamp) {
+            for (int i = 0; i < timestamps.length; i++) {
+                if (timestamps[i] == timestamp) {
+                    timestamps[i] = EMPTY;
+                    return;
+                }
+            }
+        }
+
+        boolean isIdle(long windowStart) {
+            for (long timestamp : timestamps) {
+                if (timestamp > windowStart) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts each account's recent transfers in Redis, so the limit holds across every node of the cluster.
+ * <p>
+ * Each account has a sorted set {@code velocity:{accountNumber}} of transfer slots scored by the time they
+ * were recorded. One Lua script trims slots that left the window, counts the rest and adds the new slot,
+ * atomically and in one round trip. The script takes the time from the Redis server, so the nodes' clocks
+ * do not need to agree. The key expires one window after its last transfer.
+ * <p>
+ * While Redis cannot be reached, transfers are counted by the node's {@link LocalVelocityTracker}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "banking.fraud.velocity.store", havingValue = "redis")
+public class RedisVelocityTracker implements VelocityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisVelocityTracker.class);
+
+    private static final String KEY_PREFIX = "velocity:";
+
+    /**
+     * KEYS[1] the account's set; ARGV[1] the window in milliseconds, ARGV[2] the limit, ARGV[3] the slot.
+     * Returns 1 if the slot was added and 0 if the limit is reached.
+     */
+    private static final RedisScript<Long> TRY_RECORD = new DefaultRedisScript<>("""
+            if redis.replicate_commands then redis.replicate_commands() end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], now, ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], window)
+            return 1
+            """, Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private LocalVelocityTracker fallback;
+
+    @Autowired
+    private FraudThresholds fraudThresholds;
+
+    @Override
+    public long tryRecord(String accountNumber) {
+        FraudThresholds.Values thresholds = fraudThresholds.current();
+        long slot = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        try {
+            Long added = redisTemplate.execute(TRY_RECORD, List.of(KEY_PREFIX + accountNumber),
+                    String.valueOf(TimeUnit.MINUTES.toMillis(thresholds.highFrequencyTimeframeMinutes())),
+                    String.valueOf(thresholds.highFrequencyTransactionLimit()),
+                    String.valueOf(slot));
+            return added != null && added == 1 ? slot : REJECTED;
+        } catch (DataAccessException e) {
+            logger.warn("Velocity check for {} counted on this node, Redis unavailable: {}",
+                    accountNumber, e.getMessage());
+            return fallback.tryRecord(accountNumber);
+        }
+    }
+
+    @Override
+    public void release(String accountNumber, long slot) {
+        if (slot == REJECTED) {
+            return;
+        }
+        // The slot may have been recorded by the fallback; releasing it where it is absent is a no-op
+        fallback.release(accountNumber, slot);
+        try {
+            redisTemplate.opsForZSet().remove(KEY_PREFIX + accountNumber, String.valueOf(slot));
+        } catch (DataAccessException e) {
+            logger.warn("Could not release velocity slot of {}: {}", accountNumber, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+/**
+ * Enforces the high-frequency limit of {@link FraudThresholds}: at most that many transfers per source
+ * account within the timeframe.
+ * <p>
+ * {@code banking.fraud.velocity.store} selects the implementation: {@code local} counts in memory on each
+ * node, {@code redis} counts once for the whole cluster.
+ */
+public interface VelocityTracker {
+
+    /**
+     * Returned by {@link #tryRecord} when the account has reached the limit.
+     */
+    long REJECTED = -1L;
+
+    /**
+     * Records a transfer from the account unless the account has already reached the limit. Checking and
+     * recording are one atomic step.
+     *
+     * @param accountNumber the source account number
+     * @return a slot to pass to {@link #release} if the transfer is not posted, or {@link #REJECTED}
+     */
+    long tryRecord(String accountNumber);
+
+    /**
+     * Forgets a recorded transfer that was not posted after all.
+     *
+     * @param accountNumber the source account number
+     * @param slot          the slot returned by {@link #tryRecord}
+     */
+    void release(String accountNumber, long slot);
+}
@@ -0,0 +1,56 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Blocks a transfer when its source account already has too many outgoing postings, or would move too
+ * much money, within the current window of {@link AccountActivityStreams}.
+ * <p>
+ * The check reads the local state store, so it costs no network round trip. While the store cannot be
+ * queried, for example during a rebalance, transfers pass.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.fraud.streams.enabled", havingValue = "true")
+public class WindowedActivityRule implements FraudRule {
+
+    /**
+     * The reason reported for a blocked transfer.
+     */
+    public static final String REASON = "Unusual account activity";
+
+    @Autowired
+    private AccountActivityStreams accountActivityStreams;
+
+    @Value("${banking.fraud.streams.max-postings:30}")
+    private long maxPostings;
+
+    @Value("${banking.fraud.streams.max-amount:2000000.00}")
+    private BigDecimal maxAmount;
+
+    @Override
+    public String getName() {
+        return "windowed-activity";
+    }
+
+    @Override
+    public int getCost() {
+        return 10;
+    }
+
+    @Override
+    public String evaluate(FraudCheck check) {
+        AccountActivity activity = accountActivityStreams.recentActivity(check.getFromAccount().getAccountId());
+        if (activity == null) {
+            return null;
+        }
+        if (activity.count() >= maxPostings || activity.amount().add(check.getAmount()).compareTo(maxAmount) > 0) {
+            return REASON;
+        }
+        return null;
+    }
+}
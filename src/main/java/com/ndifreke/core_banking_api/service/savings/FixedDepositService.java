@@ -7,10 +7,13 @@ import com.ndifreke.core_banking_api.dto.savings.FixedDepositRequest;
 import com.ndifreke.core_banking_api.dto.savings.FixedDepositResponse;
 import com.ndifreke.core_banking_api.entity.User;
 import com.ndifreke.core_banking_api.entity.enums.savings.FixedDepositStatus;
+import com.ndifreke.core_banking_api.exception.InsufficientFundsException;
+import com.ndifreke.core_banking_api.exception.NotFoundException;
 import com.ndifreke.core_banking_api.repository.FixedDepositRepository;
 import com.ndifreke.core_banking_api.repository.UserRepository;
 import com.ndifreke.core_banking_api.service.notification.MailService;
-import jakarta.transaction.Transactional;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingRetryExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
@@ -42,6 +45,12 @@ public class FixedDepositService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PostingRetryExecutor postingRetryExecutor;
+
+    @Autowired
+    private JournalService journalService;
+
     /**
      * Create fixed deposit fixed deposit response.
      *
@@ -50,7 +59,6 @@ public class FixedDepositService {
      * @return the fixed deposit response
      */
     @CachePut(value = "fixed_deposits", key = "'fixed_deposit:' + #result.depositId")
-    @Transactional
     public FixedDepositResponse createFixedDeposit(FixedDepositRequest request, UUID userId) {
         validateFixedDepositRequest(request);
 
@@ -66,19 +74,24 @@ public class FixedDepositService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance in SAVINGS account for deposit");
         }
 
-        FixedDeposit fixedDeposit = new FixedDeposit();
-        fixedDeposit.setUserId(userId);
-        fixedDeposit.setDepositAmount(request.getDepositAmount());
-        fixedDeposit.setDepositDate(request.getDepositDate());
-        fixedDeposit.setMaturityDate(request.getMaturityDate());
-        fixedDeposit.setInterestRate(request.getInterestRate());
-        fixedDeposit.setStatus(FixedDepositStatus.ACTIVE);
-
-        // Debit from SAVINGS account
-        accountService.withdrawFromAccount(savingsAccount.getAccountId(), depositAmount);
-
-        // Save the fixed deposit
-        FixedDeposit savedDeposit = fixedDepositRepository.save(fixedDeposit);
+        // Debit from SAVINGS account and save the fixed deposit in one transaction
+        FixedDeposit savedDeposit = postingRetryExecutor.execute("fixed-deposit-create", () -> {
+            try {
+                accountService.withdrawFromAccount(savingsAccount.getAccountId(), depositAmount);
+                journalService.recordInternalDebit(savingsAccount.getAccountId(), depositAmount, "Fixed deposit");
+            } catch (InsufficientFundsException | NotFoundException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance in SAVINGS account for deposit");
+            }
+
+            FixedDeposit fixedDeposit = new FixedDeposit();
+            fixedDeposit.setUserId(userId);
+            fixedDeposit.setDepositAmount(request.getDepositAmount());
+            fixedDeposit.setDepositDate(request.getDepositDate());
+            fixedDeposit.setMaturityDate(request.getMaturityDate());
+            fixedDeposit.setInterestRate(request.getInterestRate());
+            fixedDeposit.setStatus(FixedDepositStatus.ACTIVE);
+            return fixedDepositRepository.save(fixedDeposit);
+        });
         // Fetch user details for email
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -136,28 +149,31 @@ public class FixedDepositService {
      * @return the fixed deposit response
      */
     @CachePut(value = "fixed_deposits", key = "'fixed_deposit:' + #depositId")
-    @Transactional
     public FixedDepositResponse withdrawFixedDeposit(UUID depositId, UUID userId) {
-        FixedDeposit fixedDeposit = fixedDepositRepository.findById(depositId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Fixed deposit not found"));
-        if (!fixedDeposit.getUserId().equals(userId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
-        }
-        if (fixedDeposit.getStatus() != FixedDepositStatus.MATURED) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Fixed deposit not matured");
-        }
-
-        // Transfer deposit amount to user's SAVINGS account
+        // The matured deposit is paid back into the user's SAVINGS account
         Account savingsAccount = accountService.getUserSavingsAccount(userId);
-        if (savingsAccount == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User does not have a SAVINGS account for withdrawal");
-        }
 
+        FixedDeposit fixedDeposit = postingRetryExecutor.execute("fixed-deposit-withdrawal", () -> {
+            FixedDeposit currentDeposit = fixedDepositRepository.findById(depositId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Fixed deposit not found"));
+            if (!currentDeposit.getUserId().equals(userId)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
+            }
+            if (currentDeposit.getStatus() != FixedDepositStatus.MATURED) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Fixed deposit not matured");
+            }
+            if (savingsAccount == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User does not have a SAVINGS account for withdrawal");
+            }
+
+            accountService.depositToAccount(savingsAccount.getAccountId(), currentDeposit.getDepositAmount());
+            journalService.recordInternalCredit(savingsAccount.getAccountId(), currentDeposit.getDepositAmount(),
+                    "Fixed deposit withdrawal");
+
+            currentDeposit.setStatus(FixedDepositStatus.CLOSED);
+            return fixedDepositRepository.save(currentDeposit);
+        });
         BigDecimal withdrawalAmount = fixedDeposit.getDepositAmount();
-        accountService.depositToAccount(savingsAccount.getAccountId(), withdrawalAmount);
-
-        fixedDeposit.setStatus(FixedDepositStatus.CLOSED);
-        fixedDepositRepository.save(fixedDeposit);
 
         // Fetch user details for email
         User user = userRepository.findById(userId)
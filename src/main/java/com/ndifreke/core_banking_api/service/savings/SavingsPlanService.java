@@ -8,9 +8,13 @@ import com.ndifreke.core_banking_api.dto.savings.SavingsPlanResponse;
 import com.ndifreke.core_banking_api.entity.User;
 import com.ndifreke.core_banking_api.entity.enums.savings.RecurringDepositFrequency;
 import com.ndifreke.core_banking_api.entity.enums.savings.SavingsPlanStatus;
+import com.ndifreke.core_banking_api.exception.InsufficientFundsException;
+import com.ndifreke.core_banking_api.exception.NotFoundException;
 import com.ndifreke.core_banking_api.repository.SavingsPlanRepository;
 import com.ndifreke.core_banking_api.repository.UserRepository;
 import com.ndifreke.core_banking_api.service.notification.MailService;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingRetryExecutor;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +51,12 @@ public class SavingsPlanService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PostingRetryExecutor postingRetryExecutor;
+
+    @Autowired
+    private JournalService journalService;
+
     /**
      * Create savings plan savings plan response.
      *
@@ -143,7 +153,6 @@ public class SavingsPlanService {
      * @return the savings plan response
      */
     @CachePut(value = "savings_plans", key = "'savings_plan:' + #planId")
-    @Transactional
     public SavingsPlanResponse depositToSavingsPlan(UUID planId, BigDecimal amount, UUID userId) {
         SavingsPlan savingsPlan = savingsPlanRepository.findById(planId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Savings plan not found"));
@@ -168,28 +177,28 @@ public class SavingsPlanService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance in SAVINGS account for deposit");
         }
 
-        // Withdraw from SAVINGS account
-        try {
-            accountService.withdrawFromAccount(savingsAccount.getAccountId(), amount);
-            logger.info("Successfully withdrew {} from SAVINGS account: accountId={}",
-                    amount, savingsAccount.getAccountId());
-        } catch (IllegalStateException e) {
-            logger.error("Failed to withdraw from SAVINGS account: accountId={}, error={}",
-                    savingsAccount.getAccountId(), e.getMessage());
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to debit SAVINGS account: " + e.getMessage());
-        }
-
-        // Refresh savings account to verify balance update
-        Account updatedSavingsAccount = accountService.getUserSavingsAccount(userId);
-        logger.info("SAVINGS account balance after withdrawal: accountId={}, balance={}",
-                updatedSavingsAccount.getAccountId(), updatedSavingsAccount.getBalance());
-
-        // Update savings plan balance
-        BigDecimal newBalance = savingsPlan.getCurrentBalance().add(amount);
-        savingsPlan.setCurrentBalance(newBalance);
-
-
-        savingsPlanRepository.save(savingsPlan);
+        // Debit the SAVINGS account and credit the plan in one transaction, retried on version conflicts
+        String planName = savingsPlan.getPlanName();
+        savingsPlan = postingRetryExecutor.execute("savings-plan-deposit", () -> {
+            // Withdraw from SAVINGS account
+            try {
+                accountService.withdrawFromAccount(savingsAccount.getAccountId(), amount);
+                journalService.recordInternalDebit(savingsAccount.getAccountId(), amount,
+                        "Savings plan deposit: " + planName);
+                logger.info("Successfully withdrew {} from SAVINGS account: accountId={}",
+                        amount, savingsAccount.getAccountId());
+            } catch (InsufficientFundsException | NotFoundException e) {
+                logger.error("Failed to withdraw from SAVINGS account: accountId={}, error={}",
+                        savingsAccount.getAccountId(), e.getMessage());
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to debit SAVINGS account: " + e.getMessage());
+            }
+
+            // Update savings plan balance
+            SavingsPlan currentPlan = savingsPlanRepository.findById(planId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Savings plan not found"));
+            currentPlan.setCurrentBalance(currentPlan.getCurrentBalance().add(amount));
+            return savingsPlanRepository.save(currentPlan);
+        });
 
         // Fetch user details for email
         User user = userRepository.findById(userId)
@@ -243,12 +252,21 @@ public class SavingsPlanService {
         if (savingsAccount == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User does not have a SAVINGS account for withdrawal");
         }
-        accountService.depositToAccount(savingsAccount.getAccountId(), amount);
-
 
-        BigDecimal newBalance = savingsPlan.getCurrentBalance().subtract(amount);
-        savingsPlan.setCurrentBalance(newBalance);
-        savingsPlanRepository.save(savingsPlan);
+        String planName = savingsPlan.getPlanName();
+        savingsPlan = postingRetryExecutor.execute("savings-plan-withdrawal", () -> {
+            SavingsPlan currentPlan = savingsPlanRepository.findById(planId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Savings plan not found"));
+            if (currentPlan.getCurrentBalance().compareTo(amount) < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance");
+            }
+            accountService.depositToAccount(savingsAccount.getAccountId(), amount);
+            journalService.recordInternalCredit(savingsAccount.getAccountId(), amount,
+                    "Savings plan withdrawal: " + planName);
+
+            currentPlan.setCurrentBalance(currentPlan.getCurrentBalance().subtract(amount));
+            return savingsPlanRepository.save(currentPlan);
+        });
 
         // Send withdrawal email
         User user = userRepository.findById(userId)
@@ -0,0 +1,229 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.dto.account.AccountBalanceSnapshot;
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
+import com.ndifreke.core_banking_api.entity.BalanceCheckpoint;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.BalanceCheckpointRepository;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import com.ndifreke.core_banking_api.service.transaction.archive.ArchiveService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Keeps daily end-of-day balance checkpoints and answers point-in-time balance queries.
+ * <p>
+ * A balance as of a given time is the balance recorded on the account's newest journal entry at or before
+ * that time, which is one index seek. The recorded balance is the account's own balance after the change,
+ * so it is right even when earlier changes, such as savings plan and fixed deposit moves made before those
+ * were journaled, left no entry. Nothing is summed.
+ * <p>
+ * A nightly job copies, for every account with postings on the previous day, the balance its last
+ * posting of the day left it with into {@code balance_checkpoints}. When the asked time is before the
+ * archive cutoff, the newest checkpoint from an earlier day bounds the archive search: only the asked
+ * day's archived entries are read, and if it has none before the asked time the checkpoint is the balance.
+ */
+@Service
+public class BalanceCheckpointService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceCheckpointService.class);
+
+    /**
+     * Sorts after every entry id in {@link ArchiveService#findBefore} order, so a position made with it
+     * includes the entries posted at the position's time.
+     */
+    private static final UUID LAST_ENTRY_ID = new UUID(-1L, -1L);
+
+    private static final int ARCHIVE_PAGE_SIZE = 500;
+
+    @Autowired
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${banking.balance-checkpoint.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.balance-checkpoint.max-catch-up-days:31}")
+    private int maxCatchUpDays;
+
+    @Value("${banking.balance-checkpoint.batch-size:500}")
+    private int batchSize;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * Gets an account's balance at a point in time.
+     *
+     * @param accountId           the account id
+     * @param asOf                the point in time
+     * @param authenticatedUserId the authenticated user id
+     * @return the balance
+     */
+    public BigDecimal getBalanceAsOf(UUID accountId, Date asOf, UUID authenticatedUserId) {
+        if (asOf.after(new Date())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "asOf cannot be in the future");
+        }
+        accountService.validateAccountOwnership(accountId, authenticatedUserId);
+
+        Date cutoff = archiveService.getCutoff();
+        if (cutoff == null || !asOf.before(cutoff)) {
+            List<BalanceSnapshot> recorded = journalEntryRepository.findBalanceAt(accountId, asOf, PageRequest.of(0, 1));
+            if (!recorded.isEmpty()) {
+                return recorded.get(0).balance();
+            }
+            if (cutoff == null) {
+                throw notRecorded(asOf);
+            }
+        }
+        return archivedBalanceAt(accountId, asOf);
+    }
+
+    /**
+     * Finds the balance recorded on the newest archived entry at or before the time, reading back no
+     * further than the newest checkpoint from an earlier day.
+     */
+    private BigDecimal archivedBalanceAt(UUID accountId, Date asOf) {
+        LocalDate day = asOf.toInstant().atZone(zone).toLocalDate();
+        Optional<BalanceCheckpoint> checkpoint = balanceCheckpointRepository
+                .findFirstByAccountIdAndCheckpointDateLessThanOrderByCheckpointDateDesc(accountId, day);
+        Date from = checkpoint.map(found -> startOf(found.getCheckpointDate().plusDays(1))).orElse(null);
+        Date position = asOf;
+        UUID positionId = LAST_ENTRY_ID;
+        while (true) {
+            List<JournalEntry> page = archiveService.findBefore(accountId, position, positionId, ARCHIVE_PAGE_SIZE);
+            for (JournalEntry entry : page) {
+                if (from != null && entry.getPostedAt().before(from)) {
+                    return checkpoint.get().getBalance();
+                }
+                if (entry.getAccountSequence() != null) {
+                    return entry.getBalanceAfter();
+                }
+            }
+            if (page.size() < ARCHIVE_PAGE_SIZE) {
+                return checkpoint.map(BalanceCheckpoint::getBalance).orElseThrow(() -> notRecorded(asOf));
+            }
+            position = page.get(page.size() - 1).getPostedAt();
+            positionId = page.get(page.size() - 1).getEntryId();
+        }
+    }
+
+    private static ResponseStatusException notRecorded(Date asOf) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "No balance recorded for the account as of " + asOf);
+    }
+
+    /**
+     * Checkpoints every day since the newest checkpoint up to yesterday, at most
+     * {@code banking.balance-checkpoint.max-catch-up-days} days back, on the schedule in
+     * {@code banking.balance-checkpoint.cron}.
+     */
+    @Scheduled(cron = "${banking.balance-checkpoint.cron:0 15 0 * * *}")
+    public void checkpointPastDays() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate yesterday = LocalDate.now(zone).minusDays(1);
+        LocalDate latest = balanceCheckpointRepository.findLatestCheckpointDate();
+        LocalDate day = latest == null || latest.isBefore(yesterday.minusDays(maxCatchUpDays))
+                ? yesterday : latest.plusDays(1);
+        for (; !day.isAfter(yesterday); day = day.plusDays(1)) {
+            checkpointDay(day);
+        }
+    }
+
+    /**
+     * Writes the end-of-day checkpoints of one day, replacing any the day already has, in one transaction.
+     *
+     * @param day the day
+     * @return the number of checkpoints written
+     */
+    public int checkpointDay(LocalDate day) {
+        long started = System.nanoTime();
+        Integer written = new TransactionTemplate(transactionManager).execute(status -> {
+            balanceCheckpointRepository.deleteByCheckpointDate(day);
+            List<BalanceCheckpoint> batch = new ArrayList<>(batchSize);
+            int count = 0;
+            AccountBalanceSnapshot previous = null;
+            try (Stream<AccountBalanceSnapshot> balances = journalEntryRepository.streamBalancesPostedBetween(
+                    startOf(day), startOf(day.plusDays(1)))) {
+                for (AccountBalanceSnapshot balance : (Iterable<AccountBalanceSnapshot>) balances::iterator) {
+                    if (previous != null && !previous.accountId().equals(balance.accountId())) {
+                        count += add(batch, previous, day);
+                    }
+                    previous = balance;
+                }
+            }
+            if (previous != null) {
+                count += add(batch, previous, day);
+            }
+            flush(batch);
+            return count;
+        });
+        int count = written != null ? written : 0;
+        logger.info("Balance checkpoints written: day={}, accounts={}, took={}ms",
+                day, count, (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    private int add(List<BalanceCheckpoint> batch, AccountBalanceSnapshot last, LocalDate day) {
+        BalanceCheckpoint checkpoint = new BalanceCheckpoint();
+        checkpoint.setAccountId(last.accountId());
+        checkpoint.setCheckpointDate(day);
+        checkpoint.setBalance(last.balance());
+        checkpoint.setPostingSequence(last.postingSequence());
+        batch.add(checkpoint);
+        if (batch.size() >= batchSize) {
+            flush(batch);
+        }
+        return 1;
+    }
+
+    private void flush(List<BalanceCheckpoint> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        balanceCheckpointRepository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(zone).toInstant());
+    }
+}
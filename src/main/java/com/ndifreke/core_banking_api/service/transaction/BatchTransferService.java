@@ -0,0 +1,278 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.account.AccountVersionService;
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
+import com.ndifreke.core_banking_api.dto.transaction.BatchTransferResponse;
+import com.ndifreke.core_banking_api.dto.transaction.BatchTransferResult;
+import com.ndifreke.core_banking_api.dto.transaction.TransferRequest;
+import com.ndifreke.core_banking_api.entity.Account;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.Transfer;
+import com.ndifreke.core_banking_api.exception.PostingRejections;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import com.ndifreke.core_banking_api.security.fraud_detection.FraudCheck;
+import com.ndifreke.core_banking_api.security.fraud_detection.FraudRuleEngine;
+import com.ndifreke.core_banking_api.service.transaction.idempotency.IdempotencyService;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingRetryExecutor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Posts large batches of transfers, such as payroll and merchant settlement runs.
+ * <p>
+ * The whole batch is validated up front with one account query, and every valid item goes through the
+ * same fraud rules as a single transfer. Valid items are then posted in
+ * chunks, each chunk in its own transaction: the chunk's accounts are row-locked with one
+ * {@code SELECT ... FOR UPDATE}, the items are applied in request order against the locked balances,
+ * and the balance updates and posting inserts are flushed as JDBC batches. No emails are
+ * sent per item.
+ */
+@Service
+public class BatchTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTransferService.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private PostingRetryExecutor postingRetryExecutor;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountVersionService accountVersionService;
+
+    @Autowired
+    private FraudRuleEngine fraudRuleEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${banking.batch.max-items:10000}")
+    private int maxItems;
+
+    @Value("${banking.batch.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Transfer funds in batch.
+     *
+     * @param transfers           the transfers
+     * @param authenticatedUserId the authenticated user id, who must own every source account
+     * @return one result per transfer, in request order
+     */
+    public BatchTransferResponse transferFundsBatch(List<TransferRequest> transfers, UUID authenticatedUserId) {
+        if (transfers == null || transfers.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Transfers cannot be empty");
+        }
+        if (transfers.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch cannot contain more than " + maxItems + " transfers");
+        }
+        logger.info("Batch transfer request: items={}, authenticatedUserId={}", transfers.size(), authenticatedUserId);
+
+        BatchTransferResult[] results = new BatchTransferResult[transfers.size()];
+        FraudCheck[] fraudChecks = new FraudCheck[transfers.size()];
+        List<Integer> accepted = validate(transfers, authenticatedUserId, results, fraudChecks);
+
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            List<Integer> chunk = accepted.subList(start, Math.min(start + chunkSize, accepted.size()));
+            try {
+                Map<Integer, BatchTransferResult> posted = postingRetryExecutor.execute("batch-transfer",
+                        idempotencyService.fenced(() -> postChunk(transfers, chunk)));
+                posted.forEach((index, result) -> results[index] = result);
+            } catch (RuntimeException e) {
+                logger.error("Batch transfer chunk of {} items failed: {}", chunk.size(), e.getMessage());
+                ResponseStatusException status = PostingRejections.toStatus(e);
+                String message = status != null ? status.getReason() : "Chunk could not be posted";
+                for (Integer index : chunk) {
+                    results[index] = BatchTransferResult.notPosted(index, BatchTransferResult.Status.FAILED, message);
+                }
+            } finally {
+                evictAccounts(transfers, chunk);
+            }
+            // Items that passed the fraud rules but were not posted must not count towards velocity limits
+            for (Integer index : chunk) {
+                if (results[index].getStatus() != BatchTransferResult.Status.POSTED) {
+                    fraudRuleEngine.release(fraudChecks[index]);
+                }
+            }
+        }
+
+        BatchTransferResponse response = new BatchTransferResponse();
+        response.setResults(Arrays.asList(results));
+        response.setTotal(results.length);
+        for (BatchTransferResult result : results) {
+            switch (result.getStatus()) {
+                case POSTED -> response.setPosted(response.getPosted() + 1);
+                case REJECTED -> response.setRejected(response.getRejected() + 1);
+                case FAILED -> response.setFailed(response.getFailed() + 1);
+            }
+        }
+        logger.info("Batch transfer finished: posted={}, rejected={}, failed={}",
+                response.getPosted(), response.getRejected(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * Checks every item against one load of all referenced accounts and the fraud rules, and records a
+     * rejection for each invalid item. The fraud check of each accepted item is kept so it can be released
+     * if the item is not posted.
+     *
+     * @return the indexes of the items that can be posted
+     */
+    private List<Integer> validate(List<TransferRequest> transfers, UUID authenticatedUserId,
+                                   BatchTransferResult[] results, FraudCheck[] fraudChecks) {
+        Set<UUID> accountIds = new HashSet<>();
+        for (TransferRequest transfer : transfers) {
+            if (transfer != null) {
+                accountIds.add(transfer.getFromAccountId());
+                accountIds.add(transfer.getToAccountId());
+            }
+        }
+        accountIds.remove(null);
+        Map<UUID, Account> accounts = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getAccountId, Function.identity()));
+
+        List<Integer> accepted = new ArrayList<>(transfers.size());
+        for (int index = 0; index < transfers.size(); index++) {
+            TransferRequest transfer = transfers.get(index);
+            String rejection = rejectionReason(transfer, accounts, authenticatedUserId);
+            if (rejection == null) {
+                FraudCheck fraudCheck = new FraudCheck(accounts.get(transfer.getFromAccountId()),
+                        accounts.get(transfer.getToAccountId()), transfer.getAmount());
+                String fraudReason = fraudRuleEngine.evaluate(fraudCheck);
+                if (fraudReason == null) {
+                    fraudChecks[index] = fraudCheck;
+                    accepted.add(index);
+                    continue;
+                }
+                rejection = "Transaction blocked due to potential fraud: " + fraudReason;
+            }
+            results[index] = BatchTransferResult.notPosted(index, BatchTransferResult.Status.REJECTED, rejection);
+        }
+        return accepted;
+    }
+
+    private String rejectionReason(TransferRequest transfer, Map<UUID, Account> accounts, UUID authenticatedUserId) {
+        if (transfer == null || transfer.getFromAccountId() == null || transfer.getToAccountId() == null) {
+            return "Source and destination account IDs are required";
+        }
+        if (transfer.getAmount() == null || transfer.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be positive";
+        }
+        if (transfer.getFromAccountId().equals(transfer.getToAccountId())) {
+            return "Source and destination accounts must be different";
+        }
+        Account fromAccount = accounts.get(transfer.getFromAccountId());
+        if (fromAccount == null) {
+            return "Account not found";
+        }
+        if (!fromAccount.getUserId().equals(authenticatedUserId)) {
+            return "Access denied";
+        }
+        if (!accounts.containsKey(transfer.getToAccountId())) {
+            return "Destination account not found";
+        }
+        return null;
+    }
+
+    /**
+     * Posts one chunk inside the caller's transaction. Balances are checked against the locked rows in
+     * request order, so an item that would overdraw its source is rejected without affecting the others.
+     */
+    private Map<Integer, BatchTransferResult> postChunk(List<TransferRequest> transfers, List<Integer> chunk) {
+        // Accounts loaded during validation may still be attached to the request's persistence context;
+        // detach them so the locking query below returns the current balances
+        entityManager.clear();
+        Set<UUID> accountIds = new HashSet<>();
+        for (Integer index : chunk) {
+            accountIds.add(transfers.get(index).getFromAccountId());
+            accountIds.add(transfers.get(index).getToAccountId());
+        }
+        Map<UUID, Account> accounts = accountRepository.lockAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getAccountId, Function.identity()));
+
+        Map<Integer, BatchTransferResult> results = new LinkedHashMap<>();
+        Map<Integer, JournalService.TransferPosting> postings = new LinkedHashMap<>();
+        for (Integer index : chunk) {
+            TransferRequest request = transfers.get(index);
+            Account fromAccount = accounts.get(request.getFromAccountId());
+            Account toAccount = accounts.get(request.getToAccountId());
+            if (fromAccount == null || toAccount == null) {
+                results.put(index, BatchTransferResult.notPosted(index, BatchTransferResult.Status.REJECTED,
+                        "Account not found"));
+                continue;
+            }
+            if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
+                results.put(index, BatchTransferResult.notPosted(index, BatchTransferResult.Status.REJECTED,
+                        "Insufficient funds"));
+                continue;
+            }
+            fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
+            fromAccount.setPostingSequence(fromAccount.getPostingSequence() + 1);
+            toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+            toAccount.setPostingSequence(toAccount.getPostingSequence() + 1);
+
+            Transfer transfer = new Transfer();
+            transfer.setFromAccountId(request.getFromAccountId());
+            transfer.setToAccountId(request.getToAccountId());
+            transfer.setAmount(request.getAmount());
+            transfer.setTransactionDate(new Date());
+            transfer.setTransactionType(TransactionType.TRANSFER);
+            transfer.setDescription(request.getDescription());
+            postings.put(index, new JournalService.TransferPosting(transfer,
+                    new BalanceSnapshot(fromAccount.getBalance(), fromAccount.getPostingSequence()),
+                    new BalanceSnapshot(toAccount.getBalance(), toAccount.getPostingSequence())));
+        }
+
+        journalService.recordTransfers(new ArrayList<>(postings.values()));
+        // Flushes the account updates and transfer inserts as JDBC batches, then drops the chunk's
+        // entities so a long batch does not grow the persistence context
+        entityManager.flush();
+        entityManager.clear();
+
+        postings.forEach((index, posting) -> results.put(index,
+                BatchTransferResult.posted(index, transactionService.convertToTransferResponse(posting.transfer()))));
+        return results;
+    }
+
+    private void evictAccounts(List<TransferRequest> transfers, List<Integer> chunk) {
+        Set<UUID> accountIds = new HashSet<>();
+        for (Integer index : chunk) {
+            accountIds.add(transfers.get(index).getFromAccountId());
+            accountIds.add(transfers.get(index).getToAccountId());
+        }
+        accountVersionService.changed(accountIds);
+        Cache cache = cacheManager.getCache("accounts");
+        if (cache != null) {
+            accountIds.forEach(accountId -> cache.evict("account:" + accountId));
+        }
+    }
+}
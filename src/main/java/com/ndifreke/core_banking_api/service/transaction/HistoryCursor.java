@@ -0,0 +1,48 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.dto.transaction.HistoryEntry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Position in an account's newest-first transaction history: the posted at and entry id of the last
+ * entry a page returned. Handed to clients as an opaque URL-safe token.
+ *
+ * @param postedAt the posted at
+ * @param entryId  the entry id
+ */
+record HistoryCursor(Date postedAt, UUID entryId) {
+
+    /**
+     * Encodes the position just after the given entry.
+     *
+     * @param entry the last entry of a page
+     * @return the cursor token
+     */
+    static String encode(HistoryEntry entry) {
+        String position = entry.postedAt().getTime() + ":" + entry.entryId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token the cursor token
+     * @return the history cursor
+     */
+    static HistoryCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            return new HistoryCursor(new Date(Long.parseLong(position.substring(0, separator))),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Writes monthly statements for every account to local files.
+ * <p>
+ * Account ids are read in primary key pages and handed to a pool of {@code banking.statement.workers}
+ * threads. Each worker streams one account's postings for the month from the journal and writes them as
+ * CSV through a {@link FileChannel} into {@code <directory>/<yyyy-MM>/<accountId>.csv}.
+ * <p>
+ * A statement is first written to a {@code .part} file and then renamed into place, so a finished file is
+ * always complete. Finished files are the run's checkpoints: a run restarted after a crash skips every
+ * account whose statement already exists. A {@code _COMPLETED} marker is written once every account of the
+ * month succeeded, and later runs for that month return immediately. An interrupted run stops reading
+ * accounts, counts the ones it queued but never started as failed, and writes no marker.
+ */
+@Service
+public class StatementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementService.class);
+
+    private static final String COMPLETED_MARKER = "_COMPLETED";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final AccountRepository accountRepository;
+
+    private final JournalEntryRepository journalEntryRepository;
+
+    private final TransactionTemplate readTemplate;
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final int workers;
+
+    private final int pageSize;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter written;
+
+    private final Counter skipped;
+
+    private final Counter failed;
+
+    private final Counter entries;
+
+    private final Counter bytes;
+
+    private final Timer accountTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Instantiates a new Statement service.
+     *
+     * @param accountRepository      the account repository
+     * @param journalEntryRepository the journal entry repository
+     * @param transactionManager     the transaction manager
+     * @param meterRegistry          the meter registry
+     * @param enabled                whether statements are written on the schedule
+     * @param directory              the directory statements are written under
+     * @param workers                the number of accounts written in parallel
+     * @param pageSize               the number of account ids read per query
+     */
+    public StatementService(AccountRepository accountRepository,
+                            JournalEntryRepository journalEntryRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${banking.statement.enabled:false}") boolean enabled,
+                            @Value("${banking.statement.directory:statements}") String directory,
+                            @Value("${banking.statement.workers:8}") int workers,
+                            @Value("${banking.statement.page-size:1000}") int pageSize) {
+        this.accountRepository = accountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.workers = Math.max(1, workers);
+        this.pageSize = Math.max(1, pageSize);
+        this.written = statementCounter(meterRegistry, "written");
+        this.skipped = statementCounter(meterRegistry, "skipped");
+        this.failed = statementCounter(meterRegistry, "failed");
+        this.entries = Counter.builder("banking.statement.entries")
+                .description("Journal entries written to statements")
+                .register(meterRegistry);
+        this.bytes = Counter.builder("banking.statement.bytes")
+                .description("Bytes written to statement files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.accountTimer = Timer.builder("banking.statement.account.duration")
+                .description("Time to write one account's statement")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The outcome of a statement run.
+     *
+     * @param month   the statement month
+     * @param written the statements written by this run
+     * @param skipped the statements already written by an earlier run
+     * @param failed  the statements that could not be written; a later run retries them
+     */
+    public record StatementRun(YearMonth month, long written, long skipped, long failed) {
+    }
+
+    /**
+     * Writes last month's statements on the schedule in {@code banking.statement.cron}.
+     */
+    @Scheduled(cron = "${banking.statement.cron:0 0 1 1 * *}")
+    public void generateLastMonth() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            generate(YearMonth.now(zone).minusMonths(1));
+        } catch (ResponseStatusException e) {
+            logger.warn("Scheduled statement run skipped: {}", e.getReason());
+        }
+    }
+
+    /**
+     * Writes the statements of every account for the month, skipping those already written.
+     *
+     * @param month the statement month
+     * @return the run outcome
+     */
+    public StatementRun generate(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A statement run is already in progress");
+        }
+        try {
+            return run(month);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Starts writing the month's statements in the background.
+     *
+     * @param month the statement month
+     */
+    public void generateAsync(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A statement run is already in progress");
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                run(month);
+            } catch (RuntimeException e) {
+                logger.error("Statement run for {} failed", month, e);
+            } finally {
+                running.set(false);
+            }
+        }, "statement-run-" + month);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private StatementRun run(YearMonth month) {
+        Path monthDirectory = directory.resolve(month.toString());
+        if (Files.exists(monthDirectory.resolve(COMPLETED_MARKER))) {
+            logger.info("Statements for {} were already generated", month);
+            return new StatementRun(month, 0, 0, 0);
+        }
+        try {
+            Files.createDirectories(monthDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create statement directory " + monthDirectory, e);
+        }
+        Date from = Date.from(month.atDay(1).atStartOfDay(zone).toInstant());
+        Date to = Date.from(month.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant());
+        logger.info("Statement run started: month={}, workers={}, directory={}", month, workers, monthDirectory);
+
+        AtomicLong runWritten = new AtomicLong();
+        AtomicLong runSkipped = new AtomicLong();
+        AtomicLong runFailed = new AtomicLong();
+        AtomicInteger threads = new AtomicInteger();
+        // A bounded queue keeps the id reader at most a few accounts ahead of the workers; when it is full
+        // the reader writes a statement itself
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "statement-writer-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        long started = System.nanoTime();
+        try {
+            UUID after = new UUID(0, 0);
+            List<UUID> page;
+            do {
+                page = accountRepository.findIdsAfter(after, PageRequest.of(0, pageSize));
+                for (UUID accountId : page) {
+                    pool.execute(() -> {
+                        switch (writeStatement(accountId, monthDirectory, from, to)) {
+                            case WRITTEN -> runWritten.incrementAndGet();
+                            case SKIPPED -> runSkipped.incrementAndGet();
+                            case FAILED -> runFailed.incrementAndGet();
+                        }
+                    });
+                }
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1);
+                }
+            } while (page.size() == pageSize && !Thread.currentThread().isInterrupted());
+        } finally {
+            pool.shutdown();
+            int dropped = awaitTermination(pool);
+            runFailed.addAndGet(dropped);
+            failed.increment(dropped);
+        }
+
+        StatementRun result = new StatementRun(month, runWritten.get(), runSkipped.get(), runFailed.get());
+        if (Thread.currentThread().isInterrupted()) {
+            logger.warn("Statement run for {} interrupted; later accounts were not written", month);
+        } else if (result.failed() == 0) {
+            try {
+                Files.writeString(monthDirectory.resolve(COMPLETED_MARKER), Instant.now().toString());
+            } catch (IOException e) {
+                logger.warn("Could not write statement completion marker for {}: {}", month, e.getMessage());
+            }
+        }
+        double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+        logger.info("Statement run finished: month={}, written={}, skipped={}, failed={}, accountsPerSecond={}",
+                month, result.written(), result.skipped(), result.failed(),
+                String.format("%.1f", result.written() / seconds));
+        return result;
+    }
+
+    private Outcome writeStatement(UUID accountId, Path monthDirectory, Date from, Date to) {
+        Path target = monthDirectory.resolve(accountId + ".csv");
+        if (Files.exists(target)) {
+            skipped.increment();
+            return Outcome.SKIPPED;
+        }
+        Path part = monthDirectory.resolve(accountId + ".csv.part");
+        long start = System.nanoTime();
+        try {
+            readTemplate.executeWithoutResult(status -> {
+                try (StatementFile file = new StatementFile(part);
+                     Stream<JournalEntry> stream = journalEntryRepository.streamByAccountIdAndPeriod(accountId, from, to)) {
+                    file.write(TransactionExportService.CSV_HEADER);
+                    Iterator<JournalEntry> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        JournalEntry entry = iterator.next();
+                        file.write(TransactionExportService.csvRow(entry));
+                        entityManager.detach(entry);
+                        entries.increment();
+                    }
+                    file.force();
+                    bytes.increment(file.size());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            written.increment();
+            return Outcome.WRITTEN;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Statement of account {} could not be written: {}", accountId, e.getMessage());
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // Overwritten by the next run
+            }
+            failed.increment();
+            return Outcome.FAILED;
+        } finally {
+            accountTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Waits for the queued statements. If interrupted, stops the workers and keeps the thread interrupted.
+     *
+     * @return the number of queued accounts that were never started
+     */
+    private static int awaitTermination(ThreadPoolExecutor pool) {
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.info("Statement run in progress: {} accounts completed", pool.getCompletedTaskCount());
+            }
+            return 0;
+        } catch (InterruptedException e) {
+            List<Runnable> dropped = pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            return dropped.size();
+        }
+    }
+
+    private static Counter statementCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("banking.statement.accounts")
+                .description("Account statements processed, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private enum Outcome {
+        WRITTEN, SKIPPED, FAILED
+    }
+
+    /**
+     * A statement file written through a {@link FileChannel}. Text is encoded into one reusable buffer
+     * that is written to the channel whenever it fills.
+     */
+    private static final class StatementFile implements Closeable {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        private StatementFile(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private void write(String text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, true);
+                if (result.isUnderflow()) {
+                    return;
+                }
+                if (result.isOverflow()) {
+                    drain();
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        private void force() throws IOException {
+            drain();
+            channel.force(false);
+        }
+
+        private long size() throws IOException {
+            return channel.size();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
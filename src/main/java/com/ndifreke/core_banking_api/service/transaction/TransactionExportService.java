@@ -0,0 +1,236 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import com.ndifreke.core_banking_api.service.transaction.archive.ArchiveService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Exports an account's full transaction history.
+ * <p>
+ * Archived entries are written first, one archive segment at a time. The rest are read from a JPA stream
+ * that the driver fills row by row and written to the response one by one, each detached from the
+ * persistence context once written, so memory use does not depend on the size of the history.
+ * <p>
+ * Cells are written so a spreadsheet opening the CSV never evaluates one as a formula.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportService.class);
+
+    static final String CSV_HEADER = "postingId,transactionType,entrySide,amount,counterpartyAccountId,"
+            + "description,postedAt,balanceAfter,accountSequence\n";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Leading characters that make a spreadsheet evaluate a cell.
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The export formats.
+     */
+    public enum Format {
+        /**
+         * One JSON object per line.
+         */
+        NDJSON("application/x-ndjson", "ndjson"),
+        /**
+         * Comma separated values with a header row.
+         */
+        CSV("text/csv", "csv");
+
+        private final MediaType mediaType;
+
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        /**
+         * Gets media type.
+         *
+         * @return the media type
+         */
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Gets file extension.
+         *
+         * @return the file extension
+         */
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parses a format name, case-insensitively.
+         *
+         * @param name the format name
+         * @return the format
+         */
+        public static Format from(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format must be ndjson or csv");
+        }
+    }
+
+    /**
+     * Checks the user may export the account. Call before the response is committed; the export itself
+     * runs after the status has been sent.
+     *
+     * @param accountId           the account id
+     * @param authenticatedUserId the authenticated user id
+     */
+    public void checkAccess(UUID accountId, UUID authenticatedUserId) {
+        accountService.validateAccountOwnership(accountId, authenticatedUserId);
+    }
+
+    /**
+     * Writes every entry of the account, oldest first.
+     *
+     * @param accountId the account id
+     * @param format    the format
+     * @param out       the output stream; flushed but not closed
+     * @return the number of entries written
+     * @throws IOException if writing fails, for example because the client disconnected
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID accountId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        long rows = 0;
+        if (archiveService.getCutoff() != null) {
+            // Archived entries are all older than the rows the database still owns
+            Iterator<JournalEntry> archived = archiveService.archived(accountId);
+            while (archived.hasNext()) {
+                write(writer, format, archived.next());
+                rows++;
+            }
+        }
+        try (Stream<JournalEntry> entries = journalEntryRepository.streamByAccountId(accountId)) {
+            Iterator<JournalEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                JournalEntry entry = iterator.next();
+                if (!archiveService.isArchived(entry.getPostedAt())) {
+                    write(writer, format, entry);
+                    rows++;
+                }
+                entityManager.detach(entry);
+            }
+        }
+        writer.flush();
+        logger.info("Transaction history exported: accountId={}, format={}, rows={}", accountId, format, rows);
+        return rows;
+    }
+
+    private void write(Writer writer, Format format, JournalEntry entry) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(csvRow(entry));
+        } else {
+            writer.write(objectMapper.writeValueAsString(ExportRow.of(entry)));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Formats one entry as a CSV line, including the line break.
+     */
+    static String csvRow(JournalEntry entry) {
+        ExportRow row = ExportRow.of(entry);
+        return csv(row.postingId()) + ','
+                + csv(row.transactionType()) + ','
+                + csv(row.entrySide()) + ','
+                + csv(row.amount()) + ','
+                + csv(row.counterpartyAccountId()) + ','
+                + csv(row.description()) + ','
+                + csv(row.postedAt()) + ','
+                + csv(row.balanceAfter()) + ','
+                + csv(row.accountSequence()) + '\n';
+    }
+
+    /**
+     * Formats a CSV field, quoting it when it contains a separator, quote or line break. Text starting
+     * with a character a spreadsheet reads as the start of a formula is prefixed with an apostrophe;
+     * numbers are written as plain decimals and left as they are.
+     */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * One exported entry.
+     */
+    record ExportRow(UUID postingId, TransactionType transactionType, EntrySide entrySide, BigDecimal amount,
+                     UUID counterpartyAccountId, String description, String postedAt, BigDecimal balanceAfter,
+                     Long accountSequence) {
+
+        static ExportRow of(JournalEntry entry) {
+            return new ExportRow(entry.getPostingId(), entry.getTransactionType(), entry.getEntrySide(),
+                    entry.getAmount(), entry.getCounterpartyAccountId(), entry.getDescription(),
+                    entry.getPostedAt() != null ? entry.getPostedAt().toInstant().toString() : null,
+                    entry.getBalanceAfter(), entry.getAccountSequence());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.ndifreke.core_banking_api.service.transaction;
 
+import com.ndifreke.core_banking_api.dto.transaction.ActivitySummaryResponse;
 import com.ndifreke.core_banking_api.dto.transaction.DepositResponse;
+import com.ndifreke.core_banking_api.dto.transaction.HistoryEntry;
+import com.ndifreke.core_banking_api.dto.transaction.PostingStatusResponse;
 import com.ndifreke.core_banking_api.dto.transaction.TransactionHistoryResponse;
 import com.ndifreke.core_banking_api.dto.transaction.TransferResponse;
 import com.ndifreke.core_banking_api.dto.transaction.WithdrawalResponse;
@@ -9,31 +12,43 @@ import com.ndifreke.core_banking_api.dto.transaction.TransactionResponseInterfac
 import com.ndifreke.core_banking_api.entity.Account;
 import com.ndifreke.core_banking_api.account.AccountService;
 import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.exception.PostingRejections;
 import com.ndifreke.core_banking_api.service.notification.MailService;
-import com.ndifreke.core_banking_api.security.fraud_detection.FraudRules;
+import com.ndifreke.core_banking_api.security.fraud_detection.FraudCheck;
+import com.ndifreke.core_banking_api.security.fraud_detection.FraudRuleEngine;
+import com.ndifreke.core_banking_api.security.fraud_detection.LargeTransferRule;
 import com.ndifreke.core_banking_api.entity.transaction.Deposit;
 import com.ndifreke.core_banking_api.entity.transaction.Transfer;
 import com.ndifreke.core_banking_api.entity.transaction.Withdrawal;
-import com.ndifreke.core_banking_api.repository.DepositRepository;
-import com.ndifreke.core_banking_api.repository.TransferRepository;
-import com.ndifreke.core_banking_api.repository.WithdrawalRepository;
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.transaction.PostingStatus;
+import com.ndifreke.core_banking_api.repository.PostingStatusRepository;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import com.ndifreke.core_banking_api.service.transaction.activity.RecentActivityService;
+import com.ndifreke.core_banking_api.service.transaction.archive.ArchiveService;
+import com.ndifreke.core_banking_api.service.transaction.idempotency.IdempotencyService;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
 import com.ndifreke.core_banking_api.entity.User;
 import com.ndifreke.core_banking_api.repository.UserRepository;
+import com.ndifreke.core_banking_api.service.transaction.posting.GroupCommitExecutor;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingLaneExecutor;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingRetryExecutor;
+import com.ndifreke.core_banking_api.transaction.events.service.TransactionEventService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The type Transaction service.
@@ -47,23 +62,53 @@ public class TransactionService {
     private AccountService accountService;
 
     @Autowired
-    private DepositRepository depositRepository;
+    private JournalService journalService;
 
     @Autowired
-    private WithdrawalRepository withdrawalRepository;
-
-    @Autowired
-    private TransferRepository transferRepository;
+    private JournalEntryRepository journalEntryRepository;
 
     @Autowired
     private MailService mailService;
 
     @Autowired
-    private CacheManager cacheManager;
+    private FraudRuleEngine fraudRuleEngine;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PostingLaneExecutor postingLaneExecutor;
+
+    @Autowired
+    private PostingRetryExecutor postingRetryExecutor;
+
+    @Autowired
+    private GroupCommitExecutor groupCommitExecutor;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionEventService transactionEventService;
+
+    @Autowired
+    private PostingStatusRepository postingStatusRepository;
+
+    @Autowired
+    private RecentActivityService recentActivityService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Value("${banking.posting.async.enabled:false}")
+    private boolean asyncPostingEnabled;
+
+    @Value("${banking.history.default-page-size:50}")
+    private int defaultHistoryPageSize;
+
+    @Value("${banking.history.max-page-size:500}")
+    private int maxHistoryPageSize;
+
     /**
      * Transfer funds transfer response.
      *
@@ -74,12 +119,267 @@ public class TransactionService {
      * @param authenticatedUserId the authenticated user id
      * @return the transfer response
      */
-    @Transactional
     public TransferResponse transferFunds(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description, UUID authenticatedUserId) {
-        validateAmount(amount, "transfer");
         logger.info("Transfer request: fromAccountId={}, toAccountId={}, amount={}, description={}, authenticatedUserId={}",
                 fromAccountId, toAccountId, amount, description, authenticatedUserId);
+        TransferAccounts accounts = checkTransfer(fromAccountId, toAccountId, amount, authenticatedUserId);
+
+        Transfer transfer;
+        try {
+            transfer = submitTransfer(fromAccountId, toAccountId,
+                    () -> postTransfer(fromAccountId, toAccountId, amount, description));
+        } catch (RuntimeException e) {
+            fraudRuleEngine.release(accounts.fraudCheck());
+            throw e;
+        }
+
+        sendTransferEmails(accounts.from(), accounts.to(), amount, description);
+
+        logger.info("Transfer successful: fromAccountId={}, toAccountId={}, amount={}, description={}",
+                fromAccountId, toAccountId, amount, description);
+        return convertToTransferResponse(transfer);
+    }
+
+    /**
+     * Validates a transfer and queues it for the consumers to post.
+     *
+     * @param fromAccountId       the from account id
+     * @param toAccountId         the to account id
+     * @param amount              the amount
+     * @param description         the description
+     * @param authenticatedUserId the authenticated user id
+     * @return the pending posting
+     */
+    public PostingStatusResponse transferFundsAsync(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description, UUID authenticatedUserId) {
+        logger.info("Async transfer request: fromAccountId={}, toAccountId={}, amount={}, description={}, authenticatedUserId={}",
+                fromAccountId, toAccountId, amount, description, authenticatedUserId);
+        TransferAccounts accounts = checkTransfer(fromAccountId, toAccountId, amount, authenticatedUserId);
+
+        PostingStatus posting;
+        try {
+            posting = transactionEventService.publishTransfer(fromAccountId, toAccountId, amount, description,
+                    authenticatedUserId);
+        } catch (RuntimeException e) {
+            fraudRuleEngine.release(accounts.fraudCheck());
+            throw e;
+        }
+        return convertToPostingStatusResponse(posting);
+    }
+
+    /**
+     * Deposit funds deposit response.
+     *
+     * @param accountId           the account id
+     * @param amount              the amount
+     * @param authenticatedUserId the authenticated user id
+     * @return the deposit response
+     */
+    public DepositResponse depositFunds(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        logger.info("Deposit request: accountId={}, amount={}, authenticatedUserId={}",
+                accountId, amount, authenticatedUserId);
+        Account account = checkDeposit(accountId, amount, authenticatedUserId);
+
+        Deposit deposit = submit(accountId, "deposit", () -> postDeposit(accountId, amount));
+
+        sendDepositEmail(account, amount);
+
+        logger.info("Deposit successful: accountId={}, amount={}", accountId, amount);
+        return convertToDepositResponse(deposit);
+    }
+
+    /**
+     * Validates a deposit and queues it for the consumers to post.
+     *
+     * @param accountId           the account id
+     * @param amount              the amount
+     * @param authenticatedUserId the authenticated user id
+     * @return the pending posting
+     */
+    public PostingStatusResponse depositFundsAsync(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        logger.info("Async deposit request: accountId={}, amount={}, authenticatedUserId={}",
+                accountId, amount, authenticatedUserId);
+        checkDeposit(accountId, amount, authenticatedUserId);
+
+        return convertToPostingStatusResponse(
+                transactionEventService.publishDeposit(accountId, amount, authenticatedUserId));
+    }
+
+    /**
+     * Withdraw funds withdrawal response.
+     *
+     * @param accountId           the account id
+     * @param amount              the amount
+     * @param authenticatedUserId the authenticated user id
+     * @return the withdrawal response
+     */
+    public WithdrawalResponse withdrawFunds(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        logger.info("Withdrawal request: accountId={}, amount={}, authenticatedUserId={}",
+                accountId, amount, authenticatedUserId);
+        Account account = checkWithdrawal(accountId, amount, authenticatedUserId);
+
+        Withdrawal withdrawal = submit(accountId, "withdrawal", () -> postWithdrawal(accountId, amount));
+
+        sendWithdrawalEmail(account, amount);
+
+        logger.info("Withdrawal successful: accountId={}, amount={}", accountId, amount);
+        return convertToWithdrawalResponse(withdrawal);
+    }
+
+    /**
+     * Validates a withdrawal and queues it for the consumers to post.
+     *
+     * @param accountId           the account id
+     * @param amount              the amount
+     * @param authenticatedUserId the authenticated user id
+     * @return the pending posting
+     */
+    public PostingStatusResponse withdrawFundsAsync(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        logger.info("Async withdrawal request: accountId={}, amount={}, authenticatedUserId={}",
+                accountId, amount, authenticatedUserId);
+        checkWithdrawal(accountId, amount, authenticatedUserId);
+
+        return convertToPostingStatusResponse(
+                transactionEventService.publishWithdrawal(accountId, amount, authenticatedUserId));
+    }
+
+    /**
+     * Whether postings can be accepted asynchronously.
+     *
+     * @return true if asynchronous posting is enabled
+     */
+    public boolean isAsyncPostingEnabled() {
+        return asyncPostingEnabled;
+    }
+
+    /**
+     * Gets the state of a posting accepted asynchronously.
+     *
+     * @param postingId           the posting id
+     * @param authenticatedUserId the authenticated user id
+     * @return the posting status
+     */
+    public PostingStatusResponse getPostingStatus(UUID postingId, UUID authenticatedUserId) {
+        // Someone else's posting is reported as missing so posting ids cannot be probed
+        PostingStatus posting = postingStatusRepository.findById(postingId)
+                .filter(status -> status.getUserId().equals(authenticatedUserId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Posting not found"));
+        return convertToPostingStatusResponse(posting);
+    }
+
+    /**
+     * Posts a queued transfer. Called by the transfer consumer; a redelivered event is skipped.
+     *
+     * @param postingId     the posting id
+     * @param fromAccountId the from account id
+     * @param toAccountId   the to account id
+     * @param amount        the amount
+     * @param description   the description
+     * @return true if the transfer was posted by this call
+     */
+    public boolean applyQueuedTransfer(UUID postingId, UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description) {
+        Transfer transfer;
+        try {
+            transfer = submitTransfer(fromAccountId, toAccountId, () -> {
+                if (!claimPosting(postingId)) {
+                    return null;
+                }
+                Transfer posted = postTransfer(fromAccountId, toAccountId, amount, description);
+                postingStatusRepository.setTransactionId(postingId, posted.getTransactionId());
+                return posted;
+            });
+        } catch (RuntimeException e) {
+            rejectPosting(postingId, e);
+            return false;
+        }
+        if (transfer == null) {
+            logger.info("Posting {} was already processed, skipping", postingId);
+            return false;
+        }
 
+        Account fromAccount = accountService.findAccountById(fromAccountId).orElse(null);
+        Account toAccount = accountService.findAccountById(toAccountId).orElse(null);
+        if (fromAccount != null && toAccount != null) {
+            sendTransferEmails(fromAccount, toAccount, amount, description);
+        }
+        logger.info("Queued transfer posted: postingId={}, transactionId={}", postingId, transfer.getTransactionId());
+        return true;
+    }
+
+    /**
+     * Posts a queued deposit. Called by the deposit consumer; a redelivered event is skipped.
+     *
+     * @param postingId the posting id
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return true if the deposit was posted by this call
+     */
+    public boolean applyQueuedDeposit(UUID postingId, UUID accountId, BigDecimal amount) {
+        Deposit deposit;
+        try {
+            deposit = submit(accountId, "deposit", () -> {
+                if (!claimPosting(postingId)) {
+                    return null;
+                }
+                Deposit posted = postDeposit(accountId, amount);
+                postingStatusRepository.setTransactionId(postingId, posted.getDepositId());
+                return posted;
+            });
+        } catch (RuntimeException e) {
+            rejectPosting(postingId, e);
+            return false;
+        }
+        if (deposit == null) {
+            logger.info("Posting {} was already processed, skipping", postingId);
+            return false;
+        }
+
+        accountService.findAccountById(accountId).ifPresent(account -> sendDepositEmail(account, amount));
+        logger.info("Queued deposit posted: postingId={}, depositId={}", postingId, deposit.getDepositId());
+        return true;
+    }
+
+    /**
+     * Posts a queued withdrawal. Called by the withdrawal consumer; a redelivered event is skipped.
+     *
+     * @param postingId the posting id
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return true if the withdrawal was posted by this call
+     */
+    public boolean applyQueuedWithdrawal(UUID postingId, UUID accountId, BigDecimal amount) {
+        Withdrawal withdrawal;
+        try {
+            withdrawal = submit(accountId, "withdrawal", () -> {
+                if (!claimPosting(postingId)) {
+                    return null;
+                }
+                Withdrawal posted = postWithdrawal(accountId, amount);
+                postingStatusRepository.setTransactionId(postingId, posted.getWithdrawalId());
+                return posted;
+            });
+        } catch (RuntimeException e) {
+            rejectPosting(postingId, e);
+            return false;
+        }
+        if (withdrawal == null) {
+            logger.info("Posting {} was already processed, skipping", postingId);
+            return false;
+        }
+
+        accountService.findAccountById(accountId).ifPresent(account -> sendWithdrawalEmail(account, amount));
+        logger.info("Queued withdrawal posted: postingId={}, withdrawalId={}", postingId, withdrawal.getWithdrawalId());
+        return true;
+    }
+
+    /**
+     * Checks a transfer before it is posted or queued: amount, ownership, destination, funds and fraud.
+     * Passing the fraud rules records the transfer in the source account's velocity window; release
+     * the returned fraud check if the transfer is then not posted.
+     *
+     * @return the source and destination accounts
+     */
+    private TransferAccounts checkTransfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, UUID authenticatedUserId) {
+        validateAmount(amount, "transfer");
         Account fromAccount = accountService.getAccountById(fromAccountId, authenticatedUserId);
         Account toAccount = accountService.findAccountById(toAccountId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Destination account not found"));
@@ -89,48 +389,74 @@ public class TransactionService {
         }
 
         // Check for fraud
-        String fraudReason = isFraudulentTransfer(fromAccount, amount);
+        FraudCheck fraudCheck = new FraudCheck(fromAccount, toAccount, amount);
+        String fraudReason = fraudRuleEngine.evaluate(fraudCheck);
         if (fraudReason != null) {
             User fromUser = userRepository.findById(fromAccount.getUserId())
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
             // Send fraud alert email
-            if ("Large transfer amount".equals(fraudReason)) {
+            if (LargeTransferRule.REASON.equals(fraudReason)) {
                 mailService.sendFraudAlertEmail(fromUser.getEmail(), fraudReason, amount);
             } else {
                 mailService.sendFraudAlertEmail(fromUser.getEmail(), fraudReason, null);
             }
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Transaction blocked due to potential fraud: " + fraudReason);
         }
+        return new TransferAccounts(fromAccount, toAccount, fraudCheck);
+    }
 
+    /**
+     * Checks a deposit before it is posted or queued.
+     *
+     * @return the account
+     */
+    private Account checkDeposit(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        validateAmount(amount, "deposit");
+        return accountService.getAccountById(accountId, authenticatedUserId);
+    }
 
-        BigDecimal newFromBalance = fromAccount.getBalance().subtract(amount);
-        BigDecimal newToBalance = toAccount.getBalance().add(amount);
+    /**
+     * Checks a withdrawal before it is posted or queued.
+     *
+     * @return the account
+     */
+    private Account checkWithdrawal(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        validateAmount(amount, "withdrawal");
+        Account account = accountService.getAccountById(accountId, authenticatedUserId);
+        if (account.getBalance().compareTo(amount) < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient funds");
+        }
+        return account;
+    }
 
-        fromAccount.setBalance(newFromBalance);
-        toAccount.setBalance(newToBalance);
+    private record TransferAccounts(Account from, Account to, FraudCheck fraudCheck) {
+    }
 
-        accountService.updateAccount(fromAccount, authenticatedUserId);
-        accountService.updateToAccount(toAccount);
+    /**
+     * Moves a queued posting out of PENDING inside the posting transaction.
+     *
+     * @return false if the posting was already applied or rejected
+     */
+    private boolean claimPosting(UUID postingId) {
+        return postingStatusRepository.claimPending(postingId, LocalDateTime.now()) == 1;
+    }
 
-        Transfer transfer = new Transfer();
-        transfer.setFromAccountId(fromAccountId);
-        transfer.setToAccountId(toAccountId);
-        transfer.setAmount(amount);
-        transfer.setTransactionDate(new Date());
-        transfer.setTransactionType(TransactionType.TRANSFER);
-        transfer.setDescription(description);
-        transferRepository.save(transfer);
-
-        Cache cache = cacheManager.getCache("transactionTimestamps");
-        if (cache != null) {
-            Cache.ValueWrapper wrapper = cache.get(fromAccount.getAccountNumber());
-            List<LocalDateTime> timestamps = (wrapper != null) ? (List<LocalDateTime>) wrapper.get() : new ArrayList<>();
-            assert timestamps != null;
-            timestamps.add(LocalDateTime.now());
-            cache.put(fromAccount.getAccountNumber(), timestamps);
+    /**
+     * Records why a queued posting could not be applied, such as funds or an account gone since it was
+     * accepted. Transient failures (busy account, retries exhausted) and unexpected errors are rethrown
+     * instead, leaving the posting pending so the consumer redelivers it.
+     */
+    private void rejectPosting(UUID postingId, RuntimeException e) {
+        ResponseStatusException status = PostingRejections.toStatus(e);
+        if (status == null || status.getStatusCode().is5xxServerError()
+                || status.getStatusCode().value() == HttpStatus.CONFLICT.value()) {
+            throw e;
         }
+        postingStatusRepository.rejectPending(postingId, status.getReason(), LocalDateTime.now());
+        logger.warn("Queued posting rejected: postingId={}, reason={}", postingId, status.getReason());
+    }
 
-        // Send success emails
+    private void sendTransferEmails(Account fromAccount, Account toAccount, BigDecimal amount, String description) {
         User fromUser = userRepository.findById(fromAccount.getUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sender user not found"));
         User toUser = userRepository.findById(toAccount.getUserId())
@@ -140,129 +466,261 @@ public class TransactionService {
                 fromAccount.getAccountNumber(), toAccount.getAccountNumber(), description);
         mailService.sendTransferCreditEmail(toUser.getEmail(), toUser.getFirstName(), amount,
                 toAccount.getAccountNumber(), fromAccount.getAccountNumber(), description);
+    }
 
-        logger.info("Transfer successful: fromAccountId={}, toAccountId={}, amount={}, description={}",
-                fromAccountId, toAccountId, amount, description);
-        return convertToTransferResponse(transfer);
+    private void sendDepositEmail(Account account, BigDecimal amount) {
+        User user = userRepository.findById(account.getUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        mailService.sendDepositEmail(user.getEmail(), user.getFirstName(), amount, account.getAccountNumber());
     }
 
+    private void sendWithdrawalEmail(Account account, BigDecimal amount) {
+        User user = userRepository.findById(account.getUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        mailService.sendWithdrawalEmail(user.getEmail(), user.getFirstName(), amount, account.getAccountNumber());
+    }
     /**
-     * Deposit funds deposit response.
-     *
-     * @param accountId           the account id
-     * @param amount              the amount
-     * @param authenticatedUserId the authenticated user id
-     * @return the deposit response
+     * Runs a single-account posting. With group commit enabled it shares a commit with other concurrent
+     * postings; otherwise each attempt runs in its own transaction on the account's lane and the retry
+     * backoff happens off the lane. The posting is fenced by the Idempotency-Key being served, if any.
      */
-    @Transactional
-    public DepositResponse depositFunds(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
-        validateAmount(amount, "deposit");
-        logger.info("Deposit request: accountId={}, amount={}, authenticatedUserId={}",
-                accountId, amount, authenticatedUserId);
+    private <T> T submit(UUID accountId, String endpoint, Supplier<T> unfenced) {
+        Supplier<T> posting = idempotencyService.fenced(unfenced);
+        if (groupCommitExecutor.isEnabled()) {
+            return groupCommitExecutor.execute(endpoint, posting);
+        }
+        return postingRetryExecutor.execute(endpoint, posting,
+                attempt -> postingLaneExecutor.execute(accountId, attempt));
+    }
 
-        Account account = accountService.getAccountById(accountId, authenticatedUserId);
+    /**
+     * Runs a transfer posting, group committed or in its own transaction with both account lanes held.
+     */
+    private <T> T submitTransfer(UUID fromAccountId, UUID toAccountId, Supplier<T> unfenced) {
+        Supplier<T> posting = idempotencyService.fenced(unfenced);
+        if (groupCommitExecutor.isEnabled()) {
+            return groupCommitExecutor.execute("transfer", posting);
+        }
+        return postingRetryExecutor.execute("transfer", posting,
+                attempt -> postingLaneExecutor.executeTransfer(fromAccountId, toAccountId, attempt));
+    }
 
-        BigDecimal newBalance = account.getBalance().add(amount);
-        account.setBalance(newBalance);
+    /**
+     * Posts a transfer.
+     * The debit is a conditional single-statement update, so the funds check and the balance change
+     * happen atomically in the database, and both rows are updated in canonical accountId order.
+     */
+    private Transfer postTransfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description) {
+        accountService.transferBetweenAccounts(fromAccountId, toAccountId, amount);
 
-        accountService.updateAccount(account, authenticatedUserId);
+        Transfer transfer = new Transfer();
+        transfer.setFromAccountId(fromAccountId);
+        transfer.setToAccountId(toAccountId);
+        transfer.setAmount(amount);
+        transfer.setTransactionDate(new Date());
+        transfer.setTransactionType(TransactionType.TRANSFER);
+        transfer.setDescription(description);
+        return journalService.record(transfer);
+    }
+
+    /**
+     * Posts a deposit.
+     */
+    private Deposit postDeposit(UUID accountId, BigDecimal amount) {
+        accountService.depositToAccount(accountId, amount);
 
         Deposit deposit = new Deposit();
         deposit.setAccountId(accountId);
         deposit.setAmount(amount);
         deposit.setTransactionDate(new Date());
         deposit.setTransactionType(TransactionType.DEPOSIT);
-        depositRepository.save(deposit);
+        return journalService.record(deposit);
+    }
 
-        // Send Email Notification
-        User user = userRepository.findById(account.getUserId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        mailService.sendDepositEmail(user.getEmail(), user.getFirstName(), amount, account.getAccountNumber());
+    /**
+     * Posts a withdrawal.
+     */
+    private Withdrawal postWithdrawal(UUID accountId, BigDecimal amount) {
+        accountService.withdrawFromAccount(accountId, amount);
 
-        logger.info("Deposit successful: accountId={}, amount={}", accountId, amount);
-        return convertToDepositResponse(deposit);
+        Withdrawal withdrawal = new Withdrawal();
+        withdrawal.setAccountId(accountId);
+        withdrawal.setAmount(amount);
+        withdrawal.setTransactionType(TransactionType.WITHDRAWAL);
+        return journalService.record(withdrawal);
     }
 
     /**
-     * Withdraw funds withdrawal response.
+     * Gets one page of transaction history, newest first.
      *
      * @param accountId           the account id
-     * @param amount              the amount
+     * @param cursor              the nextCursor of the previous page, or null for the first page
+     * @param limit               the page size, or null for the default
      * @param authenticatedUserId the authenticated user id
-     * @return the withdrawal response
+     * @return the transaction history
      */
-    @Transactional
-    public WithdrawalResponse withdrawFunds(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
-        validateAmount(amount, "withdrawal");
-        logger.info("Withdrawal request: accountId={}, amount={}, authenticatedUserId={}",
-                accountId, amount, authenticatedUserId);
-
-        Account account = accountService.getAccountById(accountId, authenticatedUserId);
+    public TransactionHistoryResponse getTransactionHistory(UUID accountId, String cursor, Integer limit, UUID authenticatedUserId) {
+        accountService.validateAccountOwnership(accountId, authenticatedUserId);
+        int pageSize = resolvePageSize(limit);
 
-        if (account.getBalance().compareTo(amount) < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient funds");
+        List<HistoryEntry> entries;
+        if (cursor == null || cursor.isBlank()) {
+            Optional<RecentActivityService.RecentPage> recent = recentActivityService.firstPage(accountId, pageSize);
+            if (recent.isPresent()) {
+                return toHistoryResponse(recent.get().entries(), recent.get().hasMore());
+            }
+            entries = readFirstPage(accountId, pageSize);
+        } else {
+            // One extra row tells whether another page follows without a count query
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            entries = withArchived(accountId, journalEntryRepository.findHistoryAfter(accountId, position.postedAt(),
+                    position.entryId(), PageRequest.of(0, pageSize + 1)), pageSize + 1, position);
         }
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+        return toHistoryResponse(entries, hasMore);
+    }
 
-        BigDecimal newBalance = account.getBalance().subtract(amount);
-        account.setBalance(newBalance);
-
-        accountService.updateAccount(account, authenticatedUserId);
-
-        Withdrawal withdrawal = new Withdrawal();
-        withdrawal.setAccountId(accountId);
-        withdrawal.setAmount(amount);
-        withdrawal.setTransactionType(TransactionType.WITHDRAWAL);
-        withdrawalRepository.save(withdrawal);
+    /**
+     * Reads the newest entries from the database and reloads the recent activity read model with them.
+     * When the read model is in use, enough rows are read to fill it even if the page is smaller.
+     */
+    private List<HistoryEntry> readFirstPage(UUID accountId, int pageSize) {
+        if (!recentActivityService.canServe(pageSize)) {
+            return withArchived(accountId, journalEntryRepository.findHistory(accountId, PageRequest.of(0, pageSize + 1)),
+                    pageSize + 1, null);
+        }
+        int rows = recentActivityService.getCapacity() + 1;
+        List<HistoryEntry> entries = withArchived(accountId,
+                journalEntryRepository.findHistory(accountId, PageRequest.of(0, rows)), rows, null);
+        recentActivityService.load(accountId, entries);
+        return entries.size() > pageSize + 1 ? entries.subList(0, pageSize + 1) : entries;
+    }
 
-        // Send Email Notification
-        User user = userRepository.findById(account.getUserId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        mailService.sendWithdrawalEmail(user.getEmail(), user.getFirstName(), amount, account.getAccountNumber());
+    /**
+     * Completes a newest-first page of database rows from the archive. Rows the archive owns are dropped,
+     * and if fewer than the wanted number remain, the page continues with archived entries, which are all
+     * older than the remaining rows.
+     */
+    private List<HistoryEntry> withArchived(UUID accountId, List<HistoryEntry> rows, int wanted, HistoryCursor position) {
+        if (archiveService.getCutoff() == null) {
+            return rows;
+        }
+        List<HistoryEntry> page = rows.stream()
+                .filter(entry -> !archiveService.isArchived(entry.postedAt()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (page.size() < wanted) {
+            archiveService.findBefore(accountId, position != null ? position.postedAt() : null,
+                            position != null ? position.entryId() : null, wanted - page.size())
+                    .forEach(entry -> page.add(HistoryEntry.of(entry)));
+        }
+        return page;
+    }
 
-        logger.info("Withdrawal successful: accountId={}, amount={}", accountId, amount);
-        return convertToWithdrawalResponse(withdrawal);
+    private TransactionHistoryResponse toHistoryResponse(List<HistoryEntry> entries, boolean hasMore) {
+        TransactionHistoryResponse response = new TransactionHistoryResponse();
+        response.setTransactions(entries.stream().map(this::convertToTransactionResponse).toList());
+        response.setNextCursor(hasMore ? HistoryCursor.encode(entries.get(entries.size() - 1)) : null);
+        return response;
     }
 
     /**
-     * Gets transaction history.
+     * Gets credit and debit totals per day, week or month, aggregated in the database.
      *
      * @param accountId           the account id
+     * @param period              day, week or month
+     * @param from                the first day of the range
+     * @param to                  the last day of the range, inclusive
      * @param authenticatedUserId the authenticated user id
-     * @return the transaction history
+     * @return the activity summary
      */
-    public TransactionHistoryResponse getTransactionHistory(UUID accountId, UUID authenticatedUserId) {
+    public ActivitySummaryResponse getActivitySummary(UUID accountId, String period, LocalDate from, LocalDate to,
+                                                      UUID authenticatedUserId) {
+        ActivitySummaryResponse.Period summaryPeriod = Arrays.stream(ActivitySummaryResponse.Period.values())
+                .filter(value -> value.name().equalsIgnoreCase(period))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Period must be day, week or month"));
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From must be on or before to");
+        }
         accountService.validateAccountOwnership(accountId, authenticatedUserId);
 
-        List<TransferResponse> transfers = transferRepository.findByFromAccountIdOrToAccountIdOrderByTransactionDateDesc(accountId, accountId).stream()
-                .map(this::convertToTransferResponse).toList();
-        List<DepositResponse> deposits = depositRepository.findByAccountIdOrderByTransactionDateDesc(accountId).stream()
-                .map(this::convertToDepositResponse).toList();
-        List<WithdrawalResponse> withdrawals = withdrawalRepository.findByAccountIdOrderByTransactionDateDesc(accountId).stream()
-                .map(this::convertToWithdrawalResponse).toList();
-
-        List<TransactionResponseInterface> transactionResponses = Stream.of(
-                        (List<TransactionResponseInterface>) (List<?>) transfers,
-                        (List<TransactionResponseInterface>) (List<?>) deposits,
-                        (List<TransactionResponseInterface>) (List<?>) withdrawals
-                )
-                .flatMap(List::stream)
-                .sorted(Comparator.comparing(this::getTransactionDate).reversed())
+        List<ActivitySummaryResponse.PeriodSummary> periods = journalEntryRepository
+                .sumByPeriod(accountId, summaryPeriod.name(), from.atStartOfDay(), to.plusDays(1).atStartOfDay())
+                .stream()
+                .map(totals -> {
+                    ActivitySummaryResponse.PeriodSummary summary = new ActivitySummaryResponse.PeriodSummary();
+                    summary.setPeriodStart(totals.getPeriodStart());
+                    summary.setTotalCredits(totals.getTotalCredits());
+                    summary.setTotalDebits(totals.getTotalDebits());
+                    summary.setCreditCount(totals.getCreditCount());
+                    summary.setDebitCount(totals.getDebitCount());
+                    summary.setNetFlow(totals.getTotalCredits().subtract(totals.getTotalDebits()));
+                    return summary;
+                })
                 .toList();
 
-        TransactionHistoryResponse response = new TransactionHistoryResponse();
-        response.setTransactions(transactionResponses);
+        ActivitySummaryResponse response = new ActivitySummaryResponse();
+        response.setAccountId(accountId);
+        response.setPeriod(summaryPeriod);
+        response.setFrom(from);
+        response.setTo(to);
+        response.setPeriods(periods);
         return response;
     }
 
-    private Date getTransactionDate(TransactionResponseInterface transaction) {
-        if (transaction instanceof TransferResponse transfer) {
-            return transfer.getTransactionDate();
-        } else if (transaction instanceof DepositResponse deposit) {
-            return deposit.getTransactionDate();
-        } else if (transaction instanceof WithdrawalResponse withdrawal) {
-            return withdrawal.getTransactionDate();
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultHistoryPageSize;
+        }
+        if (limit < 1 || limit > maxHistoryPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + maxHistoryPageSize);
+        }
+        return limit;
+    }
+
+    /**
+     * Converts the account's side of a journal posting to the response type of that posting.
+     *
+     * @param entry the history entry
+     * @return the transaction response
+     */
+    TransactionResponseInterface convertToTransactionResponse(HistoryEntry entry) {
+        switch (entry.transactionType()) {
+            case DEPOSIT -> {
+                DepositResponse response = new DepositResponse();
+                response.setDepositId(entry.postingId());
+                response.setAccountId(entry.accountId());
+                response.setAmount(entry.amount());
+                response.setTransactionDate(entry.postedAt());
+                response.setTransactionType(TransactionType.DEPOSIT);
+                return response;
+            }
+            case WITHDRAWAL -> {
+                WithdrawalResponse response = new WithdrawalResponse();
+                response.setWithdrawalId(entry.postingId());
+                response.setAccountId(entry.accountId());
+                response.setAmount(entry.amount());
+                response.setTransactionDate(entry.postedAt());
+                response.setTransactionType(TransactionType.WITHDRAWAL);
+                return response;
+            }
+            default -> {
+                boolean debit = entry.entrySide() == EntrySide.DEBIT;
+                TransferResponse response = new TransferResponse();
+                response.setTransactionId(entry.postingId());
+                response.setFromAccountId(debit ? entry.accountId() : entry.counterpartyAccountId());
+                response.setToAccountId(debit ? entry.counterpartyAccountId() : entry.accountId());
+                response.setAmount(entry.amount());
+                response.setTransactionDate(entry.postedAt());
+                response.setTransactionType(TransactionType.TRANSFER);
+                response.setDescription(entry.description());
+                return response;
+            }
         }
-        return null;
     }
 
     private void validateAmount(BigDecimal amount, String operation) {
@@ -324,47 +782,21 @@ public class TransactionService {
         return response;
     }
 
-    private String isFraudulentTransfer(Account fromAccount, BigDecimal amount) {
-        if (amount.compareTo(FraudRules.LARGE_TRANSFER_THRESHOLD) > 0) {
-            logger.warn("Potential fraud: Large transfer amount detected: {}", amount);
-            return "Large transfer amount";
-        }
-        if (isHighFrequencyTransaction(fromAccount.getAccountNumber())) {
-            logger.warn("Potential fraud: High frequency transaction from account: {}", fromAccount.getAccountNumber());
-            return "High frequency transaction";
-        }
-        return null;
-    }
-
-    private boolean isHighFrequencyTransaction(String accountNumber) {
-        // Get the cache instance for transaction timestamps
-        Cache cache = cacheManager.getCache("transactionTimestamps");
-        if (cache == null) {
-            return false;
-        }
-
-        // Retrieve the list of timestamps from the cache for this account
-        Cache.ValueWrapper wrapper = cache.get(accountNumber);
-        List<LocalDateTime> timestamps = (wrapper != null) ? (List<LocalDateTime>) wrapper.get() : null;
-
-        // If no timestamps exist or the list is empty, no high-frequency transactions
-        if (timestamps == null || timestamps.isEmpty()) {
-            return false;
-        }
-
-        // Calculate the time window (10 minutes ago from now)
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime tenMinutesAgo = now.minusMinutes(FraudRules.HIGH_FREQUENCY_TIMEFRAME_MINUTES);
-
-        // Filter timestamps to keep only those within the last 10 minutes
-        List<LocalDateTime> recentTimestamps = timestamps.stream()
-                .filter(t -> t.isAfter(tenMinutesAgo))
-                .collect(Collectors.toList());
-
-        // Update the cache with the filtered list to remove old timestamps
-        cache.put(accountNumber, recentTimestamps);
-
-        // Check if the number of recent transactions meets or exceeds the limit (5)
-        return recentTimestamps.size() >= FraudRules.HIGH_FREQUENCY_TRANSACTION_LIMIT;
+    /**
+     * Gets posting status response.
+     *
+     * @param posting the posting
+     * @return the posting status response
+     */
+    PostingStatusResponse convertToPostingStatusResponse(PostingStatus posting) {
+        PostingStatusResponse response = new PostingStatusResponse();
+        response.setPostingId(posting.getPostingId());
+        response.setTransactionType(posting.getTransactionType());
+        response.setState(posting.getState());
+        response.setTransactionId(posting.getTransactionId());
+        response.setReason(posting.getReason());
+        response.setCreatedAt(posting.getCreatedAt());
+        response.setUpdatedAt(posting.getUpdatedAt());
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.ndifreke.core_banking_api.service.transaction.activity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ndifreke.core_banking_api.dto.transaction.HistoryEntry;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Read model of each account's most recent journal entries, kept in a Redis sorted set.
+ * <p>
+ * Entries are scored by their posted at time and prefixed with their entry id, so the set's reverse order
+ * is the history's {@code (posted_at DESC, entry_id DESC)} order. An entry is encoded the same way whether
+ * it was appended after its posting or loaded back from the database, so writing it again replaces its
+ * member instead of adding a second one. Committed postings are appended and the
+ * set is trimmed to {@code banking.history.recent.capacity} entries. A set that holds fewer entries than a
+ * page asks for is only trusted if it is marked complete, meaning it was loaded from the database when the
+ * account had no more entries than that; otherwise the caller reads the database and reloads the set.
+ * Every key expires after {@code banking.history.recent.ttl-minutes}, which bounds how long a missed update
+ * can be served.
+ */
+@Service
+public class RecentActivityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentActivityService.class);
+
+    private static final String KEY_PREFIX = "recent-activity:";
+
+    private static final String COMPLETE_SUFFIX = ":complete";
+
+    private static final char MEMBER_SEPARATOR = '|';
+
+    /**
+     * The scale amounts are stored with in {@code journal_entries}, and so read back with.
+     */
+    private static final int AMOUNT_SCALE = 2;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.history.recent.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.history.recent.capacity:50}")
+    private int capacity;
+
+    @Value("${banking.history.recent.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    /**
+     * A page of recent entries.
+     *
+     * @param entries the entries, newest first
+     * @param hasMore whether older entries exist
+     */
+    public record RecentPage(List<HistoryEntry> entries, boolean hasMore) {
+    }
+
+    /**
+     * Whether pages of the given size can be served from the read model.
+     *
+     * @param limit the page size
+     * @return true if enabled and the page fits in the read model
+     */
+    public boolean canServe(int limit) {
+        return enabled && limit <= capacity;
+    }
+
+    /**
+     * Gets how many entries are kept per account.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Reads the newest entries of an account.
+     *
+     * @param accountId the account id
+     * @param limit     the page size, at most the capacity
+     * @return the page, or empty if the read model cannot answer it
+     */
+    public Optional<RecentPage> firstPage(UUID accountId, int limit) {
+        if (!canServe(limit)) {
+            return Optional.empty();
+        }
+        try {
+            String key = key(accountId);
+            Set<String> members = redisTemplate.opsForZSet().reverseRange(key, 0, limit);
+            if (members == null) {
+                return Optional.empty();
+            }
+            boolean hasMore = members.size() > limit;
+            if (!hasMore && !Boolean.TRUE.equals(redisTemplate.hasKey(key + COMPLETE_SUFFIX))) {
+                return Optional.empty();
+            }
+            List<HistoryEntry> entries = new ArrayList<>(Math.min(members.size(), limit));
+            for (String member : members) {
+                if (entries.size() == limit) {
+                    break;
+                }
+                entries.add(decode(member));
+            }
+            return Optional.of(new RecentPage(entries, hasMore));
+        } catch (DataAccessException | JsonProcessingException e) {
+            logger.debug("Recent activity lookup failed, falling back to the database: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Loads an account's newest entries read from the database.
+     *
+     * @param accountId the account id
+     * @param entries   the newest entries, newest first, at most capacity + 1 of them
+     */
+    public void load(UUID accountId, List<HistoryEntry> entries) {
+        if (!enabled) {
+            return;
+        }
+        boolean complete = entries.size() <= capacity;
+        write(accountId, entries.subList(0, Math.min(entries.size(), capacity)), complete);
+    }
+
+    /**
+     * Appends committed journal entries to their accounts' read models.
+     *
+     * @param entries the entries
+     */
+    public void append(List<JournalEntry> entries) {
+        if (!enabled) {
+            return;
+        }
+        Map<UUID, List<JournalEntry>> byAccount = entries.stream()
+                .filter(entry -> !JournalEntry.isBankAccount(entry.getAccountId()))
+                .collect(Collectors.groupingBy(JournalEntry::getAccountId));
+        byAccount.forEach((accountId, accountEntries) ->
+                write(accountId, accountEntries.stream().map(HistoryEntry::of).toList(), false));
+    }
+
+    private void write(UUID accountId, List<HistoryEntry> entries, boolean complete) {
+        String key = key(accountId);
+        try {
+            List<String> members = new ArrayList<>(entries.size());
+            for (HistoryEntry entry : entries) {
+                members.add(encode(entry));
+            }
+            Duration ttl = Duration.ofMinutes(ttlMinutes);
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                    for (int i = 0; i < entries.size(); i++) {
+                        redis.opsForZSet().add(key, members.get(i), entries.get(i).postedAt().getTime());
+                    }
+                    redis.opsForZSet().removeRange(key, 0, -(capacity + 1L));
+                    redis.expire(key, ttl);
+                    if (complete) {
+                        redis.opsForValue().set(key + COMPLETE_SUFFIX, "1", ttl);
+                    } else {
+                        redis.expire(key + COMPLETE_SUFFIX, ttl);
+                    }
+                    return null;
+                }
+            });
+        } catch (DataAccessException | JsonProcessingException e) {
+            // A missed update must not be served, so drop the account's read model
+            logger.warn("Could not update recent activity of account {}: {}", accountId, e.getMessage());
+            try {
+                redisTemplate.delete(List.of(key, key + COMPLETE_SUFFIX));
+            } catch (DataAccessException ignored) {
+                // The keys expire on their own
+            }
+        }
+    }
+
+    private String encode(HistoryEntry entry) throws JsonProcessingException {
+        HistoryEntry stored = new HistoryEntry(entry.entryId(), entry.postingId(), entry.accountId(),
+                entry.counterpartyAccountId(), entry.entrySide(),
+                entry.amount() != null ? entry.amount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP) : null,
+                entry.transactionType(), entry.description(), entry.postedAt());
+        return entry.entryId().toString() + MEMBER_SEPARATOR + objectMapper.writeValueAsString(stored);
+    }
+
+    private HistoryEntry decode(String member) throws JsonProcessingException {
+        return objectMapper.readValue(member.substring(member.indexOf(MEMBER_SEPARATOR) + 1), HistoryEntry.class);
+    }
+
+    private static String key(UUID accountId) {
+        return KEY_PREFIX + accountId;
+    }
+}
@@ -0,0 +1,391 @@
+package com.ndifreke.core_banking_api.service.transaction.archive;
+
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An immutable archive segment: the journal entries one archive run moved out of the database.
+ * <p>
+ * A segment is a pair of files named after the run's cutoff. The {@code .seg} file holds one
+ * gzip-compressed block per account, each listing that account's entries oldest first. The {@code .idx}
+ * file lists the accounts in ascending id order with the offset, length and entry count of their block,
+ * and is loaded into memory so a read is one binary search and one positional read. The {@code .ids} file
+ * lists the entry id and posting id of every entry in the segment, so the run deletes exactly the rows it
+ * archived; it is removed once those deletes are done.
+ */
+final class ArchiveSegment implements Closeable {
+
+    /**
+     * Orders entries the way the database orders {@code (posted_at, entry_id)}: entry ids compare as
+     * unsigned bytes, matching the binary column.
+     */
+    static final Comparator<JournalEntry> POSTING_ORDER = Comparator
+            .<JournalEntry>comparingLong(entry -> entry.getPostedAt().getTime())
+            .thenComparing(JournalEntry::getEntryId, ArchiveSegment::compareUnsigned);
+
+    private static final int INDEX_MAGIC = 0x4A524E31;
+
+    private final long cutoff;
+
+    private final FileChannel channel;
+
+    private final long[] mostSignificant;
+
+    private final long[] leastSignificant;
+
+    private final long[] offsets;
+
+    private final int[] lengths;
+
+    private ArchiveSegment(long cutoff, FileChannel channel, long[] mostSignificant, long[] leastSignificant,
+                           long[] offsets, int[] lengths) {
+        this.cutoff = cutoff;
+        this.channel = channel;
+        this.mostSignificant = mostSignificant;
+        this.leastSignificant = leastSignificant;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Opens a published segment from its index file.
+     *
+     * @param indexFile the {@code .idx} file
+     * @return the segment
+     * @throws IOException if either file cannot be read
+     */
+    static ArchiveSegment open(Path indexFile) throws IOException {
+        String name = indexFile.getFileName().toString();
+        long cutoff = Long.parseLong(name.substring(SegmentFiles.PREFIX.length(), name.length() - SegmentFiles.INDEX.length()));
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        if (index.remaining() < 8 || index.getInt() != INDEX_MAGIC) {
+            throw new IOException("Not an archive index: " + indexFile);
+        }
+        int accounts = index.getInt();
+        long[] mostSignificant = new long[accounts];
+        long[] leastSignificant = new long[accounts];
+        long[] offsets = new long[accounts];
+        int[] lengths = new int[accounts];
+        for (int i = 0; i < accounts; i++) {
+            mostSignificant[i] = index.getLong();
+            leastSignificant[i] = index.getLong();
+            offsets[i] = index.getLong();
+            lengths[i] = index.getInt();
+            index.getInt();
+        }
+        FileChannel channel = FileChannel.open(SegmentFiles.segment(indexFile.getParent(), cutoff), StandardOpenOption.READ);
+        return new ArchiveSegment(cutoff, channel, mostSignificant, leastSignificant, offsets, lengths);
+    }
+
+    /**
+     * Gets cutoff.
+     *
+     * @return the cutoff in epoch millis; every entry in the segment was posted before it
+     */
+    long getCutoff() {
+        return cutoff;
+    }
+
+    /**
+     * Reads the account's entries, oldest first.
+     *
+     * @param accountId the account id
+     * @return the entries, empty if the account has none in this segment
+     * @throws IOException if the block cannot be read
+     */
+    List<JournalEntry> read(UUID accountId) throws IOException {
+        int position = find(accountId);
+        if (position < 0) {
+            return List.of();
+        }
+        ByteBuffer block = ByteBuffer.allocate(lengths[position]);
+        long offset = offsets[position];
+        while (block.hasRemaining()) {
+            int read = channel.read(block, offset + block.position());
+            if (read < 0) {
+                throw new IOException("Archive segment " + cutoff + " is truncated");
+            }
+        }
+        return decode(accountId, block.array());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int find(UUID accountId) {
+        int low = 0;
+        int high = mostSignificant.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(mostSignificant[middle], leastSignificant[middle], accountId);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(long mostSignificant, long leastSignificant, UUID accountId) {
+        int comparison = Long.compareUnsigned(mostSignificant, accountId.getMostSignificantBits());
+        return comparison != 0 ? comparison : Long.compareUnsigned(leastSignificant, accountId.getLeastSignificantBits());
+    }
+
+    private static int compareUnsigned(UUID first, UUID second) {
+        return compare(first.getMostSignificantBits(), first.getLeastSignificantBits(), second);
+    }
+
+    private static byte[] encode(List<JournalEntry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(entries.size());
+            for (JournalEntry entry : entries) {
+                writeUuid(out, entry.getEntryId());
+                writeUuid(out, entry.getPostingId());
+                writeUuid(out, entry.getCounterpartyAccountId());
+                out.writeUTF(entry.getEntrySide().name());
+                out.writeUTF(entry.getTransactionType().name());
+                out.writeUTF(entry.getAmount().toPlainString());
+                writeNullableString(out, entry.getDescription());
+                out.writeLong(entry.getPostedAt().getTime());
+                writeNullableString(out, entry.getBalanceAfter() != null ? entry.getBalanceAfter().toPlainString() : null);
+                out.writeBoolean(entry.getAccountSequence() != null);
+                if (entry.getAccountSequence() != null) {
+                    out.writeLong(entry.getAccountSequence());
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<JournalEntry> decode(UUID accountId, byte[] block) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(block)))) {
+            int count = in.readInt();
+            List<JournalEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                JournalEntry entry = new JournalEntry();
+                entry.setAccountId(accountId);
+                entry.setEntryId(readUuid(in));
+                entry.setPostingId(readUuid(in));
+                entry.setCounterpartyAccountId(readUuid(in));
+                entry.setEntrySide(EntrySide.valueOf(in.readUTF()));
+                entry.setTransactionType(TransactionType.valueOf(in.readUTF()));
+                entry.setAmount(new BigDecimal(in.readUTF()));
+                entry.setDescription(readNullableString(in));
+                entry.setPostedAt(new Date(in.readLong()));
+                String balanceAfter = readNullableString(in);
+                entry.setBalanceAfter(balanceAfter != null ? new BigDecimal(balanceAfter) : null);
+                entry.setAccountSequence(in.readBoolean() ? in.readLong() : null);
+                entries.add(entry);
+            }
+            return entries;
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Writes a new segment. Accounts must be appended in ascending id order, each account once. The files
+     * are written under temporary names and only take their final names in {@link #publish()}.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path directory;
+
+        private final long cutoff;
+
+        private final FileChannel segment;
+
+        private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+
+        private final DataOutputStream indexOut = new DataOutputStream(index);
+
+        private final FileChannel idsChannel;
+
+        private final DataOutputStream ids;
+
+        private UUID lastAccountId;
+
+        private int accounts;
+
+        private long entries;
+
+        /**
+         * Instantiates a new Writer.
+         *
+         * @param directory the archive directory
+         * @param cutoff    the cutoff in epoch millis
+         * @throws IOException if the segment file cannot be created
+         */
+        Writer(Path directory, long cutoff) throws IOException {
+            this.directory = directory;
+            this.cutoff = cutoff;
+            this.segment = FileChannel.open(SegmentFiles.partial(SegmentFiles.segment(directory, cutoff)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.idsChannel = FileChannel.open(SegmentFiles.partial(SegmentFiles.ids(directory, cutoff)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.ids = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(idsChannel)));
+        }
+
+        /**
+         * Appends one account's entries, oldest first.
+         *
+         * @param accountId the account id
+         * @param block     the entries
+         * @throws IOException if writing fails
+         */
+        void append(UUID accountId, List<JournalEntry> block) throws IOException {
+            if (lastAccountId != null && compareUnsigned(lastAccountId, accountId) >= 0) {
+                throw new IllegalArgumentException("Accounts must be appended in ascending id order");
+            }
+            byte[] encoded = encode(block);
+            long offset = segment.position();
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            indexOut.writeLong(accountId.getMostSignificantBits());
+            indexOut.writeLong(accountId.getLeastSignificantBits());
+            indexOut.writeLong(offset);
+            indexOut.writeInt(encoded.length);
+            indexOut.writeInt(block.size());
+            for (JournalEntry entry : block) {
+                writeUuid(ids, entry.getEntryId());
+                writeUuid(ids, entry.getPostingId());
+            }
+            lastAccountId = accountId;
+            accounts++;
+            entries += block.size();
+        }
+
+        /**
+         * Gets the number of entries appended so far.
+         *
+         * @return the entry count
+         */
+        long getEntries() {
+            return entries;
+        }
+
+        /**
+         * Forces the files to disk and gives them their final names, index last, so a segment is visible
+         * only once it is complete.
+         *
+         * @return the published segment, opened for reading
+         * @throws IOException if writing fails
+         */
+        ArchiveSegment publish() throws IOException {
+            segment.force(true);
+            segment.close();
+            ids.flush();
+            idsChannel.force(true);
+            ids.close();
+            Path indexFile = SegmentFiles.index(directory, cutoff);
+            Path partialIndex = SegmentFiles.partial(indexFile);
+            try (FileChannel channel = FileChannel.open(partialIndex, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(8).putInt(INDEX_MAGIC).putInt(accounts).flip();
+                ByteBuffer records = ByteBuffer.wrap(index.toByteArray());
+                while (header.hasRemaining() || records.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, records});
+                }
+                channel.force(true);
+            }
+            Path idsFile = SegmentFiles.ids(directory, cutoff);
+            Files.move(SegmentFiles.partial(idsFile), idsFile, StandardCopyOption.ATOMIC_MOVE);
+            Path segmentFile = SegmentFiles.segment(directory, cutoff);
+            Files.move(SegmentFiles.partial(segmentFile), segmentFile, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(partialIndex, indexFile, StandardCopyOption.ATOMIC_MOVE);
+            return open(indexFile);
+        }
+
+        /**
+         * Closes the writer, leaving unpublished files to be overwritten by the next run.
+         */
+        @Override
+        public void close() throws IOException {
+            segment.close();
+            ids.close();
+        }
+    }
+
+    /**
+     * Names of segment files.
+     */
+    static final class SegmentFiles {
+
+        static final String PREFIX = "segment-";
+
+        static final String INDEX = ".idx";
+
+        static final String SEGMENT = ".seg";
+
+        static final String IDS = ".ids";
+
+        private SegmentFiles() {
+        }
+
+        static Path segment(Path directory, long cutoff) {
+            return directory.resolve(PREFIX + cutoff + SEGMENT);
+        }
+
+        static Path index(Path directory, long cutoff) {
+            return directory.resolve(PREFIX + cutoff + INDEX);
+        }
+
+        static Path ids(Path directory, long cutoff) {
+            return directory.resolve(PREFIX + cutoff + IDS);
+        }
+
+        static Path partial(Path file) {
+            return file.resolveSibling(file.getFileName() + ".part");
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.ndifreke.core_banking_api.service.transaction.archive;
+
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Moves old journal entries out of the database into compressed archive segments, and reads them back
+ * for history and export.
+ * <p>
+ * {@code banking.archive.directory} must be storage every node mounts, such as a shared volume: a segment
+ * published there is the archive's announcement of its cutoff. Every node opens the segments it finds
+ * there at startup and every {@code banking.archive.refresh-interval-ms}. Only one node should have
+ * {@code banking.archive.enabled}.
+ * <p>
+ * An archive run writes every journal entry posted before its cutoff ({@code banking.archive.age-days}
+ * ago) into a new {@link ArchiveSegment} and publishes it. Once a node has opened the segment, the archive
+ * owns everything posted before its cutoff there: readers take those entries from the segments and ignore
+ * any rows still in the database. The archived postings are deleted from {@code journal_entries} and the
+ * legacy {@code deposits}, {@code withdrawals} and {@code transfers} tables, in chunks, only after
+ * {@code banking.archive.delete-delay-ms}, which must be longer than every node's refresh interval, so no
+ * node reads the database without the segment once rows are gone. The deletes take the ids the segment
+ * recorded; rows before the cutoff that the run did not read stay in the database. Deletes that have not
+ * finished are resumed on the next refresh.
+ * <p>
+ * Run the journal backfill before enabling archiving; postings backfilled with dates before the cutoff
+ * after a run would be hidden by it.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final String PENDING = ".pending";
+
+    private static final String[] DELETE_POSTINGS_SQL = {
+            "DELETE FROM deposits WHERE deposit_id IN (%s)",
+            "DELETE FROM withdrawals WHERE withdrawal_id IN (%s)",
+            "DELETE FROM transfers WHERE transaction_id IN (%s)"
+    };
+
+    private static final String DELETE_ENTRIES_SQL = "DELETE FROM journal_entries WHERE entry_id IN (%s)";
+
+    private static final int UUID_BYTES = 16;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${banking.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.archive.age-days:365}")
+    private long ageDays;
+
+    @Value("${banking.archive.directory:archive}")
+    private String directoryName;
+
+    @Value("${banking.archive.delete-chunk-size:1000}")
+    private int deleteChunkSize;
+
+    @Value("${banking.archive.delete-delay-ms:900000}")
+    private long deleteDelayMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Path directory;
+
+    /**
+     * Published segments, newest cutoff first. Replaced, never modified, when a segment is opened.
+     */
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    /**
+     * Opens the segments already in the archive directory.
+     *
+     * @throws IOException if a segment cannot be opened
+     */
+    @PostConstruct
+    public void openSegments() throws IOException {
+        directory = Paths.get(directoryName);
+        openNewSegments();
+        logger.info("Archive opened: directory={}, segments={}", directory, segments.size());
+    }
+
+    /**
+     * Opens segments other nodes have published and, on the archiving node, finishes deletes whose delay
+     * has passed, on the schedule in {@code banking.archive.refresh-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${banking.archive.refresh-interval-ms:60000}",
+            initialDelayString = "${banking.archive.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            openNewSegments();
+            if (enabled && running.compareAndSet(false, true)) {
+                try {
+                    finishPendingDeletes();
+                } finally {
+                    running.set(false);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Archive refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the segment files.
+     */
+    @PreDestroy
+    public void closeSegments() {
+        for (ArchiveSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.debug("Could not close archive segment {}: {}", segment.getCutoff(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the archive cutoff. Entries posted before it are read from the archive, and rows before it that
+     * are still in the database are ignored.
+     *
+     * @return the cutoff, or null if nothing has been archived
+     */
+    public Date getCutoff() {
+        List<ArchiveSegment> current = segments;
+        return current.isEmpty() ? null : new Date(current.get(0).getCutoff());
+    }
+
+    /**
+     * Whether an entry posted at the given time is owned by the archive.
+     *
+     * @param postedAt the posted at
+     * @return true if it is before the cutoff
+     */
+    public boolean isArchived(Date postedAt) {
+        List<ArchiveSegment> current = segments;
+        return !current.isEmpty() && postedAt.getTime() < current.get(0).getCutoff();
+    }
+
+    /**
+     * Finds the account's archived entries that come after the given position in newest-first order.
+     * Segments are read newest first and reading stops once the page is full.
+     *
+     * @param accountId the account id
+     * @param postedAt  the posted at of the last entry already returned, or null for the newest
+     * @param entryId   the entry id of the last entry already returned, or null for the newest
+     * @param limit     the maximum number of entries
+     * @return the entries, newest first
+     */
+    public List<JournalEntry> findBefore(UUID accountId, Date postedAt, UUID entryId, int limit) {
+        List<ArchiveSegment> current = segments;
+        JournalEntry position = null;
+        if (postedAt != null) {
+            position = new JournalEntry();
+            position.setPostedAt(postedAt);
+            position.setEntryId(entryId);
+        }
+        List<JournalEntry> page = new ArrayList<>(limit);
+        for (int i = 0; i < current.size() && page.size() < limit; i++) {
+            // Segments partition time, so this one holds nothing older than the next one's cutoff
+            long floor = i + 1 < current.size() ? current.get(i + 1).getCutoff() : Long.MIN_VALUE;
+            if (position != null && position.getPostedAt().getTime() < floor) {
+                continue;
+            }
+            List<JournalEntry> entries = read(current.get(i), accountId);
+            for (int j = entries.size() - 1; j >= 0 && page.size() < limit; j--) {
+                JournalEntry entry = entries.get(j);
+                if (position == null || ArchiveSegment.POSTING_ORDER.compare(entry, position) < 0) {
+                    page.add(entry);
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Iterates over all of the account's archived entries, oldest first. Only one segment's block is held
+     * in memory at a time.
+     *
+     * @param accountId the account id
+     * @return the iterator
+     */
+    public Iterator<JournalEntry> archived(UUID accountId) {
+        List<ArchiveSegment> oldestFirst = new ArrayList<>(segments);
+        Collections.reverse(oldestFirst);
+        Iterator<ArchiveSegment> remaining = oldestFirst.iterator();
+        return new Iterator<>() {
+            private Iterator<JournalEntry> block = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!block.hasNext() && remaining.hasNext()) {
+                    block = read(remaining.next(), accountId).iterator();
+                }
+                return block.hasNext();
+            }
+
+            @Override
+            public JournalEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return block.next();
+            }
+        };
+    }
+
+    /**
+     * Archives entries older than {@code banking.archive.age-days} on the schedule in
+     * {@code banking.archive.cron}.
+     */
+    @Scheduled(cron = "${banking.archive.cron:0 30 2 * * *}")
+    public void archiveOldEntries() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            archive(new Date(System.currentTimeMillis() - Duration.ofDays(ageDays).toMillis()));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Archive run failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Archives every entry posted before the cutoff into a new segment. The entries are deleted from the
+     * database by a later refresh, once {@code banking.archive.delete-delay-ms} has passed.
+     *
+     * @param cutoff the cutoff
+     * @return the number of entries archived
+     * @throws IOException if the segment cannot be written
+     */
+    long archive(Date cutoff) throws IOException {
+        Files.createDirectories(directory);
+        openNewSegments();
+        finishPendingDeletes();
+        Date current = getCutoff();
+        if (current != null && !cutoff.after(current)) {
+            return 0;
+        }
+        long cutoffMillis = cutoff.getTime();
+        Path pending = pendingMarker(cutoffMillis);
+        Files.writeString(pending, cutoff.toInstant().toString());
+
+        ArchiveSegment segment;
+        long archived;
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(directory, cutoffMillis)) {
+            TransactionTemplate readTemplate = new TransactionTemplate(transactionManager);
+            readTemplate.setReadOnly(true);
+            readTemplate.executeWithoutResult(status -> {
+                try (Stream<JournalEntry> stream = journalEntryRepository.streamPostedBefore(cutoff)) {
+                    writeBlocks(writer, stream.iterator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            archived = writer.getEntries();
+            if (archived == 0) {
+                Files.delete(pending);
+                return 0;
+            }
+            segment = writer.publish();
+        }
+        install(List.of(segment));
+        logger.info("Archive segment published: cutoff={}, entries={}, deletesAfterMs={}",
+                cutoff.toInstant(), archived, deleteDelayMillis);
+        return archived;
+    }
+
+    /**
+     * Opens the published segments this node has not opened yet.
+     */
+    private synchronized void openNewSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Set<Long> open = new HashSet<>();
+        segments.forEach(segment -> open.add(segment.getCutoff()));
+        List<ArchiveSegment> opened = new ArrayList<>();
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(directory,
+                ArchiveSegment.SegmentFiles.PREFIX + "*" + ArchiveSegment.SegmentFiles.INDEX)) {
+            for (Path index : indexes) {
+                if (!open.contains(cutoff(index, ArchiveSegment.SegmentFiles.INDEX))) {
+                    opened.add(ArchiveSegment.open(index));
+                }
+            }
+        }
+        if (!opened.isEmpty()) {
+            install(opened);
+            logger.info("Archive segments opened: {}", opened.size());
+        }
+    }
+
+    private synchronized void install(List<ArchiveSegment> opened) {
+        List<ArchiveSegment> installed = new ArrayList<>(segments);
+        installed.addAll(opened);
+        installed.sort(Comparator.comparingLong(ArchiveSegment::getCutoff).reversed());
+        segments = List.copyOf(installed);
+    }
+
+    private void writeBlocks(ArchiveSegment.Writer writer, Iterator<JournalEntry> entries) throws IOException {
+        List<JournalEntry> block = new ArrayList<>();
+        UUID accountId = null;
+        while (entries.hasNext()) {
+            JournalEntry entry = entries.next();
+            entityManager.detach(entry);
+            if (accountId != null && !accountId.equals(entry.getAccountId())) {
+                writer.append(accountId, block);
+                block.clear();
+            }
+            accountId = entry.getAccountId();
+            block.add(entry);
+        }
+        if (accountId != null) {
+            writer.append(accountId, block);
+        }
+    }
+
+    /**
+     * Deletes the archived rows of published segments once their delay has passed. Markers of runs that
+     * never published are dropped.
+     */
+    private void finishPendingDeletes() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> markers = Files.newDirectoryStream(directory,
+                ArchiveSegment.SegmentFiles.PREFIX + "*" + PENDING)) {
+            for (Path marker : markers) {
+                long cutoff = cutoff(marker, PENDING);
+                Path index = ArchiveSegment.SegmentFiles.index(directory, cutoff);
+                if (Files.exists(index)) {
+                    long published = Files.getLastModifiedTime(index).toMillis();
+                    if (System.currentTimeMillis() - published < deleteDelayMillis) {
+                        continue;
+                    }
+                    long deleted = deleteArchived(cutoff);
+                    Files.delete(ArchiveSegment.SegmentFiles.ids(directory, cutoff));
+                    logger.info("Archived entries deleted: cutoff={}, entriesDeleted={}", cutoff, deleted);
+                }
+                Files.delete(marker);
+            }
+        }
+    }
+
+    /**
+     * Deletes the postings and journal entries the segment recorded, a chunk of entries per transaction.
+     * Deleting rows that are already gone is harmless, so a delete interrupted part way is simply rerun.
+     *
+     * @return the number of journal entries deleted
+     */
+    private long deleteArchived(long cutoff) throws IOException {
+        TransactionTemplate deleteTemplate = new TransactionTemplate(transactionManager);
+        long deleted = 0;
+        try (DataInputStream ids = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(ArchiveSegment.SegmentFiles.ids(directory, cutoff))))) {
+            while (true) {
+                List<byte[]> entryIds = new ArrayList<>(deleteChunkSize);
+                List<byte[]> postingIds = new ArrayList<>(deleteChunkSize);
+                try {
+                    while (entryIds.size() < deleteChunkSize) {
+                        byte[] entryId = new byte[UUID_BYTES];
+                        ids.readFully(entryId);
+                        byte[] postingId = new byte[UUID_BYTES];
+                        ids.readFully(postingId);
+                        entryIds.add(entryId);
+                        postingIds.add(postingId);
+                    }
+                } catch (EOFException e) {
+                    // The last chunk
+                }
+                if (entryIds.isEmpty()) {
+                    return deleted;
+                }
+                String placeholders = String.join(",", Collections.nCopies(entryIds.size(), "?"));
+                Integer entries = deleteTemplate.execute(status -> {
+                    for (String sql : DELETE_POSTINGS_SQL) {
+                        jdbcTemplate.update(String.format(sql, placeholders), postingIds.toArray());
+                    }
+                    return jdbcTemplate.update(String.format(DELETE_ENTRIES_SQL, placeholders), entryIds.toArray());
+                });
+                deleted += entries != null ? entries : 0;
+            }
+        }
+    }
+
+    private List<JournalEntry> read(ArchiveSegment segment, UUID accountId) {
+        try {
+            return segment.read(accountId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + segment.getCutoff(), e);
+        }
+    }
+
+    private static long cutoff(Path file, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(ArchiveSegment.SegmentFiles.PREFIX.length(),
+                name.length() - suffix.length()));
+    }
+
+    private Path pendingMarker(long cutoff) {
+        return directory.resolve(ArchiveSegment.SegmentFiles.PREFIX + cutoff + PENDING);
+    }
+}
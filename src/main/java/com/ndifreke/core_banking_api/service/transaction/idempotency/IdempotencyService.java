@@ -0,0 +1,287 @@
+package com.ndifreke.core_banking_api.service.transaction.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ndifreke.core_banking_api.entity.enums.IdempotencyStatus;
+import com.ndifreke.core_banking_api.entity.transaction.IdempotencyKey;
+import com.ndifreke.core_banking_api.repository.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates money-movement requests that carry an {@code Idempotency-Key} header.
+ * <p>
+ * Completed responses are cached in Redis for a fast replay path. The authoritative record is a row in
+ * {@code idempotency_keys} whose (user, key) unique constraint decides which request gets to post; a
+ * concurrent or retried request that loses the insert race is answered from that row instead.
+ * <p>
+ * A claim that stays in progress past {@code banking.idempotency.in-progress-timeout-seconds} can be taken
+ * over by a retry. Postings submitted while a claim is being served are wrapped with {@link #fenced}, which
+ * marks the claim as posted in the posting's own transaction; a claim whose posting committed is never taken
+ * over, and a posting whose claim was taken over rolls back instead of posting twice. Postings queued with
+ * {@code respond-async} are not fenced: their claim completes as soon as the event is published.
+ */
+@Service
+public class IdempotencyService {
+
+    /**
+     * The request header carrying the client supplied key.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * The response header set when a stored response is replayed.
+     */
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final String REDIS_KEY_PREFIX = "idempotency:";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final ThreadLocal<UUID> CURRENT_CLAIM = new ThreadLocal<>();
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${banking.idempotency.in-progress-timeout-seconds:60}")
+    private long inProgressTimeoutSeconds;
+
+    /**
+     * Runs the action once per (user, key) pair and replays its stored response for every retry.
+     * Responses with a 5xx status, and actions that throw, release the key so the client can retry.
+     *
+     * @param userId      the authenticated user id
+     * @param key         the Idempotency-Key header value
+     * @param fingerprint the request fingerprint, see {@link #fingerprint(Object...)}
+     * @param action      the action that performs the posting
+     * @return the response of the first request that used the key
+     */
+    public ResponseEntity<?> execute(UUID userId, String key, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String redisKey = REDIS_KEY_PREFIX + userId + ":" + key;
+
+        StoredResponse cached = readCached(redisKey);
+        if (cached != null) {
+            return replay(cached, fingerprint);
+        }
+
+        IdempotencyKey record = claim(userId, key, fingerprint);
+        if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+            StoredResponse stored = new StoredResponse(record.getResponseStatus(), record.getRequestFingerprint(),
+                    record.getResponseBody());
+            writeCached(redisKey, stored);
+            return replay(stored, fingerprint);
+        }
+
+        ResponseEntity<?> response;
+        CURRENT_CLAIM.set(record.getId());
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(record);
+            throw e;
+        } finally {
+            CURRENT_CLAIM.remove();
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            release(record);
+            return response;
+        }
+
+        StoredResponse stored = new StoredResponse(response.getStatusCode().value(), fingerprint,
+                serialize(response.getBody()));
+        if (idempotencyKeyRepository.complete(record.getId(), IdempotencyStatus.COMPLETED, stored.status(),
+                stored.body()) == 0) {
+            logger.warn("Idempotency key {} was taken over before its response was stored", key);
+            return response;
+        }
+        writeCached(redisKey, stored);
+        return response;
+    }
+
+    /**
+     * Wraps a posting so it also marks the key being served on this thread as posted. The wrapped posting
+     * must run inside the posting transaction, on any thread; if a retry has taken the key over in the
+     * meantime it throws and the posting rolls back. Outside {@link #execute} the posting is returned as is.
+     *
+     * @param <T>     the result type
+     * @param posting the posting
+     * @return the fenced posting
+     */
+    public <T> Supplier<T> fenced(Supplier<T> posting) {
+        UUID claimId = CURRENT_CLAIM.get();
+        if (claimId == null) {
+            return posting;
+        }
+        return () -> {
+            if (idempotencyKeyRepository.markPosted(claimId, LocalDateTime.now()) == 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A retry with this Idempotency-Key took over the request");
+            }
+            return posting.get();
+        };
+    }
+
+    /**
+     * Builds a fingerprint of the request so a key reused with a different payload can be rejected.
+     *
+     * @param parts the request fields that identify the posting
+     * @return the hex encoded SHA-256 of the fields
+     */
+    public static String fingerprint(Object... parts) {
+        StringBuilder canonical = new StringBuilder();
+        for (Object part : parts) {
+            if (part instanceof BigDecimal amount) {
+                part = amount.stripTrailingZeros().toPlainString();
+            }
+            canonical.append(part).append('|');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Purges keys that are older than the replay window.
+     */
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private IdempotencyKey claim(UUID userId, String key, String fingerprint) {
+        IdempotencyKey record = new IdempotencyKey();
+        record.setUserId(userId);
+        record.setIdempotencyKey(key);
+        record.setRequestFingerprint(fingerprint);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        try {
+            return idempotencyKeyRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+            if (existing.isEmpty()) {
+                // The holder released the key between our insert and the lookup
+                return claim(userId, key, fingerprint);
+            }
+            IdempotencyKey holder = existing.get();
+            LocalDateTime now = LocalDateTime.now();
+            if (holder.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                LocalDateTime cutoff = now.minusSeconds(inProgressTimeoutSeconds);
+                if (holder.getPostedAt() == null && holder.getCreatedAt().isBefore(cutoff)) {
+                    // The request that claimed the key died before posting; take it over unless it just posted
+                    idempotencyKeyRepository.deleteAbandoned(holder.getId(), IdempotencyStatus.IN_PROGRESS, cutoff);
+                    return claim(userId, key, fingerprint);
+                }
+            } else if (holder.getCreatedAt().isBefore(now.minusHours(ttlHours))) {
+                idempotencyKeyRepository.delete(holder);
+                return claim(userId, key, fingerprint);
+            }
+            if (!holder.getRequestFingerprint().equals(fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different request");
+            }
+            if (holder.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                if (holder.getPostedAt() != null
+                        && holder.getCreatedAt().isBefore(now.minusSeconds(inProgressTimeoutSeconds))) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "The request with this Idempotency-Key was posted but its response is not available");
+                }
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            return holder;
+        }
+    }
+
+    /**
+     * Releases a claim so the client can retry, unless its posting already committed.
+     */
+    private void release(IdempotencyKey record) {
+        if (idempotencyKeyRepository.deleteUnposted(record.getId()) == 0) {
+            logger.warn("Idempotency key {} not released: its posting committed or it was taken over",
+                    record.getIdempotencyKey());
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+        }
+        return ResponseEntity.status(stored.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(stored.body());
+    }
+
+    private StoredResponse readCached(String redisKey) {
+        try {
+            String value = redisTemplate.opsForValue().get(redisKey);
+            return value == null ? null : objectMapper.readValue(value, StoredResponse.class);
+        } catch (DataAccessException | JsonProcessingException e) {
+            logger.debug("Idempotency cache lookup failed, falling back to the database: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCached(String redisKey, StoredResponse stored) {
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(stored), Duration.ofHours(ttlHours));
+        } catch (DataAccessException | JsonProcessingException e) {
+            logger.debug("Could not cache idempotent response: {}", e.getMessage());
+        }
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response for idempotent replay", e);
+        }
+    }
+
+    private record StoredResponse(int status, String fingerprint, String body) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.ndifreke.core_banking_api.service.transaction.journal;
+
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Backfills {@code journal_entries} from the legacy {@code deposits}, {@code withdrawals} and
+ * {@code transfers} tables.
+ * <p>
+ * Runs once at startup when {@code banking.journal.backfill.enabled} is set. Each table is walked in
+ * primary key ranges of {@code banking.journal.backfill.chunk-size} rows, and each range is copied with a
+ * single {@code INSERT ... SELECT} that writes the debit and credit rows and skips postings that are
+ * already journaled, so the backfill is safe to re-run and to run while the application is posting.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.journal.backfill.enabled", havingValue = "true")
+public class JournalBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalBackfillRunner.class);
+
+    private static final String INSERT_COLUMNS = "INSERT INTO journal_entries (entry_id, posting_id, account_id, "
+            + "counterparty_account_id, entry_side, amount, transaction_type, description, posted_at) ";
+
+    private static final String DEPOSITS_SQL = INSERT_COLUMNS
+            + "SELECT UUID_TO_BIN(UUID()), d.deposit_id, ?, d.account_id, 'DEBIT', d.amount, 'DEPOSIT', NULL, "
+            + "COALESCE(d.transaction_date, NOW()) FROM deposits d "
+            + "WHERE d.deposit_id > ? AND d.deposit_id <= ? AND d.account_id IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM journal_entries j WHERE j.posting_id = d.deposit_id) "
+            + "UNION ALL "
+            + "SELECT UUID_TO_BIN(UUID()), d.deposit_id, d.account_id, ?, 'CREDIT', d.amount, 'DEPOSIT', NULL, "
+            + "COALESCE(d.transaction_date, NOW()) FROM deposits d "
+            + "WHERE d.deposit_id > ? AND d.deposit_id <= ? AND d.account_id IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM journal_entries j WHERE j.posting_id = d.deposit_id)";
+
+    private static final String WITHDRAWALS_SQL = INSERT_COLUMNS
+            + "SELECT UUID_TO_BIN(UUID()), w.withdrawal_id, w.account_id, ?, 'DEBIT', w.amount, 'WITHDRAWAL', NULL, "
+            + "COALESCE(w.transaction_date, NOW()) FROM withdrawals w "
+            + "WHERE w.withdrawal_id > ? AND w.withdrawal_id <= ? AND w.account_id IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM journal_entries j WHERE j.posting_id = w.withdrawal_id) "
+            + "UNION ALL "
+            + "SELECT UUID_TO_BIN(UUID()), w.withdrawal_id, ?, w.account_id, 'CREDIT', w.amount, 'WITHDRAWAL', NULL, "
+            + "COALESCE(w.transaction_date, NOW()) FROM withdrawals w "
+            + "WHERE w.withdrawal_id > ? AND w.withdrawal_id <= ? AND w.account_id IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM journal_entries j WHERE j.posting_id = w.withdrawal_id)";
+
+    private static final String TRANSFERS_SQL = INSERT_COLUMNS
+            + "SELECT UUID_TO_BIN(UUID()), t.transaction_id, t.from_account_id, t.to_account_id, 'DEBIT', t.amount, "
+            + "'TRANSFER', t.description, COALESCE(t.transaction_date, t.timestamp, NOW()) FROM transfers t "
+            + "WHERE t.transaction_id > ? AND t.transaction_id <= ? "
+            + "AND t.from_account_id IS NOT NULL AND t.to_account_id IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM journal_entries j WHERE j.posting_id = t.transaction_id) "
+            + "UNION ALL "
+            + "SELECT UUID_TO_BIN(UUID()), t.transaction_id, t.to_account_id, t.from_account_id, 'CREDIT', t.amount, "
+            + "'TRANSFER', t.description, COALESCE(t.transaction_date, t.timestamp, NOW()) FROM transfers t "
+            + "WHERE t.transaction_id > ? AND t.transaction_id <= ? "
+            + "AND t.from_account_id IS NOT NULL AND t.to_account_id IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM journal_entries j WHERE j.posting_id = t.transaction_id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${banking.journal.backfill.chunk-size:5000}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        byte[] external = toBytes(JournalEntry.EXTERNAL_ACCOUNT_ID);
+        long deposits = backfill("deposits", "deposit_id", (lower, upper) -> jdbcTemplate.update(DEPOSITS_SQL,
+                external, lower, upper, external, lower, upper));
+        long withdrawals = backfill("withdrawals", "withdrawal_id", (lower, upper) -> jdbcTemplate.update(WITHDRAWALS_SQL,
+                external, lower, upper, external, lower, upper));
+        long transfers = backfill("transfers", "transaction_id", (lower, upper) -> jdbcTemplate.update(TRANSFERS_SQL,
+                lower, upper, lower, upper));
+        logger.info("Journal backfill finished: depositRows={}, withdrawalRows={}, transferRows={}",
+                deposits, withdrawals, transfers);
+    }
+
+    private long backfill(String table, String idColumn, RangeCopy copy) {
+        String boundarySql = "SELECT " + idColumn + " FROM " + table + " WHERE " + idColumn + " > ? "
+                + "ORDER BY " + idColumn + " LIMIT 1 OFFSET ?";
+        String lastSql = "SELECT MAX(" + idColumn + ") FROM " + table + " WHERE " + idColumn + " > ?";
+        byte[] lower = new byte[16];
+        long inserted = 0;
+        while (true) {
+            List<byte[]> boundary = jdbcTemplate.queryForList(boundarySql, byte[].class, lower, chunkSize - 1);
+            byte[] upper = boundary.isEmpty()
+                    ? jdbcTemplate.queryForObject(lastSql, byte[].class, lower)
+                    : boundary.get(0);
+            if (upper == null) {
+                return inserted;
+            }
+            inserted += copy.apply(lower, upper);
+            logger.debug("Journal backfill of {}: {} rows inserted so far", table, inserted);
+            if (boundary.isEmpty()) {
+                return inserted;
+            }
+            lower = upper;
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    @FunctionalInterface
+    private interface RangeCopy {
+        int apply(byte[] lower, byte[] upper);
+    }
+}
@@ -0,0 +1,235 @@
+package com.ndifreke.core_banking_api.service.transaction.journal;
+
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.Deposit;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.entity.transaction.Transfer;
+import com.ndifreke.core_banking_api.entity.transaction.Withdrawal;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import com.ndifreke.core_banking_api.repository.DepositRepository;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import com.ndifreke.core_banking_api.repository.TransferRepository;
+import com.ndifreke.core_banking_api.repository.WithdrawalRepository;
+import com.ndifreke.core_banking_api.service.transaction.activity.RecentActivityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The single insert path for postings.
+ * <p>
+ * Every writer records its posting here. The posting row is still saved to its legacy
+ * {@code transfers}, {@code deposits} or {@code withdrawals} table, and its debit and credit rows are
+ * appended to {@code journal_entries} with the legacy id as the posting id, in the caller's transaction.
+ * Moves between a customer account and its savings plans or fixed deposits have no legacy table and are
+ * only journaled. Reads such as transaction history are served from the journal.
+ * <p>
+ * Each customer-account row also records the account's balance and posting sequence after the posting.
+ * They are read back inside the posting transaction, while the balance update still holds the row lock.
+ * <p>
+ * Once the posting transaction commits, its entries are appended to the recent activity read model.
+ */
+@Service
+public class JournalService {
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private DepositRepository depositRepository;
+
+    @Autowired
+    private WithdrawalRepository withdrawalRepository;
+
+    @Autowired
+    private RecentActivityService recentActivityService;
+
+    /**
+     * A transfer together with the balances it left its two accounts with.
+     *
+     * @param transfer the transfer
+     * @param from     the source account balance after the transfer
+     * @param to       the destination account balance after the transfer
+     */
+    public record TransferPosting(Transfer transfer, BalanceSnapshot from, BalanceSnapshot to) {
+    }
+
+    /**
+     * Records a transfer: debits the source and credits the destination account.
+     * Must run in the transaction that applied the balance change.
+     *
+     * @param transfer the transfer
+     * @return the saved transfer
+     */
+    @Transactional
+    public Transfer record(Transfer transfer) {
+        return recordTransfers(List.of(new TransferPosting(transfer,
+                snapshot(transfer.getFromAccountId()), snapshot(transfer.getToAccountId())))).get(0);
+    }
+
+    /**
+     * Records transfers whose resulting balances the caller already knows, with batched inserts.
+     *
+     * @param postings the transfer postings
+     * @return the saved transfers, in the same order
+     */
+    @Transactional
+    public List<Transfer> recordTransfers(List<TransferPosting> postings) {
+        List<Transfer> saved = transferRepository.saveAll(postings.stream().map(TransferPosting::transfer).toList());
+        List<JournalEntry> entries = new ArrayList<>(saved.size() * 2);
+        for (int i = 0; i < saved.size(); i++) {
+            Transfer transfer = saved.get(i);
+            addPosting(entries, transfer.getTransactionId(), TransactionType.TRANSFER,
+                    transfer.getFromAccountId(), postings.get(i).from(),
+                    transfer.getToAccountId(), postings.get(i).to(),
+                    transfer.getAmount(), transfer.getDescription(), transfer.getTransactionDate());
+        }
+        save(entries);
+        return saved;
+    }
+
+    /**
+     * Records a deposit: credits the account from outside the bank.
+     * Must run in the transaction that applied the balance change.
+     *
+     * @param deposit the deposit
+     * @return the saved deposit
+     */
+    @Transactional
+    public Deposit record(Deposit deposit) {
+        Deposit saved = depositRepository.save(deposit);
+        List<JournalEntry> entries = new ArrayList<>(2);
+        addPosting(entries, saved.getDepositId(), TransactionType.DEPOSIT,
+                JournalEntry.EXTERNAL_ACCOUNT_ID, null,
+                saved.getAccountId(), snapshot(saved.getAccountId()),
+                saved.getAmount(), null, saved.getTransactionDate());
+        save(entries);
+        return saved;
+    }
+
+    /**
+     * Records a withdrawal: debits the account to outside the bank.
+     * Must run in the transaction that applied the balance change.
+     *
+     * @param withdrawal the withdrawal
+     * @return the saved withdrawal
+     */
+    @Transactional
+    public Withdrawal record(Withdrawal withdrawal) {
+        Withdrawal saved = withdrawalRepository.save(withdrawal);
+        List<JournalEntry> entries = new ArrayList<>(2);
+        addPosting(entries, saved.getWithdrawalId(), TransactionType.WITHDRAWAL,
+                saved.getAccountId(), snapshot(saved.getAccountId()),
+                JournalEntry.EXTERNAL_ACCOUNT_ID, null,
+                saved.getAmount(), null, saved.getTransactionDate());
+        save(entries);
+        return saved;
+    }
+
+    /**
+     * Records a move from a customer account into a savings plan or fixed deposit: a transfer that debits
+     * the account and credits {@link JournalEntry#SAVINGS_PRODUCTS_ACCOUNT_ID}.
+     * Must run in the transaction that applied the balance change.
+     *
+     * @param accountId   the debited account id
+     * @param amount      the amount
+     * @param description what the move was for
+     * @return the posting id
+     */
+    @Transactional
+    public UUID recordInternalDebit(UUID accountId, BigDecimal amount, String description) {
+        UUID postingId = UUID.randomUUID();
+        List<JournalEntry> entries = new ArrayList<>(2);
+        addPosting(entries, postingId, TransactionType.TRANSFER,
+                accountId, snapshot(accountId),
+                JournalEntry.SAVINGS_PRODUCTS_ACCOUNT_ID, null,
+                amount, description, null);
+        save(entries);
+        return postingId;
+    }
+
+    /**
+     * Records a move from a savings plan or fixed deposit back to a customer account: a transfer that
+     * debits {@link JournalEntry#SAVINGS_PRODUCTS_ACCOUNT_ID} and credits the account.
+     * Must run in the transaction that applied the balance change.
+     *
+     * @param accountId   the credited account id
+     * @param amount      the amount
+     * @param description what the move was for
+     * @return the posting id
+     */
+    @Transactional
+    public UUID recordInternalCredit(UUID accountId, BigDecimal amount, String description) {
+        UUID postingId = UUID.randomUUID();
+        List<JournalEntry> entries = new ArrayList<>(2);
+        addPosting(entries, postingId, TransactionType.TRANSFER,
+                JournalEntry.SAVINGS_PRODUCTS_ACCOUNT_ID, null,
+                accountId, snapshot(accountId),
+                amount, description, null);
+        save(entries);
+        return postingId;
+    }
+
+    private void save(List<JournalEntry> entries) {
+        journalEntryRepository.saveAll(entries);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentActivityService.append(entries);
+            }
+        });
+    }
+
+    private BalanceSnapshot snapshot(UUID accountId) {
+        return accountRepository.findBalanceSnapshot(accountId).orElse(null);
+    }
+
+    private void addPosting(List<JournalEntry> entries, UUID postingId, TransactionType type,
+                            UUID debitAccountId, BalanceSnapshot debitBalance,
+                            UUID creditAccountId, BalanceSnapshot creditBalance,
+                            BigDecimal amount, String description, Date postedAt) {
+        Date at = postedAt != null ? postedAt : new Date();
+        entries.add(entry(postingId, type, EntrySide.DEBIT, debitAccountId, creditAccountId, debitBalance,
+                amount, description, at));
+        entries.add(entry(postingId, type, EntrySide.CREDIT, creditAccountId, debitAccountId, creditBalance,
+                amount, description, at));
+    }
+
+    private JournalEntry entry(UUID postingId, TransactionType type, EntrySide side, UUID accountId,
+                               UUID counterpartyAccountId, BalanceSnapshot balance, BigDecimal amount,
+                               String description, Date postedAt) {
+        JournalEntry entry = new JournalEntry();
+        entry.setPostingId(postingId);
+        entry.setTransactionType(type);
+        entry.setEntrySide(side);
+        entry.setAccountId(accountId);
+        entry.setCounterpartyAccountId(counterpartyAccountId);
+        entry.setAmount(amount);
+        entry.setDescription(description);
+        entry.setPostedAt(postedAt);
+        if (balance != null) {
+            entry.setBalanceAfter(balance.balance());
+            entry.setAccountSequence(balance.postingSequence());
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,322 @@
+package com.ndifreke.core_banking_api.service.transaction.posting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Commits concurrent postings together so they share one database commit.
+ * <p>
+ * Callers enqueue their posting and block. A single committer thread collects postings until the
+ * micro-window closes or the group is full, then runs the whole group in one transaction. Each posting
+ * runs under its own savepoint, so a posting that fails (for example on insufficient funds) is rolled
+ * back alone and its caller receives the same exception it would have received on its own. A savepoint
+ * only rolls back rows, not the persistence context, so each posting starts from an empty persistence
+ * context and flushes before its savepoint is released, and the context is cleared again when a posting
+ * rolls back; entities it changed can then not be written by the group commit. A posting that loses a
+ * lock or version race, or whose savepoint cannot be rolled back, aborts the whole group instead, since
+ * the rest of the group may no longer be intact. If the group is aborted or cannot commit, nothing from
+ * it is persisted and every caller re-runs its posting individually through {@link PostingRetryExecutor}.
+ * <p>
+ * Disabled by default; when disabled, or when the caller already has a transaction, postings go straight
+ * to {@link PostingRetryExecutor}.
+ */
+@Component
+public class GroupCommitExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitExecutor.class);
+
+    private final PostingRetryExecutor postingRetryExecutor;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate groupTemplate;
+
+    private final TransactionTemplate postingTemplate;
+
+    private final boolean enabled;
+
+    private final long windowNanos;
+
+    private final int maxGroupSize;
+
+    private final BlockingQueue<PendingPosting<?>> queue = new LinkedBlockingQueue<>();
+
+    private final DistributionSummary groupSize;
+
+    private final Counter fallbacks;
+
+    private final Thread committer;
+
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new Group commit executor.
+     *
+     * @param transactionManager   the transaction manager
+     * @param entityManager        the shared entity manager the postings use
+     * @param postingRetryExecutor the posting retry executor used when a group cannot commit
+     * @param meterRegistry        the meter registry
+     * @param enabled              whether postings are group committed
+     * @param windowMicros         how long the committer waits for more postings after the first one arrives
+     * @param maxGroupSize         the maximum number of postings per commit
+     */
+    public GroupCommitExecutor(PlatformTransactionManager transactionManager,
+                               EntityManager entityManager,
+                               PostingRetryExecutor postingRetryExecutor,
+                               MeterRegistry meterRegistry,
+                               @Value("${banking.posting.group-commit.enabled:false}") boolean enabled,
+                               @Value("${banking.posting.group-commit.window-micros:1500}") long windowMicros,
+                               @Value("${banking.posting.group-commit.max-size:64}") int maxGroupSize) {
+        this.postingRetryExecutor = postingRetryExecutor;
+        this.entityManager = entityManager;
+        this.groupTemplate = new TransactionTemplate(transactionManager);
+        this.postingTemplate = new TransactionTemplate(transactionManager);
+        this.postingTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxGroupSize = Math.max(1, maxGroupSize);
+        this.groupSize = DistributionSummary.builder("banking.posting.group.size")
+                .description("Postings committed per group commit")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("banking.posting.group.fallbacks")
+                .description("Group commits that failed and were re-run posting by posting")
+                .register(meterRegistry);
+        this.committer = new Thread(this::run, "posting-group-commit");
+        this.committer.setDaemon(true);
+        if (enabled) {
+            committer.start();
+        }
+        logger.info("Group commit initialised: enabled={}, windowMicros={}, maxGroupSize={}",
+                enabled, windowMicros, this.maxGroupSize);
+    }
+
+    /**
+     * Whether postings are group committed.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs the posting as part of the next group commit and waits for that commit.
+     *
+     * @param <T>      the result type
+     * @param endpoint the endpoint name used to tag retry metrics if the posting falls back
+     * @param posting  the posting
+     * @return the posting result, once it is committed
+     */
+    public <T> T execute(String endpoint, Supplier<T> posting) {
+        if (!enabled || !running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return postingRetryExecutor.execute(endpoint, posting);
+        }
+        PendingPosting<T> pending = new PendingPosting<>(posting);
+        queue.add(pending);
+        try {
+            return pending.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GroupAbortedException) {
+                return postingRetryExecutor.execute(endpoint, posting);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Posting failed", cause);
+        }
+    }
+
+    /**
+     * Stops the committer; postings still queued are re-run by their callers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        committer.interrupt();
+        abort(drain());
+    }
+
+    private void run() {
+        while (running) {
+            List<PendingPosting<?>> group;
+            try {
+                group = collect();
+            } catch (InterruptedException e) {
+                break;
+            }
+            try {
+                commit(group);
+            } catch (Throwable e) {
+                logger.error("Group commit failed unexpectedly", e);
+                abort(group);
+            }
+        }
+    }
+
+    private List<PendingPosting<?>> collect() throws InterruptedException {
+        List<PendingPosting<?>> group = new ArrayList<>();
+        group.add(queue.take());
+        long deadline = System.nanoTime() + windowNanos;
+        while (group.size() < maxGroupSize) {
+            if (queue.drainTo(group, maxGroupSize - group.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingPosting<?> next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                // Shutting down: still commit what has been collected so no caller is left waiting
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+        return group;
+    }
+
+    private void commit(List<PendingPosting<?>> group) {
+        try {
+            groupTemplate.executeWithoutResult(status -> {
+                for (PendingPosting<?> pending : group) {
+                    pending.apply(postingTemplate, entityManager);
+                }
+            });
+        } catch (RuntimeException e) {
+            fallbacks.increment();
+            logger.warn("Group commit of {} postings rolled back, re-running individually: {}",
+                    group.size(), e.getMessage());
+            abort(group);
+            return;
+        }
+        groupSize.record(group.size());
+        for (PendingPosting<?> pending : group) {
+            pending.complete();
+        }
+    }
+
+    private List<PendingPosting<?>> drain() {
+        List<PendingPosting<?>> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        return pending;
+    }
+
+    private static void abort(List<PendingPosting<?>> group) {
+        for (PendingPosting<?> pending : group) {
+            pending.result.completeExceptionally(GroupAbortedException.INSTANCE);
+        }
+    }
+
+    /**
+     * A queued posting and the outcome it produced inside the group transaction. The outcome is only
+     * handed to the caller once the group has committed.
+     */
+    private static final class PendingPosting<T> {
+
+        private final Supplier<T> posting;
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private T value;
+
+        private RuntimeException failure;
+
+        private PendingPosting(Supplier<T> posting) {
+            this.posting = posting;
+        }
+
+        private void apply(TransactionTemplate postingTemplate, EntityManager entityManager) {
+            // Rolling back to the savepoint does not drop the synchronizations the posting registered, so
+            // remember the group's own and restore them if the posting fails
+            List<TransactionSynchronization> before = TransactionSynchronizationManager.isSynchronizationActive()
+                    ? TransactionSynchronizationManager.getSynchronizations() : null;
+            entityManager.flush();
+            entityManager.clear();
+            try {
+                value = postingTemplate.execute(status -> {
+                    try {
+                        T result = posting.get();
+                        // Write the posting's changes while its savepoint can still roll them back
+                        entityManager.flush();
+                        return result;
+                    } catch (RuntimeException e) {
+                        failure = e;
+                        throw e;
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (e != failure || isConcurrencyFailure(e)) {
+                    // The savepoint could not be rolled back or released, or the database may have rolled
+                    // back the whole group (MySQL does so for a deadlock victim): abort the group
+                    throw e;
+                }
+                // The rows are back at the savepoint; drop the entities that still carry the posting's changes
+                entityManager.clear();
+                if (before != null) {
+                    TransactionSynchronizationManager.clearSynchronization();
+                    TransactionSynchronizationManager.initSynchronization();
+                    before.forEach(TransactionSynchronizationManager::registerSynchronization);
+                }
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+
+        private static boolean isConcurrencyFailure(RuntimeException e) {
+            return e instanceof ConcurrencyFailureException || e instanceof OptimisticLockException;
+        }
+    }
+
+    /**
+     * Signals a caller that its group did not commit and the posting must be re-run on its own.
+     */
+    private static final class GroupAbortedException extends RuntimeException {
+
+        private static final GroupAbortedException INSTANCE = new GroupAbortedException();
+
+        private GroupAbortedException() {
+            super("Group commit aborted", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ndifreke.core_banking_api.service.transaction.posting;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Routes postings onto a fixed set of single-writer lanes.
+ * <p>
+ * Every account is hashed to exactly one lane, so all postings for that account run one after
+ * another on the same thread while postings for accounts on other lanes run in parallel.
+ * <p>
+ * Transfers that touch two lanes use the following protocol:
+ * <ol>
+ *     <li>The lower-indexed lane is the owner and runs the posting; the higher-indexed lane is parked.</li>
+ *     <li>The park task and the owner task are enqueued under one sequencer lock, so every pair of
+ *     two-lane transfers is queued in the same relative order on every lane they share.</li>
+ *     <li>The owner waits until the parked lane reaches the park task, runs the posting, then releases it.</li>
+ * </ol>
+ * Because cross-lane transfers are queued in a single global order and single-lane postings never
+ * block, the oldest queued transfer can always make progress and lanes cannot deadlock.
+ * <p>
+ * Lanes are off by default ({@code banking.posting.lanes.enabled}); postings then run on the caller thread.
+ */
+@Component
+public class PostingLaneExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostingLaneExecutor.class);
+
+    private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
+
+    private final boolean enabled;
+
+    private final ExecutorService[] lanes;
+
+    private final Object transferSequencer = new Object();
+
+    /**
+     * Instantiates a new Posting lane executor.
+     *
+     * @param enabled   whether postings are routed onto lanes; when false they run on the caller thread
+     * @param laneCount the number of lanes, or 0 to use one lane per available core
+     */
+    public PostingLaneExecutor(@Value("${banking.posting.lanes.enabled:false}") boolean enabled,
+                               @Value("${banking.posting.lanes.count:0}") int laneCount) {
+        this.enabled = enabled;
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            final int lane = i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    CURRENT_LANE.set(lane);
+                    runnable.run();
+                }, "posting-lane-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        logger.info("Posting lanes initialised: enabled={}, lanes={}", enabled, count);
+    }
+
+    /**
+     * Runs a posting that touches a single account on that account's lane.
+     *
+     * @param <T>       the result type
+     * @param accountId the account id
+     * @param posting   the posting
+     * @return the posting result
+     */
+    public <T> T execute(UUID accountId, Supplier<T> posting) {
+        int lane = laneFor(accountId);
+        if (!enabled || Integer.valueOf(lane).equals(CURRENT_LANE.get())) {
+            return posting.get();
+        }
+        return await(lanes[lane].submit(posting::get));
+    }
+
+    /**
+     * Runs a transfer posting with both the source and destination account lanes held.
+     *
+     * @param <T>           the result type
+     * @param fromAccountId the from account id
+     * @param toAccountId   the to account id
+     * @param posting       the posting
+     * @return the posting result
+     */
+    public <T> T executeTransfer(UUID fromAccountId, UUID toAccountId, Supplier<T> posting) {
+        int fromLane = laneFor(fromAccountId);
+        int toLane = laneFor(toAccountId);
+        if (fromLane == toLane) {
+            return execute(fromAccountId, posting);
+        }
+        if (!enabled) {
+            return posting.get();
+        }
+        if (CURRENT_LANE.get() != null) {
+            throw new IllegalStateException("Two-lane transfers cannot be started from a posting lane");
+        }
+
+        int ownerLane = Math.min(fromLane, toLane);
+        int parkedLane = Math.max(fromLane, toLane);
+        CountDownLatch parked = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+
+        Future<T> result;
+        synchronized (transferSequencer) {
+            lanes[parkedLane].execute(() -> {
+                parked.countDown();
+                awaitUninterruptibly(released);
+            });
+            result = lanes[ownerLane].submit(() -> {
+                try {
+                    awaitUninterruptibly(parked);
+                    return posting.get();
+                } finally {
+                    released.countDown();
+                }
+            });
+        }
+        return await(result);
+    }
+
+    /**
+     * Returns the lane an account is pinned to.
+     *
+     * @param accountId the account id
+     * @return the lane index
+     */
+    public int laneFor(UUID accountId) {
+        int hash = accountId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    /**
+     * Gets the number of lanes.
+     *
+     * @return the lane count
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Stops accepting postings and drains the lanes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            try {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                lane.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for posting", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Posting failed", cause);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.ndifreke.core_banking_api.service.transaction.posting;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a posting in its own transaction and re-runs it when it loses a concurrency race.
+ * <p>
+ * Optimistic version conflicts and row-lock failures (deadlock victim, lock wait timeout) are retried
+ * with full-jitter exponential backoff, up to a per-call attempt limit. Retries also draw from a shared
+ * retry budget that is refilled by successful postings, so a hot account cannot turn every request into
+ * a burst of retries against the database.
+ * <p>
+ * Postings that run on a {@link PostingLaneExecutor} lane pass the lane as the runner of each attempt,
+ * so a posting waiting out its backoff does not hold up the other accounts on its lane.
+ */
+@Component
+public class PostingRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostingRetryExecutor.class);
+
+    private static final long TOKEN = 1_000;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+
+    private final long baseBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final long refillPerSuccess;
+
+    private final long maxTokens;
+
+    private final AtomicLong budget;
+
+    /**
+     * Instantiates a new Posting retry executor.
+     *
+     * @param transactionTemplate the transaction template
+     * @param meterRegistry       the meter registry
+     * @param maxAttempts         the maximum attempts per posting, including the first
+     * @param baseBackoffMillis   the backoff ceiling for the first retry
+     * @param maxBackoffMillis    the backoff ceiling for any retry
+     * @param budgetRatio         the retries earned per successful posting
+     * @param budgetMax           the maximum number of retries that can be banked
+     */
+    public PostingRetryExecutor(TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${banking.posting.retry.max-attempts:5}") int maxAttempts,
+                                @Value("${banking.posting.retry.base-backoff-ms:5}") long baseBackoffMillis,
+                                @Value("${banking.posting.retry.max-backoff-ms:200}") long maxBackoffMillis,
+                                @Value("${banking.posting.retry.budget-ratio:0.1}") double budgetRatio,
+                                @Value("${banking.posting.retry.budget-max:100}") int budgetMax) {
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.refillPerSuccess = Math.round(budgetRatio * TOKEN);
+        this.maxTokens = (long) budgetMax * TOKEN;
+        this.budget = new AtomicLong(maxTokens);
+    }
+
+    /**
+     * Runs the posting in a new transaction, retrying it on concurrency conflicts.
+     * When a transaction is already active the posting joins it and is not retried,
+     * because the outer transaction is already marked for rollback.
+     *
+     * @param <T>      the result type
+     * @param endpoint the endpoint name used to tag retry metrics
+     * @param posting  the posting
+     * @return the posting result
+     */
+    public <T> T execute(String endpoint, Supplier<T> posting) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return posting.get();
+        }
+        return execute(endpoint, posting, Supplier::get);
+    }
+
+    /**
+     * Runs the posting in a new transaction per attempt, handing each attempt to a runner such as a
+     * posting lane. The backoff between attempts sleeps on the calling thread, so the runner is free to
+     * run other postings while this one waits to retry.
+     *
+     * @param <T>      the result type
+     * @param endpoint the endpoint name used to tag retry metrics
+     * @param posting  the posting
+     * @param runner   runs one attempt and returns its result
+     * @return the posting result
+     */
+    public <T> T execute(String endpoint, Supplier<T> posting, Function<Supplier<T>, T> runner) {
+        Supplier<T> attempt = () -> transactionTemplate.execute(status -> posting.get());
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                T result = runner.apply(attempt);
+                refill();
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                beforeRetry(endpoint, attemptNumber, "optimistic", e);
+            } catch (CannotAcquireLockException e) {
+                beforeRetry(endpoint, attemptNumber, "lock", e);
+                meterRegistry.counter("banking.account.lock.deadlock.retries", "operation", endpoint).increment();
+            }
+        }
+    }
+
+    private void beforeRetry(String endpoint, int attempt, String cause, RuntimeException e) {
+        if (attempt >= maxAttempts || !tryAcquireRetryToken()) {
+            meterRegistry.counter("banking.posting.retries.exhausted", "endpoint", endpoint, "cause", cause).increment();
+            logger.warn("Giving up on {} posting after {} attempt(s): {}", endpoint, attempt, e.getMessage());
+            if ("lock".equals(cause)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Account is busy, please retry");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Account was updated concurrently, please retry");
+        }
+        meterRegistry.counter("banking.posting.retries", "endpoint", endpoint, "cause", cause).increment();
+        logger.debug("Concurrency conflict on {} posting, retrying (attempt {}): {}", endpoint, attempt, e.getMessage());
+        backoff(attempt);
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while retrying posting");
+        }
+    }
+
+    private boolean tryAcquireRetryToken() {
+        while (true) {
+            long current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private void refill() {
+        if (refillPerSuccess <= 0) {
+            return;
+        }
+        budget.accumulateAndGet(refillPerSuccess, (current, refill) -> Math.min(maxTokens, current + refill));
+    }
+}
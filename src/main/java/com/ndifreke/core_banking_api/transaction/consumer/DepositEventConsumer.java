@@ -1,22 +1,20 @@
 package com.ndifreke.core_banking_api.transaction.consumer;
 
-import com.ndifreke.core_banking_api.entity.Account;
-import com.ndifreke.core_banking_api.account.AccountService;
 import com.ndifreke.core_banking_api.service.notification.NotificationService;
+import com.ndifreke.core_banking_api.service.transaction.TransactionService;
 import com.ndifreke.core_banking_api.transaction.events.DepositEvent;
-import com.ndifreke.core_banking_api.entity.transaction.Deposit;
-import com.ndifreke.core_banking_api.repository.DepositRepository;
+import com.ndifreke.core_banking_api.transaction.events.service.TransactionEventService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.UUID;
-
 /**
  * The type Deposit event consumer.
+ * <p>
+ * Applies postings accepted in asynchronous mode. A redelivered event is skipped, and an event that
+ * fails transiently is rethrown so the listener container redelivers it.
  */
 @Component
 public class DepositEventConsumer {
@@ -24,10 +22,7 @@ public class DepositEventConsumer {
     private static final Logger logger = LoggerFactory.getLogger(DepositEventConsumer.class);
 
     @Autowired
-    private AccountService accountService;
-
-    @Autowired
-    private DepositRepository depositRepository;
+    private TransactionService transactionService;
 
     @Autowired
     private NotificationService notificationService;
@@ -37,23 +32,14 @@ public class DepositEventConsumer {
      *
      * @param event the event
      */
-    @KafkaListener(topics = "deposit-events", groupId = "core-banking-group")
-    public void consumeDepositEvent(DepositEvent event, UUID authenticatedUserId) {
+    @KafkaListener(topics = TransactionEventService.DEPOSIT_TOPIC, groupId = "core-banking-group")
+    public void consumeDepositEvent(DepositEvent event) {
         logger.info("Received deposit event: {}", event);
 
-        Account account = accountService.findAccountById(event.getAccountId()).orElseThrow();
-        BigDecimal newBalance = account.getBalance().add(event.getAmount());
-        account.setBalance(newBalance);
-        accountService.updateAccount(account, authenticatedUserId);
-
-        Deposit deposit = new Deposit();
-        deposit.setDepositId(event.getDepositId());
-        deposit.setAccountId(event.getAccountId());
-        deposit.setAmount(event.getAmount());
-        depositRepository.save(deposit);
-
-        notificationService.sendDepositNotification(event.getAccountId(), event.getAmount());
+        if (transactionService.applyQueuedDeposit(event.getDepositId(), event.getAccountId(), event.getAmount())) {
+            notificationService.sendDepositNotification(event.getAccountId(), event.getAmount());
+        }
 
         logger.info("Deposit event processed successfully");
     }
-}
\ No newline at end of file
+}
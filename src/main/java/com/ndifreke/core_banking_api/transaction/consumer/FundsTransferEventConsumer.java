@@ -1,22 +1,20 @@
 package com.ndifreke.core_banking_api.transaction.consumer;
 
-import com.ndifreke.core_banking_api.entity.Account;
-import com.ndifreke.core_banking_api.account.AccountService;
 import com.ndifreke.core_banking_api.service.notification.NotificationService;
+import com.ndifreke.core_banking_api.service.transaction.TransactionService;
 import com.ndifreke.core_banking_api.transaction.events.FundsTransferEvent;
-import com.ndifreke.core_banking_api.entity.transaction.Transfer;
-import com.ndifreke.core_banking_api.repository.TransferRepository;
+import com.ndifreke.core_banking_api.transaction.events.service.TransactionEventService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.UUID;
-
 /**
  * The type Funds transfer event consumer.
+ * <p>
+ * Applies postings accepted in asynchronous mode. A redelivered event is skipped, and an event that
+ * fails transiently is rethrown so the listener container redelivers it.
  */
 @Component
 public class FundsTransferEventConsumer {
@@ -24,10 +22,7 @@ public class FundsTransferEventConsumer {
     private static final Logger logger = LoggerFactory.getLogger(FundsTransferEventConsumer.class);
 
     @Autowired
-    private AccountService accountService;
-
-    @Autowired
-    private TransferRepository transferRepository;
+    private TransactionService transactionService;
 
     @Autowired
     private NotificationService notificationService;
@@ -37,31 +32,15 @@ public class FundsTransferEventConsumer {
      *
      * @param event the event
      */
-    @KafkaListener(topics = "funds-transfer-events", groupId = "core-banking-group")
-    public void consumeFundsTransferEvent(FundsTransferEvent event, UUID authenticatedUserId) {
+    @KafkaListener(topics = TransactionEventService.FUNDS_TRANSFER_TOPIC, groupId = "core-banking-group")
+    public void consumeFundsTransferEvent(FundsTransferEvent event) {
         logger.info("Received funds transfer event: {}", event);
 
-        Account fromAccount = accountService.findAccountById(event.getFromAccountId()).orElseThrow();
-        Account toAccount = accountService.findAccountById(event.getToAccountId()).orElseThrow();
-
-        BigDecimal newFromBalance = fromAccount.getBalance().subtract(event.getAmount());
-        BigDecimal newToBalance = toAccount.getBalance().add(event.getAmount());
-
-        fromAccount.setBalance(newFromBalance);
-        toAccount.setBalance(newToBalance);
-
-        accountService.updateAccount(fromAccount, authenticatedUserId);
-        accountService.updateAccount(toAccount, authenticatedUserId);
-
-        Transfer transfer = new Transfer();
-        transfer.setTransactionId(event.getTransferId());
-        transfer.setFromAccountId(event.getFromAccountId());
-        transfer.setToAccountId(event.getToAccountId());
-        transfer.setAmount(event.getAmount());
-        transferRepository.save(transfer);
-
-        notificationService.sendTransferNotification(event.getFromAccountId(), event.getToAccountId(), event.getAmount());
+        if (transactionService.applyQueuedTransfer(event.getTransferId(), event.getFromAccountId(),
+                event.getToAccountId(), event.getAmount(), event.getDescription())) {
+            notificationService.sendTransferNotification(event.getFromAccountId(), event.getToAccountId(), event.getAmount());
+        }
 
         logger.info("Funds transfer event processed successfully");
     }
-}
\ No newline at end of file
+}
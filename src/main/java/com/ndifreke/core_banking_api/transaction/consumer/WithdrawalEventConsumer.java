@@ -1,22 +1,20 @@
 package com.ndifreke.core_banking_api.transaction.consumer;
 
-import com.ndifreke.core_banking_api.entity.Account;
-import com.ndifreke.core_banking_api.account.AccountService;
 import com.ndifreke.core_banking_api.service.notification.NotificationService;
+import com.ndifreke.core_banking_api.service.transaction.TransactionService;
 import com.ndifreke.core_banking_api.transaction.events.WithdrawalEvent;
-import com.ndifreke.core_banking_api.entity.transaction.Withdrawal;
-import com.ndifreke.core_banking_api.repository.WithdrawalRepository;
+import com.ndifreke.core_banking_api.transaction.events.service.TransactionEventService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.UUID;
-
 /**
  * The type Withdrawal event consumer.
+ * <p>
+ * Applies postings accepted in asynchronous mode. A redelivered event is skipped, and an event that
+ * fails transiently is rethrown so the listener container redelivers it.
  */
 @Component
 public class WithdrawalEventConsumer {
@@ -24,10 +22,7 @@ public class WithdrawalEventConsumer {
     private static final Logger logger = LoggerFactory.getLogger(WithdrawalEventConsumer.class);
 
     @Autowired
-    private AccountService accountService;
-
-    @Autowired
-    private WithdrawalRepository withdrawalRepository;
+    private TransactionService transactionService;
 
     @Autowired
     private NotificationService notificationService;
@@ -37,23 +32,14 @@ public class WithdrawalEventConsumer {
      *
      * @param event the event
      */
-    @KafkaListener(topics = "withdrawal-events", groupId = "core-banking-group")
-    public void consumeWithdrawalEvent(WithdrawalEvent event, UUID authenticatedUserId) {
+    @KafkaListener(topics = TransactionEventService.WITHDRAWAL_TOPIC, groupId = "core-banking-group")
+    public void consumeWithdrawalEvent(WithdrawalEvent event) {
         logger.info("Received withdrawal event: {}", event);
 
-        Account account = accountService.findAccountById(event.getAccountId()).orElseThrow();
-        BigDecimal newBalance = account.getBalance().subtract(event.getAmount());
-        account.setBalance(newBalance);
-        accountService.updateAccount(account, authenticatedUserId);
-
-        Withdrawal withdrawal = new Withdrawal();
-        withdrawal.setWithdrawalId(event.getWithdrawalId());
-        withdrawal.setAccountId(event.getAccountId());
-        withdrawal.setAmount(event.getAmount());
-        withdrawalRepository.save(withdrawal);
-
-        notificationService.sendWithdrawalNotification(event.getAccountId(), event.getAmount());
+        if (transactionService.applyQueuedWithdrawal(event.getWithdrawalId(), event.getAccountId(), event.getAmount())) {
+            notificationService.sendWithdrawalNotification(event.getAccountId(), event.getAmount());
+        }
 
         logger.info("Withdrawal event processed successfully");
     }
-}
\ No newline at end of file
+}
@@ -11,6 +11,7 @@ public class FundsTransferEvent {
     private UUID fromAccountId;
     private UUID toAccountId;
     private BigDecimal amount;
+    private String description;
 
     /**
      * Instantiates a new Funds transfer event.
@@ -105,4 +106,22 @@ public class FundsTransferEvent {
     public void setAmount(BigDecimal amount) {
         this.amount = amount;
     }
+
+    /**
+     * Gets description.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets description.
+     *
+     * @param description the description
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
 }
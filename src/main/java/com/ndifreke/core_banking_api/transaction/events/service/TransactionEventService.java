@@ -1,200 +1,161 @@
 package com.ndifreke.core_banking_api.transaction.events.service;
 
-import com.ndifreke.core_banking_api.entity.Account;
-import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.entity.enums.PostingState;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.PostingStatus;
+import com.ndifreke.core_banking_api.repository.PostingStatusRepository;
 import com.ndifreke.core_banking_api.transaction.events.DepositEvent;
 import com.ndifreke.core_banking_api.transaction.events.FundsTransferEvent;
 import com.ndifreke.core_banking_api.transaction.events.WithdrawalEvent;
-import com.ndifreke.core_banking_api.dto.transaction.DepositResponse;
-import com.ndifreke.core_banking_api.dto.transaction.TransferResponse;
-import com.ndifreke.core_banking_api.dto.transaction.WithdrawalResponse;
-import com.ndifreke.core_banking_api.entity.transaction.Deposit;
-import com.ndifreke.core_banking_api.entity.transaction.Transfer;
-import com.ndifreke.core_banking_api.entity.transaction.Withdrawal;
-import com.ndifreke.core_banking_api.repository.DepositRepository;
-import com.ndifreke.core_banking_api.repository.TransferRepository;
-import com.ndifreke.core_banking_api.repository.WithdrawalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * The type Transaction event service.
+ * Publishes postings accepted in asynchronous mode.
+ * <p>
+ * Each posting gets a {@code PENDING} row in {@code posting_status} and an event on its Kafka topic,
+ * keyed by the debited (or, for deposits, credited) account so one account's postings are consumed in
+ * order. The caller only waits for the broker to acknowledge the event; the consumers apply the posting.
+ * Validation happens in {@code TransactionService} before anything is published.
+ * <p>
+ * Once the producer has taken an event, a failed or late acknowledgement does not prove the broker lost
+ * it, so the posting is still accepted and stays {@code PENDING} until a consumer applies or rejects it.
+ * Only an event the producer refused outright is discarded with its status row.
  */
 @Service
 public class TransactionEventService {
 
-    @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    /**
+     * The topic transfers are published to.
+     */
+    public static final String FUNDS_TRANSFER_TOPIC = "funds-transfer-events";
 
-    @Autowired
-    private AccountService accountService;
+    /**
+     * The topic deposits are published to.
+     */
+    public static final String DEPOSIT_TOPIC = "deposit-events";
 
-    @Autowired
-    private DepositRepository depositRepository;
+    /**
+     * The topic withdrawals are published to.
+     */
+    public static final String WITHDRAWAL_TOPIC = "withdrawal-events";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionEventService.class);
 
     @Autowired
-    private WithdrawalRepository withdrawalRepository;
+    private KafkaTemplate<String, Object> kafkaTemplate;
 
     @Autowired
-    private TransferRepository transferRepository;
+    private PostingStatusRepository postingStatusRepository;
 
+    @Value("${banking.posting.async.publish-timeout-ms:5000}")
+    private long publishTimeoutMs;
 
     /**
-     * Transfer funds transfer response.
+     * Publishes a transfer.
      *
      * @param fromAccountId       the from account id
      * @param toAccountId         the to account id
      * @param amount              the amount
      * @param description         the description
      * @param authenticatedUserId the authenticated user id
-     * @return the transfer response
+     * @return the pending posting
      */
-    @Transactional
-    public TransferResponse transferFunds(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description, UUID authenticatedUserId) {
-        // ... (validation logic) ...
-        validateAmount(amount, "transfer");
-
-        Account fromAccount = accountService.getAccountById(fromAccountId, authenticatedUserId);
-        Account toAccount = accountService.findAccountById(toAccountId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Destination account not found"));
-
-        if(fromAccountId == null || toAccountId == null){
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fromAccountId and toAccountId must not be null for transfer");
-        }
-
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient funds");
-        }
-
-        BigDecimal newFromBalance = fromAccount.getBalance().subtract(amount);
-        BigDecimal newToBalance = toAccount.getBalance().add(amount);
-
-        fromAccount.setBalance(newFromBalance);
-        toAccount.setBalance(newToBalance);
-
-        accountService.updateAccount(fromAccount, authenticatedUserId);
-        accountService.updateAccount(toAccount, authenticatedUserId);
-
-        Transfer transfer = new Transfer();
-        transfer.setFromAccountId(fromAccountId);
-        transfer.setToAccountId(toAccountId);
-        transfer.setAmount(amount);
-        transfer.setTransactionDate(new Date());
-        transfer.setTransactionId(UUID.randomUUID());
-        transferRepository.save(transfer);
-
-        // ... event creation ...
-
-        FundsTransferEvent event = new FundsTransferEvent(transfer.getTransactionId(), fromAccountId, toAccountId, amount);
-        kafkaTemplate.send("funds-transfer-events", event);
-
-        TransferResponse response = new TransferResponse();
-        response.setTransactionId(transfer.getTransactionId());
-        response.setFromAccountId(transfer.getFromAccountId());
-        response.setToAccountId(transfer.getToAccountId());
-        response.setAmount(transfer.getAmount());
-        response.setTransactionDate(transfer.getTransactionDate());
-        return response;
+    public PostingStatus publishTransfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description,
+                                        UUID authenticatedUserId) {
+        PostingStatus posting = createPending(TransactionType.TRANSFER, authenticatedUserId);
+        FundsTransferEvent event = new FundsTransferEvent(posting.getPostingId(), fromAccountId, toAccountId, amount);
+        event.setDescription(description);
+        publish(posting, FUNDS_TRANSFER_TOPIC, fromAccountId, event);
+        return posting;
     }
 
     /**
-     * Deposit funds deposit response.
+     * Publishes a deposit.
      *
      * @param accountId           the account id
      * @param amount              the amount
      * @param authenticatedUserId the authenticated user id
-     * @return the deposit response
+     * @return the pending posting
      */
-    @Transactional
-    public DepositResponse depositFunds(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
-        // ... (validation logic) ...
-        validateAmount(amount, "deposit");
-
-        Account account = accountService.getAccountById(accountId, authenticatedUserId);
-
-        BigDecimal newBalance = account.getBalance().add(amount);
-        account.setBalance(newBalance);
-
-        accountService.updateAccount(account, authenticatedUserId);
-
-        Deposit deposit = new Deposit();
-        deposit.setAccountId(accountId);
-        deposit.setAmount(amount);
-        deposit.setTransactionDate(new Date());
-        deposit.setDepositId(UUID.randomUUID());
-        depositRepository.save(deposit);
-
-        // ... event creation ...
-
-        DepositEvent event = new DepositEvent(deposit.getDepositId(), accountId, amount);
-        kafkaTemplate.send("deposit-events", event);
-
-        DepositResponse response = new DepositResponse();
-        response.setDepositId(deposit.getDepositId());
-        response.setAccountId(deposit.getAccountId());
-        response.setAmount(deposit.getAmount());
-        response.setTransactionDate(deposit.getTransactionDate());
-        return response;
+    public PostingStatus publishDeposit(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        PostingStatus posting = createPending(TransactionType.DEPOSIT, authenticatedUserId);
+        publish(posting, DEPOSIT_TOPIC, accountId, new DepositEvent(posting.getPostingId(), accountId, amount));
+        return posting;
     }
 
     /**
-     * Withdraw funds withdrawal response.
+     * Publishes a withdrawal.
      *
      * @param accountId           the account id
      * @param amount              the amount
      * @param authenticatedUserId the authenticated user id
-     * @return the withdrawal response
+     * @return the pending posting
      */
-    @Transactional
-    public WithdrawalResponse withdrawFunds(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
-        // ... (validation logic) ...
-        validateAmount(amount, "withdrawal");
+    public PostingStatus publishWithdrawal(UUID accountId, BigDecimal amount, UUID authenticatedUserId) {
+        PostingStatus posting = createPending(TransactionType.WITHDRAWAL, authenticatedUserId);
+        publish(posting, WITHDRAWAL_TOPIC, accountId, new WithdrawalEvent(posting.getPostingId(), accountId, amount));
+        return posting;
+    }
 
-        Account account = accountService.getAccountById(accountId, authenticatedUserId);
+    private PostingStatus createPending(TransactionType type, UUID userId) {
+        PostingStatus posting = new PostingStatus();
+        posting.setPostingId(UUID.randomUUID());
+        posting.setUserId(userId);
+        posting.setTransactionType(type);
+        posting.setState(PostingState.PENDING);
+        return postingStatusRepository.save(posting);
+    }
 
-        if (account.getBalance().compareTo(amount) < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient funds");
+    /**
+     * Sends the event and waits for the broker to acknowledge it. If the producer refuses the event the
+     * status row is removed and the caller is asked to retry. If the acknowledgement fails or does not
+     * arrive in time the event may still be delivered, so the row is kept and the posting reported as
+     * pending like any other.
+     */
+    private void publish(PostingStatus posting, String topic, UUID accountId, Object event) {
+        CompletableFuture<SendResult<String, Object>> sent;
+        try {
+            sent = kafkaTemplate.send(topic, accountId.toString(), event);
+        } catch (RuntimeException e) {
+            discard(posting, topic, e);
+            return;
         }
+        try {
+            sent.get(publishTimeoutMs, TimeUnit.MILLISECONDS);
+            logger.info("Posting accepted: postingId={}, type={}, topic={}",
+                    posting.getPostingId(), posting.getTransactionType(), topic);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unacknowledged(posting, topic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            unacknowledged(posting, topic, e);
+        }
+    }
 
-        BigDecimal newBalance = account.getBalance().subtract(amount);
-        account.setBalance(newBalance);
-
-        accountService.updateAccount(account, authenticatedUserId);
-
-        Withdrawal withdrawal = new Withdrawal();
-        withdrawal.setAccountId(accountId);
-        withdrawal.setAmount(amount);
-        withdrawal.setTransactionDate(new Date());
-        withdrawal.setWithdrawalId(UUID.randomUUID());
-        withdrawalRepository.save(withdrawal);
-
-        // ... event creation ...
-
-        WithdrawalEvent event = new WithdrawalEvent(withdrawal.getWithdrawalId(), accountId, amount);
-        kafkaTemplate.send("withdrawal-events", event);
-
-        WithdrawalResponse response = new WithdrawalResponse();
-        response.setWithdrawalId(withdrawal.getWithdrawalId());
-        response.setAccountId(withdrawal.getAccountId());
-        response.setAmount(withdrawal.getAmount());
-        response.setTransactionDate(withdrawal.getTransactionDate());
-        return response;
+    private void unacknowledged(PostingStatus posting, String topic, Exception cause) {
+        logger.warn("Posting {} sent to {} without acknowledgement, left pending: {}",
+                posting.getPostingId(), topic, cause.toString());
     }
 
-    private void validateAmount(BigDecimal amount, String operation) {
-        if (amount == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount cannot be null for " + operation);
-        }
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero for " + operation);
-        }
+    private void discard(PostingStatus posting, String topic, Exception cause) {
+        logger.error("Could not publish posting {} to {}: {}", posting.getPostingId(), topic, cause.getMessage());
+        postingStatusRepository.delete(posting);
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Posting could not be queued, please retry");
     }
-}
\ No newline at end of file
+}
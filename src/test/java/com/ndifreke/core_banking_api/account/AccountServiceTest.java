@@ -0,0 +1,112 @@
+package com.ndifreke.core_banking_api.account;
+
+import com.ndifreke.core_banking_api.exception.InsufficientFundsException;
+import com.ndifreke.core_banking_api.exception.NotFoundException;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountServiceTest {
+
+    private static final UUID LOW = new UUID(0x1000000000000000L, 0);
+    private static final UUID HIGH = new UUID(0xF000000000000000L, 0); // negative as a signed long
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountVersionService accountVersionService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BigDecimal amount = new BigDecimal("25.00");
+
+    private AccountService accountService;
+
+    @BeforeEach
+    void setUp() {
+        accountService = new AccountService(accountRepository, accountVersionService, meterRegistry);
+    }
+
+    @Test
+    void depositToAccount_Credited_MarksAccountChanged() {
+        when(accountRepository.creditBalance(LOW, amount)).thenReturn(1);
+
+        accountService.depositToAccount(LOW, amount);
+
+        verify(accountVersionService).changed(LOW);
+    }
+
+    @Test
+    void depositToAccount_UnknownAccount_ThrowsNotFound() {
+        when(accountRepository.creditBalance(LOW, amount)).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> accountService.depositToAccount(LOW, amount));
+
+        verify(accountVersionService, never()).changed(any());
+    }
+
+    @Test
+    void withdrawFromAccount_BalanceTooLow_ThrowsInsufficientFunds() {
+        when(accountRepository.debitBalance(LOW, amount)).thenReturn(0);
+        when(accountRepository.existsById(LOW)).thenReturn(true);
+
+        assertThrows(InsufficientFundsException.class, () -> accountService.withdrawFromAccount(LOW, amount));
+
+        verify(accountVersionService, never()).changed(any());
+    }
+
+    @Test
+    void withdrawFromAccount_UnknownAccount_ThrowsNotFound() {
+        when(accountRepository.debitBalance(LOW, amount)).thenReturn(0);
+        when(accountRepository.existsById(LOW)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> accountService.withdrawFromAccount(LOW, amount));
+    }
+
+    @Test
+    void transferBetweenAccounts_UpdatesLowerAccountFirst() {
+        when(accountRepository.debitBalance(any(), eq(amount))).thenReturn(1);
+        when(accountRepository.creditBalance(any(), eq(amount))).thenReturn(1);
+
+        accountService.transferBetweenAccounts(LOW, HIGH, amount);
+        accountService.transferBetweenAccounts(HIGH, LOW, amount);
+
+        InOrder order = inOrder(accountRepository);
+        order.verify(accountRepository).debitBalance(LOW, amount);
+        order.verify(accountRepository).creditBalance(HIGH, amount);
+        order.verify(accountRepository).creditBalance(LOW, amount);
+        order.verify(accountRepository).debitBalance(HIGH, amount);
+        assertEquals(2, meterRegistry.get("banking.account.transfer.update").timer().count());
+        assertEquals(4, meterRegistry.get("banking.account.lock.wait").timer().count());
+    }
+
+    @Test
+    void transferBetweenAccounts_BalanceTooLow_DoesNotCredit() {
+        when(accountRepository.debitBalance(LOW, amount)).thenReturn(0);
+        when(accountRepository.existsById(LOW)).thenReturn(true);
+
+        assertThrows(InsufficientFundsException.class,
+                () -> accountService.transferBetweenAccounts(LOW, HIGH, amount));
+
+        verify(accountRepository, never()).creditBalance(any(), any());
+    }
+
+    @Test
+    void lockOrder_ComparesUuidBytesUnsigned() {
+        assertTrue(AccountService.LOCK_ORDER.compare(LOW, HIGH) < 0);
+        assertTrue(LOW.compareTo(HIGH) > 0);
+    }
+}
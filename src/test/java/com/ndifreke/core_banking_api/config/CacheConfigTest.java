@@ -0,0 +1,60 @@
+package com.ndifreke.core_banking_api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that account evictions made inside a transaction wait for its commit.
+ */
+class CacheConfigTest {
+
+    private RedisCacheWriter cacheWriter;
+
+    private Cache accounts;
+
+    @BeforeEach
+    void setUp() {
+        cacheWriter = mock(RedisCacheWriter.class);
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(cacheWriter);
+        new CacheConfig().transactionAwareCaches().customize(builder);
+        RedisCacheManager cacheManager = builder.build();
+        cacheManager.afterPropertiesSet();
+        accounts = cacheManager.getCache("accounts");
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void evict_InsideTransaction_AppliedOnlyAfterCommit() {
+        accounts.evict("account:" + UUID.randomUUID());
+
+        verify(cacheWriter, never()).remove(any(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cacheWriter).remove(eq("accounts"), any());
+    }
+
+    @Test
+    void evict_TransactionRolledBack_NotApplied() {
+        accounts.evict("account:" + UUID.randomUUID());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(cacheWriter, never()).remove(any(), any());
+    }
+}
@@ -1,9 +1,11 @@
 package com.ndifreke.core_banking_api.controller;
 
 import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.account.AccountVersionService;
 import com.ndifreke.core_banking_api.dto.account.AccountRequest;
 import com.ndifreke.core_banking_api.entity.Account;
 import com.ndifreke.core_banking_api.exception.NotFoundException;
+import com.ndifreke.core_banking_api.service.transaction.BalanceCheckpointService;
 import com.ndifreke.core_banking_api.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,11 +14,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,6 +44,12 @@ class AccountControllerTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private AccountVersionService accountVersionService;
+
+    @Mock
+    private BalanceCheckpointService balanceCheckpointService;
+
     private UUID userId;
     private UUID accountId;
     private Account account;
@@ -171,19 +182,69 @@ class AccountControllerTest {
     void getAccountBalance_Success() {
         when(accountService.getAccountBalance(accountId, userId)).thenReturn(account.getBalance());
 
-        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, request);
+        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, null, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(account.getBalance(), response.getBody());
         verify(accountService, times(1)).getAccountBalance(accountId, userId);
     }
 
+    @Test
+    void getAccountBalance_SendsETag() {
+        when(accountVersionService.etag(accountId, "balance", userId)).thenReturn("\"v1-balance\"");
+        when(accountService.getAccountBalance(accountId, userId)).thenReturn(account.getBalance());
+
+        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, null, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v1-balance\"", response.getHeaders().getETag());
+        assertEquals(account.getBalance(), response.getBody());
+    }
+
+    @Test
+    void getAccountBalance_NotModified() {
+        when(accountVersionService.etag(accountId, "balance", userId)).thenReturn("\"v1-balance\"");
+        when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("W/\"v1-balance\"");
+
+        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, null, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1-balance\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void getAccountBalance_StaleETag() {
+        when(accountVersionService.etag(accountId, "balance", userId)).thenReturn("\"v2-balance\"");
+        when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"v1-balance\"");
+        when(accountService.getAccountBalance(accountId, userId)).thenReturn(account.getBalance());
+
+        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, null, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v2-balance\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getAccountBalance_AsOf() {
+        OffsetDateTime asOf = OffsetDateTime.parse("2024-03-01T12:00:00Z");
+        when(balanceCheckpointService.getBalanceAsOf(accountId, Date.from(asOf.toInstant()), userId))
+                .thenReturn(BigDecimal.valueOf(750.00));
+
+        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, asOf, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(BigDecimal.valueOf(750.00), response.getBody());
+        verifyNoInteractions(accountService, accountVersionService);
+    }
+
     @Test
     void getAccountBalance_NotFound() {
         when(accountService.getAccountBalance(accountId, userId))
                 .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
 
-        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, request);
+        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, null, request);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
@@ -197,7 +258,7 @@ class AccountControllerTest {
         when(accountService.getAccountBalance(accountId, differentUserId))
                 .thenThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
 
-        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, request);
+        ResponseEntity<BigDecimal> response = accountController.getAccountBalance(accountId, null, request);
 
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
         assertNull(response.getBody());
@@ -1,7 +1,13 @@
 package com.ndifreke.core_banking_api.controller;
 
+import com.ndifreke.core_banking_api.account.AccountVersionService;
 import com.ndifreke.core_banking_api.dto.transaction.*;
+import com.ndifreke.core_banking_api.entity.enums.PostingState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ndifreke.core_banking_api.service.transaction.BatchTransferService;
+import com.ndifreke.core_banking_api.service.transaction.TransactionExportService;
 import com.ndifreke.core_banking_api.service.transaction.TransactionService;
+import com.ndifreke.core_banking_api.service.transaction.idempotency.IdempotencyService;
 import com.ndifreke.core_banking_api.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -38,6 +51,21 @@ class TransactionControllerTest {
     @Mock
     private HttpServletRequest request;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private BatchTransferService batchTransferService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private AccountVersionService accountVersionService;
+
     private UUID userId;
     private UUID fromAccountId;
     private UUID toAccountId;
@@ -79,6 +107,45 @@ class TransactionControllerTest {
         verify(transactionService, times(1)).transferFunds(fromAccountId, toAccountId, BigDecimal.valueOf(100.00), "Test transfer", userId);
     }
 
+    @Test
+    void transferFunds_WithIdempotencyKey_ReplaysStoredResponse() {
+        TransferRequest transferRequest = new TransferRequest();
+        transferRequest.setFromAccountId(fromAccountId);
+        transferRequest.setToAccountId(toAccountId);
+        transferRequest.setAmount(BigDecimal.valueOf(100.00));
+        transferRequest.setDescription("Test transfer");
+
+        ResponseEntity<?> storedResponse = ResponseEntity.ok("{\"amount\":100}");
+        when(request.getHeader(IdempotencyService.IDEMPOTENCY_KEY_HEADER)).thenReturn("retry-key");
+        doReturn(storedResponse).when(idempotencyService).execute(eq(userId), eq("retry-key"), anyString(), any());
+
+        ResponseEntity<?> response = transactionController.transferFunds(transferRequest, request);
+
+        assertSame(storedResponse, response);
+        verify(transactionService, never()).transferFunds(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void transferFunds_WithIdempotencyKey_ReusedForDifferentRequest() {
+        TransferRequest transferRequest = new TransferRequest();
+        transferRequest.setFromAccountId(fromAccountId);
+        transferRequest.setToAccountId(toAccountId);
+        transferRequest.setAmount(BigDecimal.valueOf(100.00));
+        transferRequest.setDescription("Test transfer");
+
+        when(request.getHeader(IdempotencyService.IDEMPOTENCY_KEY_HEADER)).thenReturn("retry-key");
+        when(idempotencyService.execute(eq(userId), eq("retry-key"), anyString(), any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different request"));
+
+        ResponseEntity<?> response = transactionController.transferFunds(transferRequest, request);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        Map<String, String> body = (Map<String, String>) response.getBody();
+        assertEquals("Idempotency-Key was already used for a different request", body.get("message"));
+        verify(transactionService, never()).transferFunds(any(), any(), any(), any(), any());
+    }
+
     @Test
     void transferFunds_InvalidAmount() {
         TransferRequest transferRequest = new TransferRequest();
@@ -153,6 +220,74 @@ class TransactionControllerTest {
         verify(transactionService, times(1)).transferFunds(fromAccountId, toAccountId, BigDecimal.valueOf(100.00), "Test transfer", userId);
     }
 
+    @Test
+    void transferFunds_PreferRespondAsync_ReturnsAccepted() {
+        TransferRequest transferRequest = new TransferRequest();
+        transferRequest.setFromAccountId(fromAccountId);
+        transferRequest.setToAccountId(toAccountId);
+        transferRequest.setAmount(BigDecimal.valueOf(100.00));
+        transferRequest.setDescription("Test transfer");
+
+        PostingStatusResponse postingStatusResponse = new PostingStatusResponse();
+        postingStatusResponse.setPostingId(UUID.randomUUID());
+        postingStatusResponse.setState(PostingState.PENDING);
+
+        when(request.getHeader("Prefer")).thenReturn("respond-async");
+        when(request.getHeader(IdempotencyService.IDEMPOTENCY_KEY_HEADER)).thenReturn(null);
+        when(transactionService.isAsyncPostingEnabled()).thenReturn(true);
+        when(transactionService.transferFundsAsync(fromAccountId, toAccountId, BigDecimal.valueOf(100.00), "Test transfer", userId))
+                .thenReturn(postingStatusResponse);
+
+        ResponseEntity<?> response = transactionController.transferFunds(transferRequest, request);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(postingStatusResponse, response.getBody());
+        assertEquals("/api/transactions/status/" + postingStatusResponse.getPostingId(),
+                response.getHeaders().getLocation().toString());
+        verify(transactionService, never()).transferFunds(any(), any(), any(), any(), any());
+    }
+
+    // --- Batch Transfer Tests ---
+
+    @Test
+    void transferFundsBatch_Success() {
+        TransferRequest transferRequest = new TransferRequest();
+        transferRequest.setFromAccountId(fromAccountId);
+        transferRequest.setToAccountId(toAccountId);
+        transferRequest.setAmount(BigDecimal.valueOf(100.00));
+        BatchTransferRequest batchTransferRequest = new BatchTransferRequest();
+        batchTransferRequest.setTransfers(List.of(transferRequest));
+
+        BatchTransferResponse batchTransferResponse = new BatchTransferResponse();
+        batchTransferResponse.setTotal(1);
+        batchTransferResponse.setPosted(1);
+        batchTransferResponse.setResults(List.of(BatchTransferResult.posted(0, new TransferResponse())));
+
+        when(batchTransferService.transferFundsBatch(batchTransferRequest.getTransfers(), userId))
+                .thenReturn(batchTransferResponse);
+
+        ResponseEntity<?> response = transactionController.transferFundsBatch(batchTransferRequest, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(batchTransferResponse, response.getBody());
+        verify(batchTransferService, times(1)).transferFundsBatch(batchTransferRequest.getTransfers(), userId);
+    }
+
+    @Test
+    void transferFundsBatch_TooManyItems() {
+        BatchTransferRequest batchTransferRequest = new BatchTransferRequest();
+        batchTransferRequest.setTransfers(List.of(new TransferRequest()));
+
+        when(batchTransferService.transferFundsBatch(batchTransferRequest.getTransfers(), userId))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch cannot contain more than 10000 transfers"));
+
+        ResponseEntity<?> response = transactionController.transferFundsBatch(batchTransferRequest, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Map<String, String> body = (Map<String, String>) response.getBody();
+        assertEquals("A batch cannot contain more than 10000 transfers", body.get("message"));
+    }
+
     // --- Deposit Funds Tests ---
 
     @Test
@@ -298,44 +433,168 @@ class TransactionControllerTest {
         TransactionHistoryResponse historyResponse = new TransactionHistoryResponse();
         historyResponse.setTransactions(Collections.emptyList());
 
-        when(transactionService.getTransactionHistory(accountId, userId)).thenReturn(historyResponse);
+        when(transactionService.getTransactionHistory(accountId, null, null, userId)).thenReturn(historyResponse);
 
-        ResponseEntity<?> response = transactionController.getTransactionHistory(accountId, request);
+        ResponseEntity<?> response = transactionController.getTransactionHistory(accountId, null, null, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(historyResponse, response.getBody());
-        verify(transactionService, times(1)).getTransactionHistory(accountId, userId);
+        verify(transactionService, times(1)).getTransactionHistory(accountId, null, null, userId);
+    }
+
+    @Test
+    void getTransactionHistory_NotModified() {
+        UUID accountId = UUID.randomUUID();
+        when(accountVersionService.etag(accountId, "history", userId, null, 20)).thenReturn("\"v1-history\"");
+        when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"v1-history\"");
+
+        ResponseEntity<?> response = transactionController.getTransactionHistory(accountId, null, 20, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1-history\"", response.getHeaders().getETag());
+        verifyNoInteractions(transactionService);
     }
 
     @Test
     void getTransactionHistory_Forbidden() {
         UUID accountId = UUID.randomUUID();
 
-        when(transactionService.getTransactionHistory(accountId, userId))
+        when(transactionService.getTransactionHistory(accountId, null, null, userId))
                 .thenThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
 
-        ResponseEntity<?> response = transactionController.getTransactionHistory(accountId, request);
+        ResponseEntity<?> response = transactionController.getTransactionHistory(accountId, null, null, request);
 
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
         Map<String, String> body = (Map<String, String>) response.getBody();
         assertEquals("Forbidden", body.get("error"));
         assertEquals("Access denied", body.get("message"));
-        verify(transactionService, times(1)).getTransactionHistory(accountId, userId);
+        verify(transactionService, times(1)).getTransactionHistory(accountId, null, null, userId);
     }
 
     @Test
     void getTransactionHistory_NotFound() {
         UUID accountId = UUID.randomUUID();
 
-        when(transactionService.getTransactionHistory(accountId, userId))
+        when(transactionService.getTransactionHistory(accountId, null, null, userId))
                 .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
 
-        ResponseEntity<?> response = transactionController.getTransactionHistory(accountId, request);
+        ResponseEntity<?> response = transactionController.getTransactionHistory(accountId, null, null, request);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         Map<String, String> body = (Map<String, String>) response.getBody();
         assertEquals("Not Found", body.get("error"));
         assertEquals("Account not found", body.get("message"));
-        verify(transactionService, times(1)).getTransactionHistory(accountId, userId);
+        verify(transactionService, times(1)).getTransactionHistory(accountId, null, null, userId);
+    }
+
+    // --- Get Posting Status Tests ---
+
+    @Test
+    void getPostingStatus_Success() {
+        UUID postingId = UUID.randomUUID();
+        PostingStatusResponse postingStatusResponse = new PostingStatusResponse();
+        postingStatusResponse.setPostingId(postingId);
+        postingStatusResponse.setState(PostingState.POSTED);
+
+        when(transactionService.getPostingStatus(postingId, userId)).thenReturn(postingStatusResponse);
+
+        ResponseEntity<?> response = transactionController.getPostingStatus(postingId, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(postingStatusResponse, response.getBody());
+        verify(transactionService, times(1)).getPostingStatus(postingId, userId);
+    }
+
+    @Test
+    void getPostingStatus_NotFound() {
+        UUID postingId = UUID.randomUUID();
+
+        when(transactionService.getPostingStatus(postingId, userId))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Posting not found"));
+
+        ResponseEntity<?> response = transactionController.getPostingStatus(postingId, request);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Map<String, String> body = (Map<String, String>) response.getBody();
+        assertEquals("Not Found", body.get("error"));
+        assertEquals("Posting not found", body.get("message"));
+    }
+
+    // --- Activity Summary Tests ---
+
+    @Test
+    void getActivitySummary_Success() {
+        UUID accountId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        ActivitySummaryResponse summaryResponse = new ActivitySummaryResponse();
+        summaryResponse.setPeriods(Collections.emptyList());
+
+        when(transactionService.getActivitySummary(accountId, "month", from, to, userId)).thenReturn(summaryResponse);
+
+        ResponseEntity<?> response = transactionController.getActivitySummary(accountId, "month", from, to, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summaryResponse, response.getBody());
+    }
+
+    @Test
+    void getActivitySummary_InvalidPeriod() {
+        UUID accountId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+
+        when(transactionService.getActivitySummary(accountId, "year", from, to, userId))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Period must be day, week or month"));
+
+        ResponseEntity<?> response = transactionController.getActivitySummary(accountId, "year", from, to, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Map<String, String> body = (Map<String, String>) response.getBody();
+        assertEquals("Period must be day, week or month", body.get("message"));
+    }
+
+    // --- Export Transaction History Tests ---
+
+    @Test
+    void exportTransactionHistory_Csv() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        ResponseEntity<StreamingResponseBody> response =
+                transactionController.exportTransactionHistory(accountId, "csv", request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.parseMediaType("text/csv"), response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("transactions-" + accountId + ".csv"));
+        verify(transactionExportService, times(1)).checkAccess(accountId, userId);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(transactionExportService, times(1)).export(accountId, TransactionExportService.Format.CSV, out);
+    }
+
+    @Test
+    void exportTransactionHistory_UnknownFormat() {
+        UUID accountId = UUID.randomUUID();
+
+        ResponseEntity<StreamingResponseBody> response =
+                transactionController.exportTransactionHistory(accountId, "xml", request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(transactionExportService, never()).checkAccess(any(), any());
+    }
+
+    @Test
+    void exportTransactionHistory_Forbidden() {
+        UUID accountId = UUID.randomUUID();
+
+        doThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"))
+                .when(transactionExportService).checkAccess(accountId, userId);
+
+        ResponseEntity<StreamingResponseBody> response =
+                transactionController.exportTransactionHistory(accountId, "ndjson", request);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
+import com.ndifreke.core_banking_api.entity.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the single-statement balance updates against the embedded database.
+ */
+@DataJpaTest
+class AccountRepositoryTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        Account account = new Account();
+        account.setAccountNumber("ACC-1001");
+        account.setAccountType("SAVINGS");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setUserId(UUID.randomUUID());
+        accountId = entityManager.persistAndFlush(account).getAccountId();
+    }
+
+    @Test
+    void creditBalance_AddsAmountAndAdvancesSequence() {
+        assertEquals(1, accountRepository.creditBalance(accountId, new BigDecimal("25.50")));
+
+        BalanceSnapshot snapshot = accountRepository.findBalanceSnapshot(accountId).orElseThrow();
+        assertEquals(0, new BigDecimal("125.50").compareTo(snapshot.balance()));
+        assertEquals(1, snapshot.postingSequence());
+    }
+
+    @Test
+    void creditBalance_UnknownAccount_UpdatesNothing() {
+        assertEquals(0, accountRepository.creditBalance(UUID.randomUUID(), BigDecimal.TEN));
+    }
+
+    @Test
+    void debitBalance_Covered_SubtractsAmount() {
+        assertEquals(1, accountRepository.debitBalance(accountId, new BigDecimal("100.00")));
+
+        BalanceSnapshot snapshot = accountRepository.findBalanceSnapshot(accountId).orElseThrow();
+        assertEquals(0, BigDecimal.ZERO.compareTo(snapshot.balance()));
+        assertEquals(1, snapshot.postingSequence());
+    }
+
+    @Test
+    void debitBalance_NotCovered_LeavesBalanceAndSequence() {
+        assertEquals(0, accountRepository.debitBalance(accountId, new BigDecimal("100.01")));
+
+        BalanceSnapshot snapshot = accountRepository.findBalanceSnapshot(accountId).orElseThrow();
+        assertEquals(0, new BigDecimal("100.00").compareTo(snapshot.balance()));
+        assertEquals(0, snapshot.postingSequence());
+    }
+
+    @Test
+    void balanceUpdates_BumpVersion() {
+        accountRepository.creditBalance(accountId, BigDecimal.TEN);
+        accountRepository.debitBalance(accountId, BigDecimal.ONE);
+        entityManager.clear();
+
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(2, account.getVersion());
+        assertEquals(0, new BigDecimal("109.00").compareTo(account.getBalance()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.entity.BlacklistedAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stamps blacklist rows with the embedded database's clock and reads them back by it.
+ */
+@DataJpaTest
+class BlacklistedAccountRepositoryTest {
+
+    @Autowired
+    private BlacklistedAccountRepository blacklistedAccountRepository;
+
+    @Test
+    void saveAndFlush_StampsRowWithDatabaseClock() {
+        LocalDateTime before = blacklistedAccountRepository.currentTime();
+        BlacklistedAccount entry = new BlacklistedAccount();
+        entry.setAccountNumber("ACC-12345");
+        entry.setReason("Reported mule account");
+
+        BlacklistedAccount saved = blacklistedAccountRepository.saveAndFlush(entry);
+
+        assertNotNull(saved.getCreatedAt());
+        assertNotNull(saved.getUpdatedAt());
+        assertFalse(saved.getUpdatedAt().isBefore(before));
+        assertFalse(saved.getUpdatedAt().isAfter(blacklistedAccountRepository.currentTime()));
+        List<BlacklistedAccount> changed = blacklistedAccountRepository.findByUpdatedAtGreaterThanEqual(before);
+        assertEquals(1, changed.size());
+        assertEquals("ACC-12345", changed.get(0).getAccountNumber());
+    }
+}
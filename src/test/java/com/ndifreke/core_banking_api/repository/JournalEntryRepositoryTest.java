@@ -0,0 +1,130 @@
+package com.ndifreke.core_banking_api.repository;
+
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the per-period summary query on MySQL, whose date functions it uses, and checks the totals are
+ * mapped onto {@link JournalEntryRepository.PeriodTotals}. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class JournalEntryRepositoryTest {
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driverClassName", mysql::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 5, 1, 0, 0);
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // Monday 2 March and Wednesday 4 March share a week; Monday 9 March starts the next one
+        save(accountId, EntrySide.CREDIT, "100.00", LocalDateTime.of(2026, 3, 2, 10, 0));
+        save(accountId, EntrySide.DEBIT, "30.00", LocalDateTime.of(2026, 3, 2, 18, 0));
+        save(accountId, EntrySide.DEBIT, "20.00", LocalDateTime.of(2026, 3, 4, 10, 0));
+        save(accountId, EntrySide.CREDIT, "5.50", LocalDateTime.of(2026, 3, 9, 10, 0));
+        save(accountId, EntrySide.DEBIT, "7.25", LocalDateTime.of(2026, 4, 30, 23, 0));
+        // Outside the range or on another account
+        save(accountId, EntrySide.CREDIT, "1000.00", LocalDateTime.of(2026, 2, 28, 23, 0));
+        save(accountId, EntrySide.CREDIT, "1000.00", TO);
+        save(UUID.randomUUID(), EntrySide.CREDIT, "1000.00", LocalDateTime.of(2026, 3, 2, 10, 0));
+        journalEntryRepository.flush();
+    }
+
+    @Test
+    void sumByPeriod_Day_OneRowPerDayWithActivity() {
+        List<JournalEntryRepository.PeriodTotals> totals = journalEntryRepository.sumByPeriod(accountId, "DAY",
+                FROM, TO);
+
+        assertEquals(4, totals.size());
+        assertTotals(totals.get(0), LocalDate.of(2026, 3, 2), "100.00", "30.00", 1, 1);
+        assertTotals(totals.get(1), LocalDate.of(2026, 3, 4), "0", "20.00", 0, 1);
+        assertTotals(totals.get(2), LocalDate.of(2026, 3, 9), "5.50", "0", 1, 0);
+        assertTotals(totals.get(3), LocalDate.of(2026, 4, 30), "0", "7.25", 0, 1);
+    }
+
+    @Test
+    void sumByPeriod_Week_StartsOnMonday() {
+        List<JournalEntryRepository.PeriodTotals> totals = journalEntryRepository.sumByPeriod(accountId, "WEEK",
+                FROM, TO);
+
+        assertEquals(3, totals.size());
+        assertTotals(totals.get(0), LocalDate.of(2026, 3, 2), "100.00", "50.00", 1, 2);
+        assertTotals(totals.get(1), LocalDate.of(2026, 3, 9), "5.50", "0", 1, 0);
+        assertTotals(totals.get(2), LocalDate.of(2026, 4, 27), "0", "7.25", 0, 1);
+    }
+
+    @Test
+    void sumByPeriod_Month_StartsOnTheFirst() {
+        List<JournalEntryRepository.PeriodTotals> totals = journalEntryRepository.sumByPeriod(accountId, "MONTH",
+                FROM, TO);
+
+        assertEquals(2, totals.size());
+        assertTotals(totals.get(0), LocalDate.of(2026, 3, 1), "105.50", "50.00", 2, 2);
+        assertTotals(totals.get(1), LocalDate.of(2026, 4, 1), "0", "7.25", 0, 1);
+    }
+
+    @Test
+    void sumByPeriod_NoActivity_Empty() {
+        assertTrue(journalEntryRepository.sumByPeriod(UUID.randomUUID(), "DAY", FROM, TO).isEmpty());
+    }
+
+    private static void assertTotals(JournalEntryRepository.PeriodTotals totals, LocalDate periodStart,
+                                     String credits, String debits, long creditCount, long debitCount) {
+        assertEquals(periodStart, totals.getPeriodStart());
+        assertEquals(0, new BigDecimal(credits).compareTo(totals.getTotalCredits()), "credits " + periodStart);
+        assertEquals(0, new BigDecimal(debits).compareTo(totals.getTotalDebits()), "debits " + periodStart);
+        assertEquals(creditCount, totals.getCreditCount());
+        assertEquals(debitCount, totals.getDebitCount());
+    }
+
+    private void save(UUID account, EntrySide side, String amount, LocalDateTime postedAt) {
+        JournalEntry entry = new JournalEntry();
+        entry.setPostingId(UUID.randomUUID());
+        entry.setAccountId(account);
+        entry.setCounterpartyAccountId(JournalEntry.EXTERNAL_ACCOUNT_ID);
+        entry.setEntrySide(side);
+        entry.setAmount(new BigDecimal(amount));
+        entry.setTransactionType(side == EntrySide.CREDIT ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL);
+        entry.setPostedAt(Date.from(postedAt.atZone(ZoneId.systemDefault()).toInstant()));
+        journalEntryRepository.save(entry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ndifreke.core_banking_api.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with EXPLAIN that a history page is answered from the journal's index on MySQL.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // ANALYZE TABLE commits implicitly
+class JournalHistoryQueryPlanTest {
+
+    private static final int ACCOUNTS = 200;
+    private static final int ROWS_PER_ACCOUNT = 20;
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driverClassName", mysql::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> accountIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(UUID.randomUUID());
+        }
+        List<Object[]> journal = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < ACCOUNTS * ROWS_PER_ACCOUNT; i++) {
+            UUID from = accountIds.get(i % ACCOUNTS);
+            UUID to = accountIds.get((i + 1) % ACCOUNTS);
+            Timestamp at = new Timestamp(now - i * 1000L);
+            journal.add(new Object[]{bytes(UUID.randomUUID()), bytes(UUID.randomUUID()), bytes(from), bytes(to),
+                    BigDecimal.TEN, at});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO journal_entries (entry_id, posting_id, account_id, "
+                + "counterparty_account_id, entry_side, amount, transaction_type, posted_at) "
+                + "VALUES (?, ?, ?, ?, 'DEBIT', ?, 'TRANSFER', ?)", journal);
+        jdbcTemplate.execute("ANALYZE TABLE journal_entries");
+    }
+
+    @Test
+    void journalHistoryPage_ReadInIndexOrder() {
+        List<Map<String, Object>> plan = explain("SELECT * FROM journal_entries WHERE account_id = ? "
+                + "ORDER BY posted_at DESC, entry_id DESC LIMIT 51", bytes(accountIds.get(7)));
+
+        assertEquals(1, plan.size(), plan.toString());
+        assertEquals("idx_journal_account_posted", plan.get(0).get("key"), plan.toString());
+        assertFalse(String.valueOf(plan.get(0).get("Extra")).contains("filesort"), plan.toString());
+    }
+
+    private List<Map<String, Object>> explain(String sql, Object... args) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import com.ndifreke.core_banking_api.entity.BlacklistedAccount;
+import com.ndifreke.core_banking_api.repository.BlacklistedAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBlacklistTest {
+
+    @InjectMocks
+    private AccountBlacklist accountBlacklist;
+
+    @Mock
+    private BlacklistedAccountRepository blacklistedAccountRepository;
+
+    private final LocalDateTime databaseTime = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountBlacklist, "falsePositiveRate", 0.01);
+        when(blacklistedAccountRepository.currentTime()).thenReturn(databaseTime);
+        when(blacklistedAccountRepository.findByActiveTrue()).thenReturn(List.of(entry("ACC-12345", true)));
+        accountBlacklist.load();
+    }
+
+    @Test
+    void contains_OnlyLoadedAccounts() {
+        assertTrue(accountBlacklist.contains("ACC-12345"));
+        assertFalse(accountBlacklist.contains("ACC-67890"));
+        assertFalse(accountBlacklist.contains(null));
+    }
+
+    @Test
+    void refresh_AppliesAdditionsAndRemovals() {
+        when(blacklistedAccountRepository.findByUpdatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(entry("ACC-12345", false), entry("ACC-67890", true)));
+
+        accountBlacklist.refresh();
+
+        assertFalse(accountBlacklist.contains("ACC-12345"));
+        assertTrue(accountBlacklist.contains("ACC-67890"));
+    }
+
+    @Test
+    void refresh_ReadsFromDatabaseClockOfPreviousRefresh() {
+        when(blacklistedAccountRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+
+        accountBlacklist.refresh();
+
+        verify(blacklistedAccountRepository).findByUpdatedAtGreaterThanEqual(databaseTime.minusSeconds(60));
+    }
+
+    @Test
+    void add_StoresEntryAndAppliesItAtOnce() {
+        when(blacklistedAccountRepository.findById("ACC-67890")).thenReturn(Optional.empty());
+        when(blacklistedAccountRepository.findByUpdatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(entry("ACC-67890", true)));
+
+        accountBlacklist.add("ACC-67890", "Reported mule account");
+
+        verify(blacklistedAccountRepository).save(argThat(saved ->
+                saved.getAccountNumber().equals("ACC-67890") && saved.isActive()
+                        && "Reported mule account".equals(saved.getReason())));
+        assertTrue(accountBlacklist.contains("ACC-67890"));
+    }
+
+    @Test
+    void remove_NotBlacklisted_NotFound() {
+        when(blacklistedAccountRepository.findById("ACC-67890")).thenReturn(Optional.of(entry("ACC-67890", false)));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> accountBlacklist.remove("ACC-67890"));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        verify(blacklistedAccountRepository, never()).save(any());
+    }
+
+    private static BlacklistedAccount entry(String accountNumber, boolean active) {
+        BlacklistedAccount entry = new BlacklistedAccount();
+        entry.setAccountNumber(accountNumber);
+        entry.setActive(active);
+        return entry;
+    }
+}
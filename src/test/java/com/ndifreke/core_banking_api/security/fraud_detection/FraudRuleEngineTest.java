@@ -0,0 +1,96 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import com.ndifreke.core_banking_api.entity.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudRuleEngineTest {
+
+    @Mock
+    private FraudRule cheapRule;
+
+    @Mock
+    private FraudRule remoteRule;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FraudCheck check = new FraudCheck(account("ACC-1"), account("ACC-2"), new BigDecimal("100.00"));
+
+    @Test
+    void evaluate_RunsCheapRulesFirst() {
+        stubRule(cheapRule, "cheap", 1);
+        stubRule(remoteRule, "remote", FraudRule.REMOTE_COST);
+        FraudRuleEngine engine = new FraudRuleEngine(List.of(remoteRule, cheapRule), meterRegistry);
+
+        assertNull(engine.evaluate(check));
+
+        InOrder order = inOrder(cheapRule, remoteRule);
+        order.verify(cheapRule).evaluate(check);
+        order.verify(remoteRule).evaluate(check);
+        assertEquals(1, meterRegistry.get("banking.fraud.evaluation").tag("result", "passed").timer().count());
+        assertEquals(1, meterRegistry.get("banking.fraud.rule.duration").tag("rule", "remote").timer().count());
+    }
+
+    @Test
+    void evaluate_BlockedByCheapRule_SkipsRemoteRule() {
+        stubRule(cheapRule, "cheap", 1);
+        stubRule(remoteRule, "remote", FraudRule.REMOTE_COST);
+        when(cheapRule.evaluate(check)).thenReturn("Blocked");
+        FraudRuleEngine engine = new FraudRuleEngine(List.of(remoteRule, cheapRule), meterRegistry);
+
+        assertEquals("Blocked", engine.evaluate(check));
+
+        verify(remoteRule, never()).evaluate(any());
+        verify(cheapRule, never()).release(any());
+        assertEquals(1, meterRegistry.get("banking.fraud.rule.hits").tag("rule", "cheap").counter().count());
+        assertEquals(1, meterRegistry.get("banking.fraud.evaluation").tag("result", "blocked").timer().count());
+    }
+
+    @Test
+    void evaluate_BlockedByLaterRule_ReleasesEarlierRules() {
+        stubRule(cheapRule, "cheap", 1);
+        stubRule(remoteRule, "remote", FraudRule.REMOTE_COST);
+        when(remoteRule.evaluate(check)).thenReturn("Blocked");
+        FraudRuleEngine engine = new FraudRuleEngine(List.of(cheapRule, remoteRule), meterRegistry);
+
+        assertEquals("Blocked", engine.evaluate(check));
+
+        verify(cheapRule).release(check);
+        verify(remoteRule, never()).release(any());
+        assertEquals(0, meterRegistry.get("banking.fraud.rule.hits").tag("rule", "cheap").counter().count());
+    }
+
+    @Test
+    void release_ReleasesEveryRule() {
+        stubRule(cheapRule, "cheap", 1);
+        stubRule(remoteRule, "remote", FraudRule.REMOTE_COST);
+        FraudRuleEngine engine = new FraudRuleEngine(List.of(cheapRule, remoteRule), meterRegistry);
+
+        engine.release(check);
+
+        verify(cheapRule).release(check);
+        verify(remoteRule).release(check);
+    }
+
+    private static void stubRule(FraudRule rule, String name, int cost) {
+        when(rule.getName()).thenReturn(name);
+        when(rule.getCost()).thenReturn(cost);
+    }
+
+    private static Account account(String accountNumber) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        return account;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudThresholdsTest {
+
+    @InjectMocks
+    private FraudThresholds fraudThresholds;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fraudThresholds, "defaultLargeTransferThreshold", new BigDecimal("500000.00"));
+        ReflectionTestUtils.setField(fraudThresholds, "defaultHighFrequencyTransactionLimit", 5);
+        ReflectionTestUtils.setField(fraudThresholds, "defaultHighFrequencyTimeframeMinutes", 10);
+        ReflectionTestUtils.setField(fraudThresholds, "current",
+                new FraudThresholds.Values(new BigDecimal("500000.00"), 5, 10));
+    }
+
+    @Test
+    void update_WritesOnlyGivenFieldsAndKeepsOtherNodesChanges() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        // Another node raised the threshold after this node last refreshed
+        when(hashOperations.entries("fraud:thresholds")).thenReturn(Map.of(
+                "largeTransferThreshold", "750000.00",
+                "highFrequencyTransactionLimit", "8"));
+
+        FraudThresholds.Values updated = fraudThresholds.update(new FraudThresholds.Values(null, 8, null));
+
+        verify(hashOperations).putAll("fraud:thresholds", Map.of("highFrequencyTransactionLimit", "8"));
+        assertEquals(new FraudThresholds.Values(new BigDecimal("750000.00"), 8, 10), updated);
+        assertEquals(updated, fraudThresholds.current());
+    }
+
+    @Test
+    void update_InvalidField_RejectedWithoutWriting() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> fraudThresholds.update(new FraudThresholds.Values(null, 0, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalVelocityTrackerTest {
+
+    private static final int LIMIT = 5;
+
+    private final FraudThresholds fraudThresholds = mock(FraudThresholds.class);
+
+    private final LocalVelocityTracker tracker = new LocalVelocityTracker(fraudThresholds);
+
+    @BeforeEach
+    void setUp() {
+        when(fraudThresholds.current()).thenReturn(thresholds(LIMIT));
+    }
+
+    @Test
+    void tryRecord_RejectsOnceLimitIsReached() {
+        for (int i = 0; i < LIMIT; i++) {
+            assertNotEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+        }
+
+        assertEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+        assertNotEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-2"));
+    }
+
+    @Test
+    void release_FreesTheSlot() {
+        long last = LocalVelocityTracker.REJECTED;
+        for (int i = 0; i < LIMIT; i++) {
+            last = tracker.tryRecord("ACC-1");
+        }
+
+        tracker.release("ACC-1", last);
+
+        assertNotEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+        assertEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+    }
+
+    @Test
+    void sweep_KeepsAccountsWithTransfersInTheWindow() {
+        for (int i = 0; i < LIMIT; i++) {
+            tracker.tryRecord("ACC-1");
+        }
+
+        tracker.sweep();
+
+        assertEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+    }
+
+    @Test
+    void tryRecord_ConcurrentTransfersNeverExceedLimit() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int accepted = 0;
+                for (int i = 0; i < 100; i++) {
+                    if (tracker.tryRecord("ACC-1") != LocalVelocityTracker.REJECTED) {
+                        accepted++;
+                    }
+                }
+                return accepted;
+            }));
+        }
+        start.countDown();
+        int accepted = 0;
+        for (Future<Integer> result : results) {
+            accepted += result.get();
+        }
+        executor.shutdown();
+
+        assertEquals(LIMIT, accepted);
+    }
+
+    @Test
+    void tryRecord_LimitLowered_KeepsNewestTimestamps() {
+        for (int i = 0; i < LIMIT - 1; i++) {
+            tracker.tryRecord("ACC-1");
+        }
+        when(fraudThresholds.current()).thenReturn(thresholds(2));
+
+        assertEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+
+        when(fraudThresholds.current()).thenReturn(thresholds(LIMIT));
+        assertNotEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+        assertNotEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+        assertNotEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+        assertEquals(LocalVelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+    }
+
+    private static FraudThresholds.Values thresholds(int limit) {
+        return new FraudThresholds.Values(new BigDecimal("500000.00"), limit, 10);
+    }
+}
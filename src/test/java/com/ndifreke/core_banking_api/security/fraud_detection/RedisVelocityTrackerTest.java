@@ -0,0 +1,68 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisVelocityTrackerTest {
+
+    @InjectMocks
+    private RedisVelocityTracker tracker;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private LocalVelocityTracker fallback;
+
+    @Mock
+    private FraudThresholds fraudThresholds;
+
+    @BeforeEach
+    void setUp() {
+        when(fraudThresholds.current()).thenReturn(new FraudThresholds.Values(new BigDecimal("500000.00"), 5, 10));
+    }
+
+    @Test
+    void tryRecord_ScriptAddedSlot_ReturnsSlot() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("velocity:ACC-1")), any(), any(), any()))
+                .thenReturn(1L);
+
+        long slot = tracker.tryRecord("ACC-1");
+
+        assertTrue(slot >= 0);
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void tryRecord_LimitReached_Rejected() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("velocity:ACC-1")), any(), any(), any()))
+                .thenReturn(0L);
+
+        assertEquals(VelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+    }
+
+    @Test
+    void tryRecord_RedisDown_CountsOnThisNode() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("velocity:ACC-1")), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(fallback.tryRecord("ACC-1")).thenReturn(VelocityTracker.REJECTED);
+
+        assertEquals(VelocityTracker.REJECTED, tracker.tryRecord("ACC-1"));
+    }
+}
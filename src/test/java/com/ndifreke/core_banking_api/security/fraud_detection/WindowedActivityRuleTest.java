@@ -0,0 +1,71 @@
+package com.ndifreke.core_banking_api.security.fraud_detection;
+
+import com.ndifreke.core_banking_api.entity.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WindowedActivityRuleTest {
+
+    @InjectMocks
+    private WindowedActivityRule rule;
+
+    @Mock
+    private AccountActivityStreams accountActivityStreams;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rule, "maxPostings", 3L);
+        ReflectionTestUtils.setField(rule, "maxAmount", new BigDecimal("1000.00"));
+    }
+
+    @Test
+    void evaluate_WithinLimits_Passes() {
+        when(accountActivityStreams.recentActivity(accountId))
+                .thenReturn(new AccountActivity(2, new BigDecimal("500.00")));
+
+        assertNull(rule.evaluate(check(new BigDecimal("500.00"))));
+    }
+
+    @Test
+    void evaluate_TooManyPostings_Blocked() {
+        when(accountActivityStreams.recentActivity(accountId))
+                .thenReturn(new AccountActivity(3, new BigDecimal("10.00")));
+
+        assertEquals(WindowedActivityRule.REASON, rule.evaluate(check(new BigDecimal("1.00"))));
+    }
+
+    @Test
+    void evaluate_AmountOverWindowLimit_Blocked() {
+        when(accountActivityStreams.recentActivity(accountId))
+                .thenReturn(new AccountActivity(1, new BigDecimal("900.00")));
+
+        assertEquals(WindowedActivityRule.REASON, rule.evaluate(check(new BigDecimal("100.01"))));
+    }
+
+    @Test
+    void evaluate_StoreNotQueryable_Passes() {
+        when(accountActivityStreams.recentActivity(accountId)).thenReturn(null);
+
+        assertNull(rule.evaluate(check(new BigDecimal("5000.00"))));
+    }
+
+    private FraudCheck check(BigDecimal amount) {
+        Account from = new Account();
+        from.setAccountId(accountId);
+        return new FraudCheck(from, new Account(), amount);
+    }
+}
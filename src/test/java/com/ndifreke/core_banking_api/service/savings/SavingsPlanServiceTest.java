@@ -0,0 +1,118 @@
+package com.ndifreke.core_banking_api.service.savings;
+
+import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.entity.Account;
+import com.ndifreke.core_banking_api.entity.SavingsPlan;
+import com.ndifreke.core_banking_api.entity.User;
+import com.ndifreke.core_banking_api.entity.enums.savings.SavingsPlanStatus;
+import com.ndifreke.core_banking_api.exception.InsufficientFundsException;
+import com.ndifreke.core_banking_api.repository.SavingsPlanRepository;
+import com.ndifreke.core_banking_api.repository.UserRepository;
+import com.ndifreke.core_banking_api.service.notification.MailService;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingRetryExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavingsPlanServiceTest {
+
+    @InjectMocks
+    private SavingsPlanService savingsPlanService;
+
+    @Mock
+    private SavingsPlanRepository savingsPlanRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private MailService mailService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostingRetryExecutor postingRetryExecutor;
+
+    @Mock
+    private JournalService journalService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID planId = UUID.randomUUID();
+    private final UUID accountId = UUID.randomUUID();
+
+    private SavingsPlan plan;
+    private Account savingsAccount;
+
+    @BeforeEach
+    void setUp() {
+        plan = new SavingsPlan();
+        plan.setPlanId(planId);
+        plan.setUserId(userId);
+        plan.setPlanName("Holiday");
+        plan.setCurrentBalance(new BigDecimal("50.00"));
+        plan.setStatus(SavingsPlanStatus.ACTIVE);
+
+        savingsAccount = new Account();
+        savingsAccount.setAccountId(accountId);
+        savingsAccount.setAccountNumber("ACC-SAVINGS");
+        savingsAccount.setBalance(new BigDecimal("100.00"));
+
+        when(savingsPlanRepository.findById(planId)).thenReturn(Optional.of(plan));
+        when(accountService.getUserSavingsAccount(userId)).thenReturn(savingsAccount);
+        when(postingRetryExecutor.execute(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    void depositToSavingsPlan_JournalsTheDebitOfTheSavingsAccount() {
+        when(savingsPlanRepository.save(plan)).thenReturn(plan);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+
+        savingsPlanService.depositToSavingsPlan(planId, new BigDecimal("30.00"), userId);
+
+        verify(journalService).recordInternalDebit(accountId, new BigDecimal("30.00"), "Savings plan deposit: Holiday");
+        assertEquals(new BigDecimal("80.00"), plan.getCurrentBalance());
+    }
+
+    @Test
+    void withdrawFromSavingsPlan_JournalsTheCreditOfTheSavingsAccount() {
+        when(savingsPlanRepository.save(plan)).thenReturn(plan);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+
+        savingsPlanService.withdrawFromSavingsPlan(planId, new BigDecimal("20.00"), userId);
+
+        verify(journalService).recordInternalCredit(accountId, new BigDecimal("20.00"), "Savings plan withdrawal: Holiday");
+        assertEquals(new BigDecimal("30.00"), plan.getCurrentBalance());
+    }
+
+    @Test
+    void depositToSavingsPlan_DebitRefused_JournalsNothing() {
+        doThrow(new InsufficientFundsException("Insufficient balance"))
+                .when(accountService).withdrawFromAccount(accountId, new BigDecimal("30.00"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> savingsPlanService.depositToSavingsPlan(planId, new BigDecimal("30.00"), userId));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(journalService);
+        verify(savingsPlanRepository, never()).save(any());
+    }
+}
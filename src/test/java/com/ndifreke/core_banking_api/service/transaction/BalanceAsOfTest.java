@@ -0,0 +1,117 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.entity.Account;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.Deposit;
+import com.ndifreke.core_banking_api.entity.transaction.Withdrawal;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import com.ndifreke.core_banking_api.service.transaction.activity.RecentActivityService;
+import com.ndifreke.core_banking_api.service.transaction.archive.ArchiveService;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Answers point-in-time balances against the embedded database, with balance changes between the
+ * checkpoint and the asked time.
+ */
+@DataJpaTest
+@Import({BalanceCheckpointService.class, JournalService.class})
+class BalanceAsOfTest {
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @MockitoBean
+    private AccountService accountService;
+
+    @MockitoBean
+    private ArchiveService archiveService;
+
+    @MockitoBean
+    private RecentActivityService recentActivityService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private final LocalDate checkpointDay = LocalDate.now().minusDays(2);
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        Account account = new Account();
+        account.setAccountNumber("ACC-ASOF");
+        account.setAccountType("CURRENT");
+        account.setBalance(BigDecimal.ZERO);
+        account.setUserId(userId);
+        accountId = accountRepository.save(account).getAccountId();
+
+        accountRepository.creditBalance(accountId, new BigDecimal("100.00"));
+        Deposit deposit = new Deposit();
+        deposit.setAccountId(accountId);
+        deposit.setAmount(new BigDecimal("100.00"));
+        deposit.setTransactionDate(at(checkpointDay, 12));
+        deposit.setTransactionType(TransactionType.DEPOSIT);
+        journalService.record(deposit);
+
+        assertEquals(1, balanceCheckpointService.checkpointDay(checkpointDay));
+    }
+
+    @Test
+    void getBalanceAsOf_SavingsMoveAfterCheckpoint_IsIncluded() {
+        // Debited and journaled the next day, as withdrawals and moves into a savings plan are
+        accountRepository.debitBalance(accountId, new BigDecimal("30.00"));
+        Withdrawal toPlan = new Withdrawal();
+        toPlan.setAccountId(accountId);
+        toPlan.setAmount(new BigDecimal("30.00"));
+        toPlan.setTransactionDate(at(checkpointDay.plusDays(1), 12));
+        toPlan.setTransactionType(TransactionType.WITHDRAWAL);
+        journalService.record(toPlan);
+
+        assertBalance("70.00", at(checkpointDay.plusDays(1), 13));
+        assertBalance("100.00", at(checkpointDay.plusDays(1), 11));
+    }
+
+    @Test
+    void getBalanceAsOf_UnjournaledMoveBeforeLaterPosting_IsIncluded() {
+        // Moved before savings moves were journaled: the balance changed without an entry
+        accountRepository.debitBalance(accountId, new BigDecimal("30.00"));
+        accountRepository.creditBalance(accountId, new BigDecimal("5.00"));
+        Deposit deposit = new Deposit();
+        deposit.setAccountId(accountId);
+        deposit.setAmount(new BigDecimal("5.00"));
+        deposit.setTransactionDate(at(checkpointDay.plusDays(1), 12));
+        deposit.setTransactionType(TransactionType.DEPOSIT);
+        journalService.record(deposit);
+
+        assertBalance("75.00", at(checkpointDay.plusDays(1), 13));
+    }
+
+    private void assertBalance(String expected, Date asOf) {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                balanceCheckpointService.getBalanceAsOf(accountId, asOf, userId)));
+    }
+
+    private static Date at(LocalDate day, int hour) {
+        return Date.from(day.atTime(hour, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
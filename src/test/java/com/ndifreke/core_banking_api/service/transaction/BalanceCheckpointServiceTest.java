@@ -0,0 +1,140 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.dto.account.AccountBalanceSnapshot;
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
+import com.ndifreke.core_banking_api.entity.BalanceCheckpoint;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.BalanceCheckpointRepository;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import com.ndifreke.core_banking_api.service.transaction.archive.ArchiveService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCheckpointServiceTest {
+
+    @InjectMocks
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Mock
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private ArchiveService archiveService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final UUID accountId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(balanceCheckpointService, "batchSize", 500);
+    }
+
+    @Test
+    void getBalanceAsOf_UsesNewestRecordedBalance() {
+        Date asOf = new Date(System.currentTimeMillis() - 60_000);
+        when(journalEntryRepository.findBalanceAt(eq(accountId), eq(asOf), any()))
+                .thenReturn(List.of(new BalanceSnapshot(new BigDecimal("42.00"), 3)));
+
+        assertEquals(new BigDecimal("42.00"), balanceCheckpointService.getBalanceAsOf(accountId, asOf, userId));
+        verify(accountService).validateAccountOwnership(accountId, userId);
+        verifyNoInteractions(balanceCheckpointRepository);
+    }
+
+    @Test
+    void getBalanceAsOf_BeforeArchiveCutoff_ReadsArchiveBackToCheckpoint() {
+        LocalDate day = LocalDate.now().minusDays(3);
+        Date asOf = Date.from(day.atTime(15, 0).atZone(ZoneId.systemDefault()).toInstant());
+        when(archiveService.getCutoff()).thenReturn(new Date());
+        BalanceCheckpoint checkpoint = new BalanceCheckpoint();
+        checkpoint.setAccountId(accountId);
+        checkpoint.setCheckpointDate(day.minusDays(1));
+        checkpoint.setBalance(new BigDecimal("100.00"));
+        checkpoint.setPostingSequence(7);
+        when(balanceCheckpointRepository.findFirstByAccountIdAndCheckpointDateLessThanOrderByCheckpointDateDesc(
+                accountId, day)).thenReturn(Optional.of(checkpoint));
+        JournalEntry previousDay = new JournalEntry();
+        previousDay.setPostedAt(Date.from(day.minusDays(1).atTime(9, 0).atZone(ZoneId.systemDefault()).toInstant()));
+        previousDay.setAccountSequence(7L);
+        previousDay.setBalanceAfter(new BigDecimal("100.00"));
+        when(archiveService.findBefore(eq(accountId), eq(asOf), any(), anyInt())).thenReturn(List.of(previousDay));
+
+        assertEquals(new BigDecimal("100.00"), balanceCheckpointService.getBalanceAsOf(accountId, asOf, userId));
+        verify(journalEntryRepository, never()).findBalanceAt(any(), any(), any());
+    }
+
+    @Test
+    void getBalanceAsOf_NothingRecorded_NotFound() {
+        Date asOf = new Date(System.currentTimeMillis() - 60_000);
+        when(journalEntryRepository.findBalanceAt(eq(accountId), eq(asOf), any())).thenReturn(List.of());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> balanceCheckpointService.getBalanceAsOf(accountId, asOf, userId));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void checkpointDay_KeepsLastBalanceOfEachAccount() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        UUID otherAccountId = UUID.randomUUID();
+        when(journalEntryRepository.streamBalancesPostedBetween(any(), any())).thenReturn(Stream.of(
+                new AccountBalanceSnapshot(accountId, new BigDecimal("10.00"), 4),
+                new AccountBalanceSnapshot(accountId, new BigDecimal("15.00"), 5),
+                new AccountBalanceSnapshot(otherAccountId, new BigDecimal("80.00"), 9)));
+        List<BalanceCheckpoint> saved = new ArrayList<>();
+        when(balanceCheckpointRepository.saveAll(any())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        LocalDate day = LocalDate.of(2026, 10, 1);
+
+        int written = balanceCheckpointService.checkpointDay(day);
+
+        assertEquals(2, written);
+        verify(balanceCheckpointRepository).deleteByCheckpointDate(day);
+        assertEquals(2, saved.size());
+        assertEquals(new BigDecimal("15.00"), saved.get(0).getBalance());
+        assertEquals(5, saved.get(0).getPostingSequence());
+        assertEquals(otherAccountId, saved.get(1).getAccountId());
+        assertEquals(day, saved.get(1).getCheckpointDate());
+    }
+}
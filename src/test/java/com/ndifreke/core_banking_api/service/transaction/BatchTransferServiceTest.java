@@ -0,0 +1,202 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.account.AccountVersionService;
+import com.ndifreke.core_banking_api.dto.transaction.BatchTransferResponse;
+import com.ndifreke.core_banking_api.dto.transaction.BatchTransferResult;
+import com.ndifreke.core_banking_api.dto.transaction.TransferRequest;
+import com.ndifreke.core_banking_api.entity.Account;
+import com.ndifreke.core_banking_api.exception.NotFoundException;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import com.ndifreke.core_banking_api.security.fraud_detection.FraudCheck;
+import com.ndifreke.core_banking_api.security.fraud_detection.FraudRuleEngine;
+import com.ndifreke.core_banking_api.service.transaction.idempotency.IdempotencyService;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingRetryExecutor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransferServiceTest {
+
+    @InjectMocks
+    private BatchTransferService batchTransferService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private JournalService journalService;
+
+    @Mock
+    private PostingRetryExecutor postingRetryExecutor;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountVersionService accountVersionService;
+
+    @Mock
+    private FraudRuleEngine fraudRuleEngine;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private final Account source = account(userId, "100.00");
+
+    private final Account destination = account(UUID.randomUUID(), "0.00");
+
+    private final Account otherUsersAccount = account(UUID.randomUUID(), "500.00");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchTransferService, "maxItems", 100);
+        ReflectionTestUtils.setField(batchTransferService, "chunkSize", 500);
+        when(accountRepository.findAllById(any())).thenReturn(List.of(source, destination, otherUsersAccount));
+    }
+
+    @Test
+    void transferFundsBatch_InvalidItems_RejectedWithTheirReasons() {
+        stubPosting();
+        when(fraudRuleEngine.evaluate(any())).thenAnswer(invocation -> {
+            FraudCheck check = invocation.getArgument(0);
+            return check.getAmount().compareTo(new BigDecimal("60")) == 0 ? "Velocity limit exceeded" : null;
+        });
+
+        BatchTransferResponse response = batchTransferService.transferFundsBatch(List.of(
+                transfer(source, destination, "10.00"),
+                transfer(source, destination, "-5.00"),
+                transfer(source, source, "10.00"),
+                transfer(otherUsersAccount, destination, "10.00"),
+                request(source.getAccountId(), UUID.randomUUID(), "10.00"),
+                transfer(source, destination, "60")), userId);
+
+        List<BatchTransferResult> results = response.getResults();
+        assertEquals(BatchTransferResult.Status.POSTED, results.get(0).getStatus());
+        assertEquals("Amount must be positive", results.get(1).getMessage());
+        assertEquals("Source and destination accounts must be different", results.get(2).getMessage());
+        assertEquals("Access denied", results.get(3).getMessage());
+        assertEquals("Destination account not found", results.get(4).getMessage());
+        assertEquals("Transaction blocked due to potential fraud: Velocity limit exceeded", results.get(5).getMessage());
+        assertEquals(1, response.getPosted());
+        assertEquals(5, response.getRejected());
+        verify(fraudRuleEngine, times(2)).evaluate(any());
+        verify(fraudRuleEngine, never()).release(any());
+    }
+
+    @Test
+    void transferFundsBatch_ItemOverdrawsSource_OnlyThatItemRejected() {
+        stubPosting();
+
+        BatchTransferResponse response = batchTransferService.transferFundsBatch(List.of(
+                transfer(source, destination, "80.00"),
+                transfer(source, destination, "50.00"),
+                transfer(source, destination, "20.00")), userId);
+
+        List<BatchTransferResult> results = response.getResults();
+        assertEquals(BatchTransferResult.Status.POSTED, results.get(0).getStatus());
+        assertEquals(BatchTransferResult.Status.REJECTED, results.get(1).getStatus());
+        assertEquals("Insufficient funds", results.get(1).getMessage());
+        assertEquals(BatchTransferResult.Status.POSTED, results.get(2).getStatus());
+        assertEquals(0, BigDecimal.ZERO.compareTo(source.getBalance()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(destination.getBalance()));
+        verify(journalService).recordTransfers(argThat(postings -> postings.size() == 2));
+        verify(fraudRuleEngine).release(argThat(check -> check.getAmount().compareTo(new BigDecimal("50.00")) == 0));
+    }
+
+    @Test
+    void transferFundsBatch_ChunkFails_OnlyItsItemsFail() {
+        ReflectionTestUtils.setField(batchTransferService, "chunkSize", 1);
+        stubChunks();
+        when(postingRetryExecutor.execute(anyString(), any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Account is busy, please retry"))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+
+        BatchTransferResponse response = batchTransferService.transferFundsBatch(List.of(
+                transfer(source, destination, "10.00"),
+                transfer(source, destination, "20.00")), userId);
+
+        List<BatchTransferResult> results = response.getResults();
+        assertEquals(BatchTransferResult.Status.FAILED, results.get(0).getStatus());
+        assertEquals("Account is busy, please retry", results.get(0).getMessage());
+        assertEquals(BatchTransferResult.Status.POSTED, results.get(1).getStatus());
+        assertEquals(1, response.getFailed());
+        assertEquals(1, response.getPosted());
+        verify(fraudRuleEngine).release(argThat(check -> check.getAmount().compareTo(new BigDecimal("10.00")) == 0));
+        verify(accountVersionService, times(2)).changed(anySet());
+    }
+
+    @Test
+    void transferFundsBatch_ChunkRefused_ItemsFailWithTheRefusal() {
+        when(idempotencyService.fenced(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(postingRetryExecutor.execute(anyString(), any()))
+                .thenThrow(new NotFoundException("Account not found with ID: " + destination.getAccountId()));
+
+        BatchTransferResponse response = batchTransferService.transferFundsBatch(List.of(
+                transfer(source, destination, "10.00")), userId);
+
+        BatchTransferResult result = response.getResults().get(0);
+        assertEquals(BatchTransferResult.Status.FAILED, result.getStatus());
+        assertEquals("Account not found with ID: " + destination.getAccountId(), result.getMessage());
+    }
+
+    private void stubPosting() {
+        stubChunks();
+        when(postingRetryExecutor.execute(anyString(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    private void stubChunks() {
+        when(idempotencyService.fenced(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.lockAllById(any())).thenReturn(List.of(source, destination));
+    }
+
+    private static TransferRequest transfer(Account from, Account to, String amount) {
+        return request(from.getAccountId(), to.getAccountId(), amount);
+    }
+
+    private static TransferRequest request(UUID fromAccountId, UUID toAccountId, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(fromAccountId);
+        request.setToAccountId(toAccountId);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static Account account(UUID userId, String balance) {
+        Account account = new Account();
+        account.setAccountId(UUID.randomUUID());
+        account.setAccountNumber("ACC-" + account.getAccountId());
+        account.setUserId(userId);
+        account.setBalance(new BigDecimal(balance));
+        return account;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.dto.transaction.HistoryEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryCursorTest {
+
+    @Test
+    void encodeThenDecode_ReturnsPositionOfEntry() {
+        HistoryEntry entry = entry(new Date(1_700_000_000_123L));
+
+        HistoryCursor cursor = HistoryCursor.decode(HistoryCursor.encode(entry));
+
+        assertEquals(entry.postedAt(), cursor.postedAt());
+        assertEquals(entry.entryId(), cursor.entryId());
+    }
+
+    @Test
+    void encode_IsUrlSafe() {
+        assertTrue(HistoryCursor.encode(entry(new Date())).matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_InvalidToken() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> HistoryCursor.decode("not a cursor"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    private static HistoryEntry entry(Date postedAt) {
+        return new HistoryEntry(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                null, null, null, null, postedAt);
+    }
+}
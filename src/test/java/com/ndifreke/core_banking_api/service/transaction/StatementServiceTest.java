@@ -0,0 +1,164 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StatementServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private AccountRepository accountRepository;
+    private JournalEntryRepository journalEntryRepository;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private StatementService statementService;
+
+    private final YearMonth month = YearMonth.of(2026, 9);
+    private final UUID firstAccount = UUID.randomUUID();
+    private final UUID secondAccount = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        journalEntryRepository = mock(JournalEntryRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        statementService = new StatementService(accountRepository, journalEntryRepository, transactionManager,
+                meterRegistry, false, directory.toString(), 2, 1);
+        ReflectionTestUtils.setField(statementService, "entityManager", mock(EntityManager.class));
+        when(accountRepository.findIdsAfter(eq(new UUID(0, 0)), any())).thenReturn(List.of(firstAccount));
+        when(accountRepository.findIdsAfter(eq(firstAccount), any())).thenReturn(List.of(secondAccount));
+        when(accountRepository.findIdsAfter(eq(secondAccount), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void generate_WritesOneStatementPerAccountAndMarksMonthComplete() throws Exception {
+        when(journalEntryRepository.streamByAccountIdAndPeriod(eq(firstAccount), any(), any()))
+                .thenReturn(Stream.of(entry(firstAccount, "Salary, September"), entry(firstAccount, null)));
+        when(journalEntryRepository.streamByAccountIdAndPeriod(eq(secondAccount), any(), any()))
+                .thenReturn(Stream.empty());
+
+        StatementService.StatementRun run = statementService.generate(month);
+
+        assertEquals(2, run.written());
+        assertEquals(0, run.failed());
+        List<String> lines = Files.readAllLines(directory.resolve("2026-09").resolve(firstAccount + ".csv"));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("postingId,"));
+        assertTrue(lines.get(1).contains("\"Salary, September\""));
+        assertEquals(1, Files.readAllLines(directory.resolve("2026-09").resolve(secondAccount + ".csv")).size());
+        assertTrue(Files.exists(directory.resolve("2026-09").resolve("_COMPLETED")));
+        assertEquals(2, meterRegistry.get("banking.statement.entries").counter().count());
+    }
+
+    @Test
+    void generate_RestartSkipsStatementsAlreadyWritten() throws Exception {
+        Path monthDirectory = Files.createDirectories(directory.resolve("2026-09"));
+        Files.writeString(monthDirectory.resolve(firstAccount + ".csv"), "written before the restart\n");
+        when(journalEntryRepository.streamByAccountIdAndPeriod(eq(secondAccount), any(), any()))
+                .thenReturn(Stream.of(entry(secondAccount, null)));
+
+        StatementService.StatementRun run = statementService.generate(month);
+
+        assertEquals(1, run.written());
+        assertEquals(1, run.skipped());
+        verify(journalEntryRepository, never()).streamByAccountIdAndPeriod(eq(firstAccount), any(), any());
+        assertEquals("written before the restart\n", Files.readString(monthDirectory.resolve(firstAccount + ".csv")));
+    }
+
+    @Test
+    void generate_FailedAccountLeavesMonthIncomplete() {
+        when(journalEntryRepository.streamByAccountIdAndPeriod(eq(firstAccount), any(), any()))
+                .thenThrow(new IllegalStateException("connection reset"));
+        when(journalEntryRepository.streamByAccountIdAndPeriod(eq(secondAccount), any(), any()))
+                .thenReturn(Stream.empty());
+
+        StatementService.StatementRun run = statementService.generate(month);
+
+        assertEquals(1, run.failed());
+        assertEquals(1, run.written());
+        assertFalse(Files.exists(directory.resolve("2026-09").resolve(firstAccount + ".csv.part")));
+        assertFalse(Files.exists(directory.resolve("2026-09").resolve("_COMPLETED")));
+    }
+
+    @Test
+    void generate_Interrupted_CountsQueuedAccountsAsFailedAndLeavesMonthIncomplete() throws Exception {
+        StatementService singleWorker = new StatementService(accountRepository, journalEntryRepository,
+                transactionManager, meterRegistry, false, directory.toString(), 1, 1);
+        ReflectionTestUtils.setField(singleWorker, "entityManager", mock(EntityManager.class));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(journalEntryRepository.streamByAccountIdAndPeriod(eq(firstAccount), any(), any()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    return Stream.empty();
+                });
+        AtomicReference<StatementService.StatementRun> result = new AtomicReference<>();
+        AtomicBoolean keptInterrupt = new AtomicBoolean();
+        Thread runner = new Thread(() -> {
+            result.set(singleWorker.generate(month));
+            keptInterrupt.set(Thread.currentThread().isInterrupted());
+        });
+
+        runner.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Every account has been read; the second one waits behind the blocked first one
+        verify(accountRepository, timeout(5_000)).findIdsAfter(eq(secondAccount), any());
+        runner.interrupt();
+        runner.join(5_000);
+
+        assertFalse(runner.isAlive());
+        assertEquals(0, result.get().written());
+        assertEquals(2, result.get().failed());
+        assertTrue(keptInterrupt.get());
+        verify(journalEntryRepository, never()).streamByAccountIdAndPeriod(eq(secondAccount), any(), any());
+        assertFalse(Files.exists(directory.resolve("2026-09").resolve("_COMPLETED")));
+    }
+
+    private static JournalEntry entry(UUID accountId, String description) {
+        JournalEntry entry = new JournalEntry();
+        entry.setEntryId(UUID.randomUUID());
+        entry.setPostingId(UUID.randomUUID());
+        entry.setAccountId(accountId);
+        entry.setEntrySide(EntrySide.CREDIT);
+        entry.setTransactionType(TransactionType.DEPOSIT);
+        entry.setAmount(new BigDecimal("10.00"));
+        entry.setDescription(description);
+        entry.setPostedAt(new Date());
+        entry.setBalanceAfter(new BigDecimal("110.00"));
+        entry.setAccountSequence(4L);
+        return entry;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ndifreke.core_banking_api.service.transaction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import com.ndifreke.core_banking_api.service.transaction.archive.ArchiveService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    @InjectMocks
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ArchiveService archiveService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @Test
+    void export_Ndjson_WritesOneObjectPerLineAndDetachesEntries() throws Exception {
+        JournalEntry first = entry("Rent", new BigDecimal("150.00"));
+        JournalEntry second = entry(null, new BigDecimal("20.5"));
+        when(journalEntryRepository.streamByAccountId(accountId)).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = transactionExportService.export(accountId, TransactionExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode json = objectMapper.readTree(lines[0]);
+        assertEquals(first.getPostingId().toString(), json.get("postingId").asText());
+        assertEquals("DEBIT", json.get("entrySide").asText());
+        assertEquals("Rent", json.get("description").asText());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void export_Csv_WritesHeaderAndQuotesFields() throws Exception {
+        JournalEntry entry = entry("Invoice 12, \"final\"", new BigDecimal("99.90"));
+        when(journalEntryRepository.streamByAccountId(accountId)).thenReturn(Stream.of(entry));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(accountId, TransactionExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("postingId,transactionType,entrySide,amount"));
+        assertTrue(lines[1].startsWith(entry.getPostingId() + ",TRANSFER,DEBIT,99.90,"));
+        assertTrue(lines[1].contains(",\"Invoice 12, \"\"final\"\"\","));
+    }
+
+    @Test
+    void csvRow_FormulaDescription_IsWrittenAsText() {
+        assertTrue(TransactionExportService.csvRow(entry("=HYPERLINK(\"http://x\")", BigDecimal.TEN))
+                .contains(",\"'=HYPERLINK(\"\"http://x\"\")\","));
+        assertTrue(TransactionExportService.csvRow(entry("+1", BigDecimal.TEN)).contains(",'+1,"));
+        assertTrue(TransactionExportService.csvRow(entry("-2+3", BigDecimal.TEN)).contains(",'-2+3,"));
+        assertTrue(TransactionExportService.csvRow(entry("@SUM(A1)", BigDecimal.TEN)).contains(",'@SUM(A1),"));
+        assertTrue(TransactionExportService.csvRow(entry("Rent - May", BigDecimal.TEN)).contains(",Rent - May,"));
+    }
+
+    @Test
+    void csv_NegativeNumber_IsLeftNumeric() {
+        assertEquals("-12.50", TransactionExportService.csv(new BigDecimal("-12.50")));
+        assertEquals("100", TransactionExportService.csv(new BigDecimal("1E+2")));
+    }
+
+    private JournalEntry entry(String description, BigDecimal amount) {
+        JournalEntry entry = new JournalEntry();
+        entry.setEntryId(UUID.randomUUID());
+        entry.setPostingId(UUID.randomUUID());
+        entry.setAccountId(accountId);
+        entry.setCounterpartyAccountId(UUID.randomUUID());
+        entry.setEntrySide(EntrySide.DEBIT);
+        entry.setTransactionType(TransactionType.TRANSFER);
+        entry.setAmount(amount);
+        entry.setDescription(description);
+        entry.setPostedAt(new Date());
+        return entry;
+    }
+}
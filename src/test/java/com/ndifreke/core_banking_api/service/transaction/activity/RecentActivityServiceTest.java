@@ -0,0 +1,163 @@
+package com.ndifreke.core_banking_api.service.transaction.activity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ndifreke.core_banking_api.dto.transaction.HistoryEntry;
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecentActivityServiceTest {
+
+    @InjectMocks
+    private RecentActivityService recentActivityService;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private final UUID accountId = UUID.randomUUID();
+
+    private final String key = "recent-activity:" + accountId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recentActivityService, "enabled", true);
+        ReflectionTestUtils.setField(recentActivityService, "capacity", 50);
+        ReflectionTestUtils.setField(recentActivityService, "ttlMinutes", 60L);
+    }
+
+    @Test
+    void firstPage_MoreEntriesThanLimit_ReturnsPageWithMore() {
+        UUID newest = UUID.randomUUID();
+        Set<String> members = new LinkedHashSet<>();
+        members.add(member(newest, 2_000L));
+        members.add(member(UUID.randomUUID(), 1_000L));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(key, 0, 1)).thenReturn(members);
+
+        Optional<RecentActivityService.RecentPage> page = recentActivityService.firstPage(accountId, 1);
+
+        assertTrue(page.isPresent());
+        assertTrue(page.get().hasMore());
+        assertEquals(1, page.get().entries().size());
+        HistoryEntry entry = page.get().entries().get(0);
+        assertEquals(newest, entry.entryId());
+        assertEquals(accountId, entry.accountId());
+        assertEquals(EntrySide.CREDIT, entry.entrySide());
+        assertEquals(new BigDecimal("25.00"), entry.amount());
+        assertEquals(2_000L, entry.postedAt().getTime());
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void firstPage_FewerEntriesAndNotComplete_FallsBack() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(key, 0, 20)).thenReturn(Set.of(member(UUID.randomUUID(), 1_000L)));
+        when(redisTemplate.hasKey(key + ":complete")).thenReturn(false);
+
+        assertTrue(recentActivityService.firstPage(accountId, 20).isEmpty());
+    }
+
+    @Test
+    void firstPage_FewerEntriesAndComplete_ReturnsLastPage() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(key, 0, 20)).thenReturn(Set.of(member(UUID.randomUUID(), 1_000L)));
+        when(redisTemplate.hasKey(key + ":complete")).thenReturn(true);
+
+        Optional<RecentActivityService.RecentPage> page = recentActivityService.firstPage(accountId, 20);
+
+        assertTrue(page.isPresent());
+        assertFalse(page.get().hasMore());
+        assertEquals(1, page.get().entries().size());
+    }
+
+    @Test
+    void firstPage_LimitAboveCapacity_IsNotServed() {
+        assertTrue(recentActivityService.firstPage(accountId, 51).isEmpty());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void append_ThenLoadSameEntry_KeepsOneMember() {
+        Map<String, Double> zset = stubWrites();
+        JournalEntry posted = new JournalEntry();
+        posted.setEntryId(UUID.randomUUID());
+        posted.setPostingId(UUID.randomUUID());
+        posted.setAccountId(accountId);
+        posted.setCounterpartyAccountId(JournalEntry.EXTERNAL_ACCOUNT_ID);
+        posted.setEntrySide(EntrySide.CREDIT);
+        posted.setAmount(new BigDecimal("100"));
+        posted.setTransactionType(TransactionType.DEPOSIT);
+        posted.setPostedAt(new Date(5_000L));
+
+        recentActivityService.append(List.of(posted));
+        // Read back from the database, the amount has the column's scale
+        HistoryEntry reloaded = new HistoryEntry(posted.getEntryId(), posted.getPostingId(), accountId,
+                JournalEntry.EXTERNAL_ACCOUNT_ID, EntrySide.CREDIT, new BigDecimal("100.00"),
+                TransactionType.DEPOSIT, null, new Timestamp(5_000L));
+        recentActivityService.load(accountId, List.of(reloaded));
+
+        assertEquals(1, zset.size(), zset.keySet().toString());
+        assertTrue(zset.keySet().iterator().next().contains("\"amount\":100.00"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Double> stubWrites() {
+        Map<String, Double> zset = new HashMap<>();
+        RedisOperations<String, String> operations = mock(RedisOperations.class);
+        when(operations.opsForZSet()).thenReturn(zSetOperations);
+        when(operations.opsForValue()).thenReturn(mock(ValueOperations.class));
+        when(zSetOperations.add(eq(key), anyString(), anyDouble()))
+                .thenAnswer(invocation -> zset.put(invocation.getArgument(1), invocation.getArgument(2)) == null);
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<SessionCallback<Object>>getArgument(0).execute(operations);
+                    return List.of();
+                });
+        return zset;
+    }
+
+    private String member(UUID entryId, long postedAt) {
+        return entryId + "|{\"entryId\":\"" + entryId + "\",\"postingId\":\"" + UUID.randomUUID()
+                + "\",\"accountId\":\"" + accountId + "\",\"counterpartyAccountId\":null,"
+                + "\"entrySide\":\"CREDIT\",\"amount\":25.00,\"transactionType\":\"DEPOSIT\","
+                + "\"description\":null,\"postedAt\":" + postedAt + "}";
+    }
+}
@@ -0,0 +1,92 @@
+package com.ndifreke.core_banking_api.service.transaction.archive;
+
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private final UUID firstAccount = new UUID(0x1000L, 1L);
+    private final UUID secondAccount = new UUID(0x8000_0000_0000_0000L, 1L);
+
+    @Test
+    void publishAndRead_RoundTripsEachAccountsBlock() throws Exception {
+        JournalEntry deposit = entry(firstAccount, 1_000L, "Salary");
+        deposit.setBalanceAfter(new BigDecimal("110.50"));
+        deposit.setAccountSequence(7L);
+        JournalEntry withdrawal = entry(firstAccount, 2_000L, null);
+        JournalEntry transfer = entry(secondAccount, 1_500L, "Rent");
+
+        ArchiveSegment segment;
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(directory, 5_000L)) {
+            writer.append(firstAccount, List.of(deposit, withdrawal));
+            writer.append(secondAccount, List.of(transfer));
+            segment = writer.publish();
+        }
+
+        try (segment) {
+            assertEquals(5_000L, segment.getCutoff());
+            List<JournalEntry> first = segment.read(firstAccount);
+            assertEquals(2, first.size());
+            assertEquals(deposit.getEntryId(), first.get(0).getEntryId());
+            assertEquals(firstAccount, first.get(0).getAccountId());
+            assertEquals("Salary", first.get(0).getDescription());
+            assertEquals(new BigDecimal("110.50"), first.get(0).getBalanceAfter());
+            assertEquals(7L, first.get(0).getAccountSequence());
+            assertEquals(1_000L, first.get(0).getPostedAt().getTime());
+            assertNull(first.get(1).getDescription());
+            assertNull(first.get(1).getBalanceAfter());
+            assertEquals(EntrySide.DEBIT, first.get(1).getEntrySide());
+            assertEquals(1, segment.read(secondAccount).size());
+            assertTrue(segment.read(UUID.randomUUID()).isEmpty());
+        }
+        assertFalse(Files.exists(ArchiveSegment.SegmentFiles.partial(ArchiveSegment.SegmentFiles.index(directory, 5_000L))));
+    }
+
+    @Test
+    void append_RejectsAccountsOutOfOrder() throws Exception {
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(directory, 5_000L)) {
+            writer.append(secondAccount, List.of(entry(secondAccount, 1_000L, null)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(firstAccount, List.of(entry(firstAccount, 1_000L, null))));
+        }
+    }
+
+    @Test
+    void postingOrder_ComparesEntryIdsAsUnsignedBytes() {
+        JournalEntry low = entry(firstAccount, 1_000L, null);
+        low.setEntryId(new UUID(0x7000_0000_0000_0000L, 0L));
+        JournalEntry high = entry(firstAccount, 1_000L, null);
+        high.setEntryId(new UUID(0x9000_0000_0000_0000L, 0L));
+
+        assertTrue(ArchiveSegment.POSTING_ORDER.compare(low, high) < 0);
+    }
+
+    private static JournalEntry entry(UUID accountId, long postedAt, String description) {
+        JournalEntry entry = new JournalEntry();
+        entry.setEntryId(UUID.randomUUID());
+        entry.setPostingId(UUID.randomUUID());
+        entry.setAccountId(accountId);
+        entry.setCounterpartyAccountId(JournalEntry.EXTERNAL_ACCOUNT_ID);
+        entry.setEntrySide(description != null ? EntrySide.CREDIT : EntrySide.DEBIT);
+        entry.setTransactionType(TransactionType.DEPOSIT);
+        entry.setAmount(new BigDecimal("10.00"));
+        entry.setDescription(description);
+        entry.setPostedAt(new Date(postedAt));
+        return entry;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ndifreke.core_banking_api.service.transaction.archive;
+
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs archiving on MySQL, whose binary id columns the deletes bind. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ArchiveServiceTest {
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driverClassName", mysql::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ArchiveService archiveService;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    private final Date cutoff = new Date(System.currentTimeMillis() - Duration.ofDays(1).toMillis());
+
+    private final Date beforeCutoff = new Date(cutoff.getTime() - Duration.ofDays(1).toMillis());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        archiveService = service(true);
+        for (int i = 0; i < 3; i++) {
+            save(beforeCutoff);
+        }
+        save(new Date());
+    }
+
+    @Test
+    void refresh_AfterDelay_DeletesOnlyTheEntriesTheRunArchived() throws Exception {
+        assertEquals(3, archiveService.archive(cutoff));
+        assertEquals(4, count());
+
+        // Committed before the cutoff after the run read the journal, so it is in no segment
+        JournalEntry late = save(beforeCutoff);
+        archiveService.refresh();
+
+        assertEquals(2, count());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM journal_entries WHERE posted_at < ?",
+                Integer.class, cutoff));
+        assertTrue(journalEntryRepository.existsById(late.getEntryId()));
+        assertFalse(Files.exists(ArchiveSegment.SegmentFiles.ids(directory, cutoff.getTime())));
+        assertEquals(3, archiveService.findBefore(accountId, null, null, 10).size());
+    }
+
+    @Test
+    void refresh_BeforeDelay_KeepsArchivedEntriesInTheDatabase() throws Exception {
+        ReflectionTestUtils.setField(archiveService, "deleteDelayMillis", Duration.ofHours(1).toMillis());
+
+        archiveService.archive(cutoff);
+        archiveService.refresh();
+
+        assertEquals(4, count());
+        assertTrue(Files.exists(ArchiveSegment.SegmentFiles.ids(directory, cutoff.getTime())));
+    }
+
+    @Test
+    void refresh_OpensSegmentsAnotherNodePublished() throws Exception {
+        ArchiveService otherNode = service(false);
+        assertNull(otherNode.getCutoff());
+
+        archiveService.archive(cutoff);
+        otherNode.refresh();
+
+        assertEquals(cutoff, otherNode.getCutoff());
+        assertEquals(3, otherNode.findBefore(accountId, null, null, 10).size());
+        otherNode.closeSegments();
+    }
+
+    private ArchiveService service(boolean enabled) throws Exception {
+        ArchiveService service = new ArchiveService();
+        ReflectionTestUtils.setField(service, "journalEntryRepository", journalEntryRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "enabled", enabled);
+        ReflectionTestUtils.setField(service, "directoryName", directory.toString());
+        // Smaller than the archived entries, so the deletes take more than one chunk
+        ReflectionTestUtils.setField(service, "deleteChunkSize", 2);
+        ReflectionTestUtils.setField(service, "deleteDelayMillis", 0L);
+        service.openSegments();
+        return service;
+    }
+
+    private JournalEntry save(Date postedAt) {
+        JournalEntry entry = new JournalEntry();
+        entry.setPostingId(UUID.randomUUID());
+        entry.setAccountId(accountId);
+        entry.setCounterpartyAccountId(JournalEntry.EXTERNAL_ACCOUNT_ID);
+        entry.setEntrySide(EntrySide.CREDIT);
+        entry.setTransactionType(TransactionType.DEPOSIT);
+        entry.setAmount(new BigDecimal("10.00"));
+        entry.setPostedAt(postedAt);
+        return journalEntryRepository.saveAndFlush(entry);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM journal_entries", Integer.class);
+    }
+}
@@ -0,0 +1,230 @@
+package com.ndifreke.core_banking_api.service.transaction.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ndifreke.core_banking_api.entity.enums.IdempotencyStatus;
+import com.ndifreke.core_banking_api.entity.transaction.IdempotencyKey;
+import com.ndifreke.core_banking_api.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private final UUID userId = UUID.randomUUID();
+
+    private final String key = "key-1";
+
+    private final String redisKey = "idempotency:" + userId + ":" + key;
+
+    private final AtomicInteger postings = new AtomicInteger();
+
+    private final Supplier<ResponseEntity<?>> action = () -> {
+        postings.incrementAndGet();
+        return ResponseEntity.ok(Map.of("status", "posted"));
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyService, "inProgressTimeoutSeconds", 60L);
+    }
+
+    @Test
+    void execute_FirstRequest_PostsAndStoresResponse() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        UUID claimId = UUID.randomUUID();
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(invocation -> withId(invocation.getArgument(0), claimId));
+        when(idempotencyKeyRepository.complete(eq(claimId), eq(IdempotencyStatus.COMPLETED), eq(200), anyString()))
+                .thenReturn(1);
+
+        ResponseEntity<?> response = idempotencyService.execute(userId, key, "fp", action);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, postings.get());
+        verify(valueOperations).set(eq(redisKey), anyString(), eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    void execute_CachedResponse_ReplaysWithoutPosting() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(redisKey)).thenReturn("{\"status\":200,\"fingerprint\":\"fp\",\"body\":\"{}\"}");
+
+        ResponseEntity<?> response = idempotencyService.execute(userId, key, "fp", action);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(0, postings.get());
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void execute_CompletedInDatabase_ReplaysWithoutPosting() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        IdempotencyKey completed = holder(IdempotencyStatus.COMPLETED, LocalDateTime.now(), null);
+        completed.setResponseStatus(200);
+        completed.setResponseBody("{}");
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key)).thenReturn(Optional.of(completed));
+
+        ResponseEntity<?> response = idempotencyService.execute(userId, key, "fp", action);
+
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(0, postings.get());
+    }
+
+    @Test
+    void execute_ConcurrentClaim_RejectedWithoutPosting() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key))
+                .thenReturn(Optional.of(holder(IdempotencyStatus.IN_PROGRESS, LocalDateTime.now(), null)));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.execute(userId, key, "fp", action));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals(0, postings.get());
+        verify(idempotencyKeyRepository, never()).deleteAbandoned(any(), any(), any());
+    }
+
+    @Test
+    void execute_AbandonedUnpostedClaim_IsTakenOver() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        IdempotencyKey abandoned = holder(IdempotencyStatus.IN_PROGRESS, LocalDateTime.now().minusMinutes(5), null);
+        UUID claimId = UUID.randomUUID();
+        when(idempotencyKeyRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> withId(invocation.getArgument(0), claimId));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key)).thenReturn(Optional.of(abandoned));
+        when(idempotencyKeyRepository.complete(eq(claimId), eq(IdempotencyStatus.COMPLETED), eq(200), anyString()))
+                .thenReturn(1);
+
+        idempotencyService.execute(userId, key, "fp", action);
+
+        verify(idempotencyKeyRepository).deleteAbandoned(eq(abandoned.getId()), eq(IdempotencyStatus.IN_PROGRESS), any());
+        assertEquals(1, postings.get());
+    }
+
+    @Test
+    void execute_AbandonedPostedClaim_IsNotTakenOver() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(5);
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key))
+                .thenReturn(Optional.of(holder(IdempotencyStatus.IN_PROGRESS, claimedAt, claimedAt.plusSeconds(1))));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.execute(userId, key, "fp", action));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals(0, postings.get());
+        verify(idempotencyKeyRepository, never()).deleteAbandoned(any(), any(), any());
+    }
+
+    @Test
+    void execute_ActionFails_ReleasesUnpostedClaim() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        UUID claimId = UUID.randomUUID();
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(invocation -> withId(invocation.getArgument(0), claimId));
+        when(idempotencyKeyRepository.deleteUnposted(claimId)).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute(userId, key, "fp", () -> {
+            throw new IllegalStateException("posting failed");
+        }));
+
+        verify(idempotencyKeyRepository).deleteUnposted(claimId);
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void fenced_InsideExecute_MarksClaimPosted() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        UUID claimId = UUID.randomUUID();
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(invocation -> withId(invocation.getArgument(0), claimId));
+        when(idempotencyKeyRepository.markPosted(eq(claimId), any())).thenReturn(1);
+        when(idempotencyKeyRepository.complete(eq(claimId), eq(IdempotencyStatus.COMPLETED), eq(200), anyString()))
+                .thenReturn(1);
+
+        idempotencyService.execute(userId, key, "fp", () -> idempotencyService.fenced(action).get());
+
+        verify(idempotencyKeyRepository).markPosted(eq(claimId), any());
+        assertEquals(1, postings.get());
+    }
+
+    @Test
+    void fenced_ClaimTakenOver_DoesNotPost() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        UUID claimId = UUID.randomUUID();
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(invocation -> withId(invocation.getArgument(0), claimId));
+        when(idempotencyKeyRepository.markPosted(eq(claimId), any())).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.execute(userId, key, "fp", () -> idempotencyService.fenced(action).get()));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals(0, postings.get());
+    }
+
+    @Test
+    void fenced_OutsideExecute_ReturnsPostingUnchanged() {
+        assertSame(action, idempotencyService.fenced(action));
+    }
+
+    private IdempotencyKey holder(IdempotencyStatus status, LocalDateTime createdAt, LocalDateTime postedAt) {
+        IdempotencyKey holder = new IdempotencyKey();
+        holder.setId(UUID.randomUUID());
+        holder.setUserId(userId);
+        holder.setIdempotencyKey(key);
+        holder.setRequestFingerprint("fp");
+        holder.setStatus(status);
+        holder.setCreatedAt(createdAt);
+        holder.setPostedAt(postedAt);
+        return holder;
+    }
+
+    private static IdempotencyKey withId(IdempotencyKey record, UUID id) {
+        record.setId(id);
+        return record;
+    }
+}
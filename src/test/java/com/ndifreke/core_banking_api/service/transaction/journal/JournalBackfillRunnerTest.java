@@ -0,0 +1,120 @@
+package com.ndifreke.core_banking_api.service.transaction.journal;
+
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the journal backfill on MySQL, whose UUID functions its SQL uses. Skipped when Docker is not
+ * available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class JournalBackfillRunnerTest {
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driverClassName", mysql::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JournalBackfillRunner runner;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    private final UUID otherAccountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        runner = new JournalBackfillRunner();
+        ReflectionTestUtils.setField(runner, "jdbcTemplate", jdbcTemplate);
+        // Smaller than each table, so every table is copied in more than one range
+        ReflectionTestUtils.setField(runner, "chunkSize", 2);
+
+        Timestamp at = new Timestamp(System.currentTimeMillis());
+        for (int i = 1; i <= 3; i++) {
+            jdbcTemplate.update("INSERT INTO deposits (deposit_id, account_id, amount, transaction_date, "
+                    + "transaction_type) VALUES (?, ?, ?, ?, 'DEPOSIT')", bytes(UUID.randomUUID()), bytes(accountId),
+                    new BigDecimal(i), at);
+            jdbcTemplate.update("INSERT INTO withdrawals (withdrawal_id, account_id, amount, transaction_date, "
+                    + "transaction_type) VALUES (?, ?, ?, ?, 'WITHDRAWAL')", bytes(UUID.randomUUID()),
+                    bytes(accountId), new BigDecimal(i), at);
+            jdbcTemplate.update("INSERT INTO transfers (transaction_id, from_account_id, to_account_id, amount, "
+                    + "`timestamp`, transaction_date, transaction_type) VALUES (?, ?, ?, ?, ?, ?, 'TRANSFER')",
+                    bytes(UUID.randomUUID()), bytes(accountId), bytes(otherAccountId), new BigDecimal(i), at, at);
+        }
+    }
+
+    @Test
+    void run_CopiesEveryLegacyPostingAsBalancedPair() {
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(18, count());
+        List<Map<String, Object>> postings = jdbcTemplate.queryForList("SELECT posting_id, "
+                + "SUM(entry_side = 'DEBIT') AS debits, SUM(entry_side = 'CREDIT') AS credits, "
+                + "SUM(CASE WHEN entry_side = 'DEBIT' THEN amount ELSE -amount END) AS net "
+                + "FROM journal_entries GROUP BY posting_id");
+        assertEquals(9, postings.size());
+        for (Map<String, Object> posting : postings) {
+            assertEquals(1, ((Number) posting.get("debits")).intValue(), posting.toString());
+            assertEquals(1, ((Number) posting.get("credits")).intValue(), posting.toString());
+            assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) posting.get("net")), posting.toString());
+        }
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM journal_entries "
+                + "WHERE transaction_type = 'DEPOSIT' AND entry_side = 'DEBIT' AND account_id = ?",
+                Integer.class, bytes(JournalEntry.EXTERNAL_ACCOUNT_ID)));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM journal_entries "
+                + "WHERE transaction_type = 'TRANSFER' AND entry_side = 'CREDIT' AND account_id = ?",
+                Integer.class, bytes(otherAccountId)));
+    }
+
+    @Test
+    void run_Twice_DoesNotDuplicateEntries() {
+        runner.run(new DefaultApplicationArguments());
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(18, count());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM journal_entries", Integer.class);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
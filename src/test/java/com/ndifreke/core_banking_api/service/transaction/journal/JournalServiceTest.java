@@ -0,0 +1,204 @@
+package com.ndifreke.core_banking_api.service.transaction.journal;
+
+import com.ndifreke.core_banking_api.dto.account.BalanceSnapshot;
+import com.ndifreke.core_banking_api.entity.Account;
+import com.ndifreke.core_banking_api.entity.enums.EntrySide;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.Deposit;
+import com.ndifreke.core_banking_api.entity.transaction.JournalEntry;
+import com.ndifreke.core_banking_api.entity.transaction.Transfer;
+import com.ndifreke.core_banking_api.entity.transaction.Withdrawal;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import com.ndifreke.core_banking_api.repository.JournalEntryRepository;
+import com.ndifreke.core_banking_api.service.transaction.activity.RecentActivityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records postings against the embedded database and checks the journal rows they leave.
+ */
+@DataJpaTest
+@Import(JournalService.class)
+class JournalServiceTest {
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @MockitoBean
+    private RecentActivityService recentActivityService;
+
+    private UUID fromAccountId;
+
+    private UUID toAccountId;
+
+    @BeforeEach
+    void setUp() {
+        fromAccountId = accountRepository.save(account("ACC-FROM", "100.00")).getAccountId();
+        toAccountId = accountRepository.save(account("ACC-TO", "5.00")).getAccountId();
+    }
+
+    @Test
+    void recordTransfer_DebitsSourceAndCreditsDestinationWithBalancesAfter() {
+        BigDecimal amount = new BigDecimal("40.00");
+        accountRepository.debitBalance(fromAccountId, amount);
+        accountRepository.creditBalance(toAccountId, amount);
+        Transfer transfer = new Transfer();
+        transfer.setFromAccountId(fromAccountId);
+        transfer.setToAccountId(toAccountId);
+        transfer.setAmount(amount);
+        transfer.setTransactionType(TransactionType.TRANSFER);
+
+        Transfer saved = journalService.record(transfer);
+
+        List<JournalEntry> entries = entriesOf(saved.getTransactionId());
+        assertBalanced(entries);
+        JournalEntry debit = side(entries, EntrySide.DEBIT);
+        JournalEntry credit = side(entries, EntrySide.CREDIT);
+        assertEquals(fromAccountId, debit.getAccountId());
+        assertEquals(toAccountId, debit.getCounterpartyAccountId());
+        assertEquals(toAccountId, credit.getAccountId());
+        assertMatchesAccount(debit, fromAccountId);
+        assertMatchesAccount(credit, toAccountId);
+        assertEquals(0, new BigDecimal("60.00").compareTo(debit.getBalanceAfter()));
+        assertEquals(0, new BigDecimal("45.00").compareTo(credit.getBalanceAfter()));
+    }
+
+    @Test
+    void recordDeposit_CreditsAccountFromExternal() {
+        BigDecimal amount = new BigDecimal("12.50");
+        accountRepository.creditBalance(toAccountId, amount);
+        Deposit deposit = new Deposit();
+        deposit.setAccountId(toAccountId);
+        deposit.setAmount(amount);
+        deposit.setTransactionType(TransactionType.DEPOSIT);
+
+        Deposit saved = journalService.record(deposit);
+
+        List<JournalEntry> entries = entriesOf(saved.getDepositId());
+        assertBalanced(entries);
+        JournalEntry debit = side(entries, EntrySide.DEBIT);
+        assertEquals(JournalEntry.EXTERNAL_ACCOUNT_ID, debit.getAccountId());
+        assertNull(debit.getBalanceAfter());
+        assertMatchesAccount(side(entries, EntrySide.CREDIT), toAccountId);
+    }
+
+    @Test
+    void recordWithdrawal_DebitsAccountToExternal() {
+        BigDecimal amount = new BigDecimal("30.00");
+        accountRepository.debitBalance(fromAccountId, amount);
+        Withdrawal withdrawal = new Withdrawal();
+        withdrawal.setAccountId(fromAccountId);
+        withdrawal.setAmount(amount);
+        withdrawal.setTransactionType(TransactionType.WITHDRAWAL);
+
+        Withdrawal saved = journalService.record(withdrawal);
+
+        List<JournalEntry> entries = entriesOf(saved.getWithdrawalId());
+        assertBalanced(entries);
+        assertMatchesAccount(side(entries, EntrySide.DEBIT), fromAccountId);
+        assertEquals(JournalEntry.EXTERNAL_ACCOUNT_ID, side(entries, EntrySide.CREDIT).getAccountId());
+    }
+
+    @Test
+    void recordInternalDebitAndCredit_BookTransfersAgainstSavingsProducts() {
+        BigDecimal amount = new BigDecimal("25.00");
+        accountRepository.debitBalance(fromAccountId, amount);
+        UUID debitId = journalService.recordInternalDebit(fromAccountId, amount, "Savings plan deposit: Holiday");
+        accountRepository.creditBalance(fromAccountId, amount);
+        UUID creditId = journalService.recordInternalCredit(fromAccountId, amount, "Savings plan withdrawal: Holiday");
+
+        List<JournalEntry> debitEntries = entriesOf(debitId);
+        assertBalanced(debitEntries);
+        JournalEntry debit = side(debitEntries, EntrySide.DEBIT);
+        assertEquals(TransactionType.TRANSFER, debit.getTransactionType());
+        assertEquals(JournalEntry.SAVINGS_PRODUCTS_ACCOUNT_ID, debit.getCounterpartyAccountId());
+        assertEquals("Savings plan deposit: Holiday", debit.getDescription());
+        assertEquals(0, new BigDecimal("75.00").compareTo(debit.getBalanceAfter()));
+
+        List<JournalEntry> creditEntries = entriesOf(creditId);
+        assertBalanced(creditEntries);
+        JournalEntry credit = side(creditEntries, EntrySide.CREDIT);
+        assertEquals(fromAccountId, credit.getAccountId());
+        assertEquals(JournalEntry.SAVINGS_PRODUCTS_ACCOUNT_ID, side(creditEntries, EntrySide.DEBIT).getAccountId());
+        assertMatchesAccount(credit, fromAccountId);
+    }
+
+    @Test
+    void recordTransfers_EveryPostingBalances() {
+        Transfer first = transfer(new BigDecimal("1.00"));
+        Transfer second = transfer(new BigDecimal("2.00"));
+
+        List<Transfer> saved = journalService.recordTransfers(List.of(
+                new JournalService.TransferPosting(first, new BalanceSnapshot(new BigDecimal("99.00"), 1),
+                        new BalanceSnapshot(new BigDecimal("6.00"), 1)),
+                new JournalService.TransferPosting(second, new BalanceSnapshot(new BigDecimal("97.00"), 2),
+                        new BalanceSnapshot(new BigDecimal("8.00"), 2))));
+
+        assertEquals(2, saved.size());
+        for (Transfer transfer : saved) {
+            assertBalanced(entriesOf(transfer.getTransactionId()));
+        }
+        JournalEntry secondDebit = side(entriesOf(saved.get(1).getTransactionId()), EntrySide.DEBIT);
+        assertEquals(0, new BigDecimal("97.00").compareTo(secondDebit.getBalanceAfter()));
+        assertEquals(2L, secondDebit.getAccountSequence());
+    }
+
+    private void assertMatchesAccount(JournalEntry entry, UUID accountId) {
+        BalanceSnapshot snapshot = accountRepository.findBalanceSnapshot(accountId).orElseThrow();
+        assertEquals(0, snapshot.balance().compareTo(entry.getBalanceAfter()));
+        assertEquals(snapshot.postingSequence(), entry.getAccountSequence());
+    }
+
+    private static void assertBalanced(List<JournalEntry> entries) {
+        assertEquals(2, entries.size());
+        JournalEntry debit = side(entries, EntrySide.DEBIT);
+        JournalEntry credit = side(entries, EntrySide.CREDIT);
+        assertEquals(0, debit.getAmount().compareTo(credit.getAmount()));
+        assertEquals(debit.getAccountId(), credit.getCounterpartyAccountId());
+        assertEquals(credit.getAccountId(), debit.getCounterpartyAccountId());
+    }
+
+    private List<JournalEntry> entriesOf(UUID postingId) {
+        return journalEntryRepository.findAll().stream()
+                .filter(entry -> entry.getPostingId().equals(postingId))
+                .toList();
+    }
+
+    private static JournalEntry side(List<JournalEntry> entries, EntrySide side) {
+        return entries.stream().filter(entry -> entry.getEntrySide() == side).findFirst().orElseThrow();
+    }
+
+    private Transfer transfer(BigDecimal amount) {
+        Transfer transfer = new Transfer();
+        transfer.setFromAccountId(fromAccountId);
+        transfer.setToAccountId(toAccountId);
+        transfer.setAmount(amount);
+        transfer.setTransactionType(TransactionType.TRANSFER);
+        return transfer;
+    }
+
+    private static Account account(String accountNumber, String balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType("SAVINGS");
+        account.setBalance(new BigDecimal(balance));
+        account.setUserId(UUID.randomUUID());
+        return account;
+    }
+}
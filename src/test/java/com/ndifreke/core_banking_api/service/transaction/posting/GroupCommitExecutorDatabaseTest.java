@@ -0,0 +1,122 @@
+package com.ndifreke.core_banking_api.service.transaction.posting;
+
+import com.ndifreke.core_banking_api.entity.Account;
+import com.ndifreke.core_banking_api.exception.InsufficientFundsException;
+import com.ndifreke.core_banking_api.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs group commits against the embedded database with the real JPA transaction manager, so savepoint
+ * rollbacks and the shared persistence context are exercised together.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the committer thread commits for real
+class GroupCommitExecutorDatabaseTest {
+
+    private static final int POSTINGS = 6;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private GroupCommitExecutor groupCommitExecutor;
+
+    private ExecutorService callers;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PostingRetryExecutor postingRetryExecutor = new PostingRetryExecutor(
+                new TransactionTemplate(transactionManager), meterRegistry, 3, 0, 0, 0.1, 10);
+        // A long window so every posting below lands in the same group
+        groupCommitExecutor = new GroupCommitExecutor(transactionManager, entityManager, postingRetryExecutor,
+                meterRegistry, true, 500_000, POSTINGS);
+        callers = Executors.newFixedThreadPool(POSTINGS);
+        accountId = accountRepository.save(account("ACC-SHARED", "100.00")).getAccountId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        groupCommitExecutor.shutdown();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void execute_MidGroupPostingFails_OtherPostingsCommitAndItsChangesDoNot() throws Exception {
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < POSTINGS; i++) {
+            final int posting = i;
+            futures.add(callers.submit(() -> groupCommitExecutor.execute("deposit", () -> {
+                if (posting == POSTINGS / 2) {
+                    // Dirty a managed entity and insert a row, then fail the posting
+                    Account shared = accountRepository.findById(accountId).orElseThrow();
+                    shared.setBalance(new BigDecimal("999999.00"));
+                    accountRepository.save(account("ACC-FAILED", "1.00"));
+                    throw new InsufficientFundsException("Insufficient balance");
+                }
+                accountRepository.creditBalance(accountId, BigDecimal.TEN);
+                accountRepository.save(account("ACC-" + posting, "0.00"));
+                return "posted";
+            })));
+        }
+
+        int posted = 0;
+        int failed = 0;
+        for (Future<String> future : futures) {
+            try {
+                assertEquals("posted", future.get(10, TimeUnit.SECONDS));
+                posted++;
+            } catch (Exception e) {
+                assertInstanceOf(InsufficientFundsException.class, e.getCause());
+                failed++;
+            }
+        }
+
+        assertEquals(POSTINGS - 1, posted);
+        assertEquals(1, failed);
+        Account shared = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(0, new BigDecimal("150.00").compareTo(shared.getBalance()));
+        assertEquals(POSTINGS - 1, shared.getPostingSequence());
+        assertEquals(POSTINGS, accountRepository.count());
+        assertTrue(accountRepository.findAll().stream().noneMatch(a -> "ACC-FAILED".equals(a.getAccountNumber())));
+    }
+
+    private static Account account(String accountNumber, String balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType("SAVINGS");
+        account.setBalance(new BigDecimal(balance));
+        account.setUserId(UUID.randomUUID());
+        return account;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ndifreke.core_banking_api.service.transaction.posting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GroupCommitExecutorTest {
+
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private GroupCommitExecutor groupCommitExecutor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        PostingRetryExecutor postingRetryExecutor = new PostingRetryExecutor(
+                new TransactionTemplate(transactionManager),
+                meterRegistry, 3, 0, 0, 0.1, 10);
+        groupCommitExecutor = new GroupCommitExecutor(transactionManager, mock(EntityManager.class),
+                postingRetryExecutor, meterRegistry, true, 2_000, 16);
+        callers = Executors.newFixedThreadPool(32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        groupCommitExecutor.shutdown();
+    }
+
+    @Test
+    void execute_ConcurrentPostingsShareCommits() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int value = i;
+            futures.add(callers.submit(() -> groupCommitExecutor.execute("deposit", () -> value)));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+
+        double groups = meterRegistry.get("banking.posting.group.size").summary().count();
+        assertEquals(200, meterRegistry.get("banking.posting.group.size").summary().totalAmount());
+        assertTrue(groups < 200, "expected postings to share commits, got " + groups + " groups");
+    }
+
+    @Test
+    void execute_FailedPostingOnlyFailsItsCaller() throws Exception {
+        Future<Object> failing = callers.submit(() -> groupCommitExecutor.execute("withdrawal", () -> {
+            throw new IllegalStateException("Insufficient balance");
+        }));
+        Future<String> succeeding = callers.submit(() -> groupCommitExecutor.execute("deposit", () -> "posted"));
+
+        Exception exception = assertThrows(Exception.class, () -> failing.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals("posted", succeeding.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_GroupThatCannotCommitFallsBackToIndividualPostings() throws Exception {
+        AtomicInteger commits = new AtomicInteger();
+        // Commit 0 releases the posting's savepoint, commit 1 is the group commit
+        doAnswer(invocation -> {
+            if (commits.getAndIncrement() == 1) {
+                throw new TransactionSystemException("commit failed");
+            }
+            return null;
+        }).when(transactionManager).commit(any());
+
+        String result = groupCommitExecutor.execute("deposit", () -> "posted");
+
+        assertEquals("posted", result);
+        assertEquals(1, meterRegistry.get("banking.posting.group.fallbacks").counter().count());
+    }
+
+    @Test
+    void execute_DeadlockMidGroup_GroupAbortedAndEveryPostingReRun() throws Exception {
+        // A long window and a group of two, so both postings below share a group
+        groupCommitExecutor.shutdown();
+        PostingRetryExecutor postingRetryExecutor = new PostingRetryExecutor(
+                new TransactionTemplate(transactionManager), meterRegistry, 3, 0, 0, 0.1, 10);
+        groupCommitExecutor = new GroupCommitExecutor(transactionManager, mock(EntityManager.class),
+                postingRetryExecutor, meterRegistry, true, 500_000, 2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        Future<String> deadlocked = callers.submit(() -> groupCommitExecutor.execute("withdrawal", () -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new CannotAcquireLockException("Deadlock found when trying to get lock");
+            }
+            return "withdrawn";
+        }));
+        Future<String> other = callers.submit(() -> groupCommitExecutor.execute("deposit", () -> "posted"));
+
+        assertEquals("withdrawn", deadlocked.get(10, TimeUnit.SECONDS));
+        assertEquals("posted", other.get(10, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+        assertEquals(1, meterRegistry.get("banking.posting.group.fallbacks").counter().count());
+        // Neither posting was committed by the group; both were re-run on their own
+        assertEquals(0, meterRegistry.get("banking.posting.group.size").summary().count());
+    }
+
+    @Test
+    void execute_SavepointRollbackFails_GroupAbortedAndPostingReRun() throws Exception {
+        AtomicInteger rollbacks = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (rollbacks.getAndIncrement() == 0) {
+                throw new TransactionSystemException("rollback to savepoint failed");
+            }
+            return null;
+        }).when(transactionManager).rollback(any());
+        AtomicInteger attempts = new AtomicInteger();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> groupCommitExecutor.execute("withdrawal", () -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException("Insufficient balance");
+                }));
+
+        assertEquals("Insufficient balance", exception.getMessage());
+        assertEquals(2, attempts.get());
+        assertEquals(1, meterRegistry.get("banking.posting.group.fallbacks").counter().count());
+    }
+}
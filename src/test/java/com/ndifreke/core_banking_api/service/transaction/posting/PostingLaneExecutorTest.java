@@ -0,0 +1,104 @@
+package com.ndifreke.core_banking_api.service.transaction.posting;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingLaneExecutorTest {
+
+    private PostingLaneExecutor postingLaneExecutor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        postingLaneExecutor = new PostingLaneExecutor(true, 4);
+        callers = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        postingLaneExecutor.shutdown();
+    }
+
+    @Test
+    void execute_SameAccountPostingsDoNotLoseUpdates() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        long[] balance = {0};
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            futures.add(callers.submit(() -> postingLaneExecutor.execute(accountId, () -> balance[0]++)));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(2_000, balance[0]);
+    }
+
+    @Test
+    void executeTransfer_OpposingTransfersConserveFundsWithoutDeadlock() throws Exception {
+        List<UUID> accounts = new ArrayList<>();
+        Map<UUID, long[]> balances = new HashMap<>();
+        while (accounts.size() < 8) {
+            UUID accountId = UUID.randomUUID();
+            accounts.add(accountId);
+            balances.put(accountId, new long[]{1_000});
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            UUID from = accounts.get(i % accounts.size());
+            UUID to = accounts.get((i * 7 + 3) % accounts.size());
+            if (from.equals(to)) {
+                continue;
+            }
+            futures.add(callers.submit(() -> postingLaneExecutor.executeTransfer(from, to, () -> {
+                balances.get(from)[0] -= 1;
+                balances.get(to)[0] += 1;
+                return null;
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        long total = balances.values().stream().mapToLong(balance -> balance[0]).sum();
+        assertEquals(8_000, total);
+    }
+
+    @Test
+    void execute_PropagatesPostingException() {
+        UUID accountId = UUID.randomUUID();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> postingLaneExecutor.execute(accountId, () -> {
+                    throw new IllegalStateException("Insufficient balance");
+                }));
+
+        assertEquals("Insufficient balance", exception.getMessage());
+    }
+
+    @Test
+    void laneFor_IsStablePerAccount() {
+        UUID accountId = UUID.randomUUID();
+
+        int lane = postingLaneExecutor.laneFor(accountId);
+
+        assertEquals(lane, postingLaneExecutor.laneFor(accountId));
+        assertTrue(lane >= 0 && lane < postingLaneExecutor.getLaneCount());
+    }
+}
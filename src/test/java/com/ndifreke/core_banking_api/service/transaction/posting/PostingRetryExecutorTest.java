@@ -0,0 +1,164 @@
+package com.ndifreke.core_banking_api.service.transaction.posting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PostingRetryExecutorTest {
+
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void execute_OptimisticConflict_RetriesUntilPosted() {
+        PostingRetryExecutor executor = executor(5, 0, 0, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute("deposit", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale version");
+            }
+            return "posted";
+        });
+
+        assertEquals("posted", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(2, meterRegistry.get("banking.posting.retries")
+                .tag("endpoint", "deposit").tag("cause", "optimistic").counter().count());
+    }
+
+    @Test
+    void execute_OptimisticConflictOnEveryAttempt_GivesUpWithConflict() {
+        PostingRetryExecutor executor = executor(3, 0, 0, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> executor.execute("withdrawal", () -> {
+                    attempts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("stale version");
+                }));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals(3, attempts.get());
+        assertEquals(1, meterRegistry.get("banking.posting.retries.exhausted")
+                .tag("endpoint", "withdrawal").tag("cause", "optimistic").counter().count());
+    }
+
+    @Test
+    void execute_LockFailureOnEveryAttempt_GivesUpAsBusy() {
+        PostingRetryExecutor executor = executor(3, 0, 0, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> executor.execute("transfer", () -> {
+                    attempts.incrementAndGet();
+                    throw new CannotAcquireLockException("deadlock");
+                }));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.get("banking.account.lock.deadlock.retries")
+                .tag("operation", "transfer").counter().count());
+    }
+
+    @Test
+    void execute_NonRetryableFailure_PropagatesWithoutRetry() {
+        PostingRetryExecutor executor = executor(5, 0, 0, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute("withdrawal", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Insufficient balance");
+        }));
+
+        assertEquals(1, attempts.get());
+        verify(transactionManager).rollback(any());
+        assertTrue(meterRegistry.find("banking.posting.retries").counters().isEmpty());
+    }
+
+    @Test
+    void execute_RetryBudgetSpent_GivesUpBeforeAttemptLimit() {
+        PostingRetryExecutor executor = new PostingRetryExecutor(new TransactionTemplate(transactionManager),
+                meterRegistry, 5, 0, 0, 0, 1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ResponseStatusException.class, () -> executor.execute("deposit", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale version");
+        }));
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void execute_WithRunner_BacksOffOutsideTheRunner() {
+        PostingRetryExecutor executor = executor(4, 20, 20, 10);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+
+        long started = System.nanoTime();
+        String result = executor.execute("deposit", () -> {
+            if (attempts.incrementAndGet() < 4) {
+                throw new CannotAcquireLockException("lock wait timeout");
+            }
+            return "posted";
+        }, attempt -> {
+            runs.incrementAndGet();
+            return attempt.get();
+        });
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals("posted", result);
+        assertEquals(4, attempts.get());
+        assertEquals(4, runs.get());
+        assertTrue(elapsedMillis < 1_000, "three backoffs capped at 20ms took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void execute_InsideActiveTransaction_JoinsItWithoutRetry() {
+        PostingRetryExecutor executor = executor(5, 0, 0, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () -> executor.execute("deposit", () -> {
+                attempts.incrementAndGet();
+                throw new OptimisticLockingFailureException("stale version");
+            }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(1, attempts.get());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private PostingRetryExecutor executor(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis,
+                                          int budgetMax) {
+        return new PostingRetryExecutor(new TransactionTemplate(transactionManager), meterRegistry,
+                maxAttempts, baseBackoffMillis, maxBackoffMillis, 0.1, budgetMax);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ndifreke.core_banking_api.transaction.consumer;
+
+import com.ndifreke.core_banking_api.account.AccountService;
+import com.ndifreke.core_banking_api.exception.InsufficientFundsException;
+import com.ndifreke.core_banking_api.repository.PostingStatusRepository;
+import com.ndifreke.core_banking_api.service.notification.NotificationService;
+import com.ndifreke.core_banking_api.service.transaction.TransactionService;
+import com.ndifreke.core_banking_api.service.transaction.idempotency.IdempotencyService;
+import com.ndifreke.core_banking_api.service.transaction.journal.JournalService;
+import com.ndifreke.core_banking_api.service.transaction.posting.GroupCommitExecutor;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingLaneExecutor;
+import com.ndifreke.core_banking_api.service.transaction.posting.PostingRetryExecutor;
+import com.ndifreke.core_banking_api.transaction.events.WithdrawalEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Applies a queued withdrawal through the real TransactionService, with the account changed between
+ * the 202 response and the apply.
+ */
+@ExtendWith(MockitoExtension.class)
+class WithdrawalEventConsumerTest {
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private JournalService journalService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private GroupCommitExecutor groupCommitExecutor;
+
+    @Mock
+    private PostingRetryExecutor postingRetryExecutor;
+
+    @Mock
+    private PostingLaneExecutor postingLaneExecutor;
+
+    @Mock
+    private PostingStatusRepository postingStatusRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private WithdrawalEventConsumer withdrawalEventConsumer;
+
+    private final UUID postingId = UUID.randomUUID();
+
+    private final UUID accountId = UUID.randomUUID();
+
+    private final BigDecimal amount = new BigDecimal("80.00");
+
+    @BeforeEach
+    void setUp() {
+        withdrawalEventConsumer = new WithdrawalEventConsumer();
+        ReflectionTestUtils.setField(withdrawalEventConsumer, "transactionService", transactionService);
+        ReflectionTestUtils.setField(withdrawalEventConsumer, "notificationService", notificationService);
+
+        when(idempotencyService.fenced(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(postingRetryExecutor.execute(eq("withdrawal"), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        when(postingStatusRepository.claimPending(eq(postingId), any())).thenReturn(1);
+    }
+
+    @Test
+    void consumeWithdrawalEvent_BalanceDroppedSinceAccepted_PostingRejected() {
+        // Another posting spent the funds after the withdrawal was accepted with 202
+        doThrow(new InsufficientFundsException("Insufficient balance"))
+                .when(accountService).withdrawFromAccount(accountId, amount);
+
+        assertDoesNotThrow(() -> withdrawalEventConsumer.consumeWithdrawalEvent(event()));
+
+        verify(postingStatusRepository).rejectPending(eq(postingId), eq("Insufficient balance"), any());
+        verifyNoInteractions(journalService, notificationService);
+    }
+
+    @Test
+    void consumeWithdrawalEvent_AccountBusy_RethrownAndLeftPending() {
+        doThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Account is busy, please retry"))
+                .when(accountService).withdrawFromAccount(accountId, amount);
+
+        assertThrows(ResponseStatusException.class, () -> withdrawalEventConsumer.consumeWithdrawalEvent(event()));
+
+        verify(postingStatusRepository, never()).rejectPending(any(), any(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    private WithdrawalEvent event() {
+        return new WithdrawalEvent(postingId, accountId, amount);
+    }
+}
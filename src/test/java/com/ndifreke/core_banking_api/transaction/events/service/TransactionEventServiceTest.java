@@ -0,0 +1,124 @@
+package com.ndifreke.core_banking_api.transaction.events.service;
+
+import com.ndifreke.core_banking_api.entity.enums.PostingState;
+import com.ndifreke.core_banking_api.entity.enums.TransactionType;
+import com.ndifreke.core_banking_api.entity.transaction.PostingStatus;
+import com.ndifreke.core_banking_api.repository.PostingStatusRepository;
+import com.ndifreke.core_banking_api.transaction.events.DepositEvent;
+import com.ndifreke.core_banking_api.transaction.events.FundsTransferEvent;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionEventServiceTest {
+
+    @InjectMocks
+    private TransactionEventService transactionEventService;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PostingStatusRepository postingStatusRepository;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID fromAccountId = UUID.randomUUID();
+    private final UUID toAccountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transactionEventService, "publishTimeoutMs", 50L);
+        when(postingStatusRepository.save(any(PostingStatus.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void publishTransfer_Acknowledged_ReturnsPendingKeyedByDebitedAccount() {
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        PostingStatus posting = transactionEventService.publishTransfer(fromAccountId, toAccountId,
+                new BigDecimal("10.00"), "rent", userId);
+
+        assertEquals(PostingState.PENDING, posting.getState());
+        assertEquals(TransactionType.TRANSFER, posting.getTransactionType());
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(TransactionEventService.FUNDS_TRANSFER_TOPIC), eq(fromAccountId.toString()),
+                event.capture());
+        assertEquals(posting.getPostingId(), ((FundsTransferEvent) event.getValue()).getTransferId());
+        verify(postingStatusRepository, never()).delete(any());
+    }
+
+    @Test
+    void publishDeposit_AcknowledgementTimesOut_KeepsPendingPosting() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        PostingStatus posting = transactionEventService.publishDeposit(toAccountId, new BigDecimal("5.00"), userId);
+
+        assertEquals(PostingState.PENDING, posting.getState());
+        verify(kafkaTemplate).send(eq(TransactionEventService.DEPOSIT_TOPIC), eq(toAccountId.toString()),
+                any(DepositEvent.class));
+        verify(postingStatusRepository, never()).delete(any());
+    }
+
+    @Test
+    void publishWithdrawal_AcknowledgementFails_KeepsPendingPosting() {
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("request timed out")));
+
+        PostingStatus posting = transactionEventService.publishWithdrawal(fromAccountId, new BigDecimal("5.00"),
+                userId);
+
+        assertEquals(PostingState.PENDING, posting.getState());
+        verify(postingStatusRepository, never()).delete(any());
+    }
+
+    @Test
+    void publishWithdrawal_Interrupted_KeepsPendingPostingAndInterruptFlag() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        Thread.currentThread().interrupt();
+        try {
+            PostingStatus posting = transactionEventService.publishWithdrawal(fromAccountId, new BigDecimal("5.00"),
+                    userId);
+
+            assertEquals(PostingState.PENDING, posting.getState());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        verify(postingStatusRepository, never()).delete(any());
+    }
+
+    @Test
+    void publishTransfer_ProducerRefusesEvent_DiscardsPostingAsUnavailable() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenThrow(new KafkaException("buffer exhausted"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> transactionEventService.publishTransfer(fromAccountId, toAccountId, new BigDecimal("10.00"),
+                        null, userId));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        verify(postingStatusRepository).delete(any(PostingStatus.class));
+    }
+}